@@ -0,0 +1,103 @@
+package com.dslplatform.json.benchmarks;
+
+import com.dslplatform.json.JavaTimeConverter;
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.UUIDConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Payloads payload;
+
+	private UUID[] uuids;
+	private OffsetDateTime[] timestamps;
+	private byte[] uuidJson;
+	private byte[] timestampJson;
+	private final JsonWriter writer = new JsonWriter();
+	private final char[] tmp = new char[64];
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(payload.items);
+		final int count = payload.items * 10;
+		uuids = new UUID[count];
+		timestamps = new OffsetDateTime[count];
+		for (int i = 0; i < count; i++) {
+			uuids[i] = new UUID(random.nextLong(), random.nextLong());
+			timestamps[i] = OffsetDateTime.of(
+					2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28),
+					random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000000000),
+					ZoneOffset.ofHours(random.nextInt(25) - 12));
+		}
+		writeUuids();
+		uuidJson = writer.toByteArray();
+		writeTimestamps();
+		timestampJson = writer.toByteArray();
+	}
+
+	@Benchmark
+	public int writeUuids() {
+		writer.reset();
+		writer.writeByte(JsonWriter.ARRAY_START);
+		UUIDConverter.serialize(uuids[0], writer);
+		for (int i = 1; i < uuids.length; i++) {
+			writer.writeByte(JsonWriter.COMMA);
+			UUIDConverter.serialize(uuids[i], writer);
+		}
+		writer.writeByte(JsonWriter.ARRAY_END);
+		return writer.size();
+	}
+
+	@Benchmark
+	public void readUuids(final Blackhole bh) throws IOException {
+		final JsonReader<Object> reader = new JsonReader<Object>(uuidJson, null, tmp);
+		reader.getNextToken();
+		byte next;
+		do {
+			reader.getNextToken();
+			bh.consume(UUIDConverter.deserialize(reader));
+			next = reader.getNextToken();
+		} while (next == ',');
+	}
+
+	@Benchmark
+	public int writeTimestamps() {
+		writer.reset();
+		writer.writeByte(JsonWriter.ARRAY_START);
+		JavaTimeConverter.serialize(timestamps[0], writer);
+		for (int i = 1; i < timestamps.length; i++) {
+			writer.writeByte(JsonWriter.COMMA);
+			JavaTimeConverter.serialize(timestamps[i], writer);
+		}
+		writer.writeByte(JsonWriter.ARRAY_END);
+		return writer.size();
+	}
+
+	@Benchmark
+	public void readTimestamps(final Blackhole bh) throws IOException {
+		final JsonReader<Object> reader = new JsonReader<Object>(timestampJson, null, tmp);
+		reader.getNextToken();
+		byte next;
+		do {
+			reader.getNextToken();
+			bh.consume(JavaTimeConverter.deserializeDateTime(reader));
+			next = reader.getNextToken();
+		} while (next == ',');
+	}
+}
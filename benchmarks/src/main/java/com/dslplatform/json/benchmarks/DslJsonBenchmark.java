@@ -0,0 +1,59 @@
+package com.dslplatform.json.benchmarks;
+
+import com.dslplatform.json.DslJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DslJsonBenchmark {
+
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Payloads payload;
+
+	private final DslJson<Object> json = new DslJson<Object>();
+	private List<Item> items;
+	private byte[] bytes;
+	private byte[] streamBuffer;
+	private ByteArrayOutputStream output;
+
+	@Setup
+	public void setup() throws IOException {
+		items = payload.createItems();
+		bytes = payload.createJson(json);
+		streamBuffer = new byte[4096];
+		output = new ByteArrayOutputStream(bytes.length);
+	}
+
+	@Benchmark
+	public Item[] deserialize() throws IOException {
+		return json.deserialize(Item[].class, bytes, bytes.length);
+	}
+
+	@Benchmark
+	public int serialize() throws IOException {
+		output.reset();
+		json.serialize(items, output);
+		return output.size();
+	}
+
+	@Benchmark
+	public int iterateOver() throws IOException {
+		final Iterator<Item> iterator = json.iterateOver(Item.class, new ByteArrayInputStream(bytes), streamBuffer);
+		int total = 0;
+		while (iterator.hasNext()) {
+			total += iterator.next().quantity;
+		}
+		return total;
+	}
+}
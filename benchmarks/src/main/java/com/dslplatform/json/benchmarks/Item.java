@@ -0,0 +1,92 @@
+package com.dslplatform.json.benchmarks;
+
+import com.dslplatform.json.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+public class Item implements JsonObject {
+
+	public long id;
+	public String name;
+	public double price;
+	public int quantity;
+	public boolean active;
+	public UUID key;
+
+	private static final int ID_HASH = hash("id");
+	private static final int NAME_HASH = hash("name");
+	private static final int PRICE_HASH = hash("price");
+	private static final int QUANTITY_HASH = hash("quantity");
+	private static final int ACTIVE_HASH = hash("active");
+	private static final int KEY_HASH = hash("key");
+
+	private static int hash(final String name) {
+		long hash = 0x811c9dc5;
+		for (int i = 0; i < name.length(); i++) {
+			hash ^= (byte) name.charAt(i);
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+
+	@Override
+	public void serialize(final JsonWriter writer, final boolean minimal) {
+		writer.writeAscii("{\"id\":");
+		NumberConverter.serialize(id, writer);
+		writer.writeAscii(",\"name\":");
+		StringConverter.serializeNullable(name, writer);
+		writer.writeAscii(",\"price\":");
+		NumberConverter.serialize(price, writer);
+		writer.writeAscii(",\"quantity\":");
+		NumberConverter.serialize(quantity, writer);
+		writer.writeAscii(",\"active\":");
+		BoolConverter.serialize(active, writer);
+		writer.writeAscii(",\"key\":");
+		UUIDConverter.serializeNullable(key, writer);
+		writer.writeByte(JsonWriter.OBJECT_END);
+	}
+
+	public static final JsonReader.ReadJsonObject<Item> JSON_READER = new JsonReader.ReadJsonObject<Item>() {
+		@Override
+		public Item deserialize(final JsonReader reader) throws IOException {
+			final Item item = new Item();
+			if (reader.last() == '}') {
+				return item;
+			}
+			byte nextToken;
+			do {
+				final int hash = reader.fillName();
+				reader.getNextToken();
+				if (hash == ID_HASH) {
+					item.id = NumberConverter.deserializeLong(reader);
+				} else if (hash == NAME_HASH) {
+					item.name = reader.wasNull() ? null : StringConverter.deserialize(reader);
+				} else if (hash == PRICE_HASH) {
+					item.price = NumberConverter.deserializeDouble(reader);
+				} else if (hash == QUANTITY_HASH) {
+					item.quantity = NumberConverter.deserializeInt(reader);
+				} else if (hash == ACTIVE_HASH) {
+					item.active = BoolConverter.deserialize(reader);
+				} else if (hash == KEY_HASH) {
+					item.key = reader.wasNull() ? null : UUIDConverter.deserialize(reader);
+				} else {
+					reader.skip();
+					nextToken = reader.last();
+					if (nextToken == ',') {
+						reader.getNextToken();
+					}
+					continue;
+				}
+				nextToken = reader.getNextToken();
+				if (nextToken == ',') {
+					reader.getNextToken();
+				}
+			} while (reader.last() == '"');
+			if (reader.last() != '}') {
+				throw new IOException("Expecting '}' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+			}
+			return item;
+		}
+	};
+}
@@ -0,0 +1,49 @@
+package com.dslplatform.json.benchmarks;
+
+import com.dslplatform.json.DslJson;
+import com.dslplatform.json.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic payloads shared by the benchmarks.
+ * Small is a single item, medium is a typical API response
+ * and large is a multi-megabyte export.
+ */
+public enum Payloads {
+	SMALL(1),
+	MEDIUM(100),
+	LARGE(25000);
+
+	public final int items;
+
+	Payloads(final int items) {
+		this.items = items;
+	}
+
+	public List<Item> createItems() {
+		final Random random = new Random(items);
+		final List<Item> result = new ArrayList<Item>(items);
+		for (int i = 0; i < items; i++) {
+			final Item item = new Item();
+			item.id = random.nextLong();
+			item.name = "item name " + i + (i % 7 == 0 ? " \"quoted\" žuš" : "");
+			item.price = random.nextDouble() * 10000;
+			item.quantity = random.nextInt(1000);
+			item.active = random.nextBoolean();
+			item.key = new UUID(random.nextLong(), random.nextLong());
+			result.add(item);
+		}
+		return result;
+	}
+
+	public byte[] createJson(final DslJson<Object> json) throws IOException {
+		final JsonWriter writer = new JsonWriter();
+		json.serialize(writer, createItems());
+		return writer.toByteArray();
+	}
+}
@@ -0,0 +1,101 @@
+package com.dslplatform.json.benchmarks;
+
+import com.dslplatform.json.JsonReader;
+import com.dslplatform.json.JsonWriter;
+import com.dslplatform.json.NumberConverter;
+import com.dslplatform.json.StringConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderBenchmark {
+
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Payloads payload;
+
+	private byte[] strings;
+	private byte[] doubles;
+	private byte[] longs;
+	private final char[] tmp = new char[64];
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(payload.items);
+		final List<String> stringValues = new ArrayList<String>();
+		final double[] doubleValues = new double[payload.items * 10];
+		final long[] longValues = new long[payload.items * 10];
+		for (int i = 0; i < doubleValues.length; i++) {
+			final StringBuilder sb = new StringBuilder();
+			final int len = random.nextInt(i % 5 == 0 ? 200 : 20);
+			for (int j = 0; j < len; j++) {
+				sb.append((char) ('a' + random.nextInt(26)));
+			}
+			if (i % 11 == 0) {
+				sb.append("\t\"čćž\"");
+			}
+			stringValues.add(sb.toString());
+			doubleValues[i] = random.nextDouble() * Math.pow(10, random.nextInt(20) - 10);
+			longValues[i] = random.nextLong() >> random.nextInt(64);
+		}
+		final JsonWriter writer = new JsonWriter();
+		StringConverter.serialize(stringValues, writer);
+		strings = writer.toByteArray();
+		writer.reset();
+		NumberConverter.serialize(doubleValues, writer);
+		doubles = writer.toByteArray();
+		writer.reset();
+		NumberConverter.serialize(longValues, writer);
+		longs = writer.toByteArray();
+	}
+
+	@Benchmark
+	public void readString(final Blackhole bh) throws IOException {
+		final JsonReader<Object> reader = new JsonReader<Object>(strings, null, tmp);
+		reader.getNextToken();
+		byte next = reader.getNextToken();
+		while (next == '"') {
+			bh.consume(reader.readString());
+			next = reader.getNextToken();
+			if (next == ',') next = reader.getNextToken();
+		}
+	}
+
+	@Benchmark
+	public double deserializeDouble() throws IOException {
+		final JsonReader<Object> reader = new JsonReader<Object>(doubles, null, tmp);
+		reader.getNextToken();
+		double sum = 0;
+		byte next;
+		do {
+			reader.getNextToken();
+			sum += NumberConverter.deserializeDouble(reader);
+			next = reader.getNextToken();
+		} while (next == ',');
+		return sum;
+	}
+
+	@Benchmark
+	public long deserializeLong() throws IOException {
+		final JsonReader<Object> reader = new JsonReader<Object>(longs, null, tmp);
+		reader.getNextToken();
+		long sum = 0;
+		byte next;
+		do {
+			reader.getNextToken();
+			sum += NumberConverter.deserializeLong(reader);
+			next = reader.getNextToken();
+		} while (next == ',');
+		return sum;
+	}
+}
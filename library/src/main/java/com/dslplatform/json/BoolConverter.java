@@ -2,6 +2,7 @@ package com.dslplatform.json;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 public abstract class BoolConverter {
@@ -12,6 +13,12 @@ public abstract class BoolConverter {
 			return deserialize(reader);
 		}
 	};
+	static final JsonReader.ReadObject<boolean[]> BooleanArrayReader = new JsonReader.ReadObject<boolean[]>() {
+		@Override
+		public boolean[] read(JsonReader reader) throws IOException {
+			return deserializeArray(reader);
+		}
+	};
 	static final JsonWriter.WriteObject<Boolean> BooleanWriter = new JsonWriter.WriteObject<Boolean>() {
 		@Override
 		public void write(JsonWriter writer, Boolean value) {
@@ -76,4 +83,33 @@ public abstract class BoolConverter {
 	public static void deserializeNullableCollection(final JsonReader reader, final Collection<Boolean> res) throws IOException {
 		reader.deserializeNullableCollection(BooleanReader, res);
 	}
+
+	/**
+	 * Deserialize JSON array directly into boolean[] without boxing the elements.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized array
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static boolean[] deserializeArray(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		if (reader.getNextToken() == ']') {
+			return new boolean[0];
+		}
+		boolean[] buffer = new boolean[16];
+		buffer[0] = deserialize(reader);
+		int i = 1;
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			if (i == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+			buffer[i++] = deserialize(reader);
+		}
+		reader.checkArrayEnd();
+		return Arrays.copyOf(buffer, i);
+	}
 }
@@ -0,0 +1,156 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output which stores content into a chain of (heap or direct) ByteBuffers.
+ * Caller can provide pooled buffers with add(ByteBuffer) which will be filled first,
+ * after which new buffers of chunk size are allocated.
+ * When chunk size is 0, no buffers are allocated and writing past the provided buffers will fail.
+ * <p>
+ * Intended to be used as a target for stream bound JsonWriter:
+ * <pre>
+ *     ByteBufferChain chain = new ByteBufferChain(64 * 1024, true);
+ *     JsonWriter writer = new JsonWriter(4096, chain);
+ *     ...
+ *     writer.flush();
+ *     chain.writeTo(socketChannel);
+ * </pre>
+ * Since the content is already in direct buffers, gathering write doesn't need to copy it
+ * into temporary direct buffers as it's done for heap byte[].
+ */
+public final class ByteBufferChain extends OutputStream {
+
+	private final int chunkSize;
+	private final boolean direct;
+	private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+	private int current;
+	private long size;
+
+	/**
+	 * @param chunkSize size of allocated buffers (0 to use only buffers provided through add)
+	 * @param direct    should allocated buffers be direct
+	 */
+	public ByteBufferChain(final int chunkSize, final boolean direct) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("chunkSize can't be negative");
+		}
+		this.chunkSize = chunkSize;
+		this.direct = direct;
+	}
+
+	/**
+	 * Append buffer to the chain. Content is written from the buffer position up to its limit.
+	 * Content before the position (eg. protocol header) is kept as part of the output.
+	 *
+	 * @param buffer buffer to fill
+	 * @return itself
+	 */
+	public ByteBufferChain add(final ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new NullPointerException("buffer provided as null.");
+		}
+		buffers.add(buffer);
+		return this;
+	}
+
+	/**
+	 * @return number of bytes written into the chain
+	 */
+	public long size() {
+		return size;
+	}
+
+	private ByteBuffer nextBuffer() throws IOException {
+		while (current < buffers.size()) {
+			final ByteBuffer buffer = buffers.get(current);
+			if (buffer.hasRemaining()) {
+				return buffer;
+			}
+			current++;
+		}
+		if (chunkSize == 0) {
+			throw new IOException("Unable to write " + size + " bytes. Provided buffers are full");
+		}
+		final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+		buffers.add(buffer);
+		return buffer;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		nextBuffer().put((byte) b);
+		size++;
+	}
+
+	@Override
+	public void write(final byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			final ByteBuffer buffer = nextBuffer();
+			final int chunk = Math.min(len, buffer.remaining());
+			buffer.put(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+			size += chunk;
+		}
+	}
+
+	/**
+	 * Written content as a sequence of buffers ready for reading.
+	 * Returned buffers share the content with the chain buffers.
+	 *
+	 * @return content
+	 */
+	public ByteBuffer[] toBuffers() {
+		int count = 0;
+		for (final ByteBuffer buffer : buffers) {
+			if (buffer.position() > 0) count++;
+		}
+		final ByteBuffer[] result = new ByteBuffer[count];
+		int i = 0;
+		for (final ByteBuffer buffer : buffers) {
+			if (buffer.position() > 0) {
+				final ByteBuffer duplicate = buffer.duplicate();
+				duplicate.flip();
+				result[i++] = duplicate;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Write the whole content to a (blocking) channel with gathering writes.
+	 *
+	 * @param channel output
+	 * @return number of written bytes
+	 * @throws IOException unable to write to the channel
+	 */
+	public long writeTo(final GatheringByteChannel channel) throws IOException {
+		final ByteBuffer[] content = toBuffers();
+		long written = 0;
+		int offset = 0;
+		while (offset < content.length) {
+			written += channel.write(content, offset, content.length - offset);
+			while (offset < content.length && !content[offset].hasRemaining()) {
+				offset++;
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Clear buffers for reuse. Both provided and allocated buffers are kept in the chain.
+	 */
+	public void clear() {
+		for (final ByteBuffer buffer : buffers) {
+			buffer.clear();
+		}
+		current = 0;
+		size = 0;
+	}
+}
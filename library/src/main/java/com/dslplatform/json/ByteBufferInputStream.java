@@ -0,0 +1,45 @@
+package com.dslplatform.json;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Stream view over remaining content of a ByteBuffer.
+ * Used for feeding direct and memory mapped buffers into JsonStreamReader window by window.
+ */
+final class ByteBufferInputStream extends InputStream {
+
+	private final ByteBuffer input;
+
+	ByteBufferInputStream(final ByteBuffer input) {
+		this.input = input;
+	}
+
+	@Override
+	public int read() {
+		return input.hasRemaining() ? input.get() & 0xff : -1;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) {
+		final int remaining = input.remaining();
+		if (remaining == 0) {
+			return len == 0 ? 0 : -1;
+		}
+		final int size = Math.min(len, remaining);
+		input.get(b, off, size);
+		return size;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final int size = (int) Math.max(0, Math.min(n, input.remaining()));
+		input.position(input.position() + size);
+		return size;
+	}
+
+	@Override
+	public int available() {
+		return input.remaining();
+	}
+}
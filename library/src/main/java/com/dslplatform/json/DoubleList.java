@@ -0,0 +1,118 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of double values which doesn't box its elements.
+ * Can be used instead of List&lt;Double&gt; for large numeric collections,
+ * both as a deserialization target and as a property type in CompiledJson classes.
+ * Null elements are not supported.
+ */
+public final class DoubleList extends AbstractList<Double> implements RandomAccess {
+	private double[] values;
+	private int size;
+
+	public DoubleList() {
+		this(10);
+	}
+
+	public DoubleList(final int capacity) {
+		values = new double[capacity];
+	}
+
+	public DoubleList(final double[] values) {
+		this.values = values.clone();
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length < 4 ? 8 : values.length + (values.length >> 1)));
+		}
+	}
+
+	public double getDouble(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	public double setDouble(final int index, final double value) {
+		checkIndex(index);
+		final double old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	public void addDouble(final double value) {
+		if (size == values.length) {
+			ensureCapacity(size + 1);
+		}
+		values[size++] = value;
+		modCount++;
+	}
+
+	/**
+	 * @return copy of the elements
+	 */
+	public double[] toDoubleArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Double get(final int index) {
+		return getDouble(index);
+	}
+
+	@Override
+	public Double set(final int index, final Double value) {
+		return setDouble(index, value);
+	}
+
+	@Override
+	public boolean add(final Double value) {
+		addDouble(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Double value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final double primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Double remove(final int index) {
+		checkIndex(index);
+		final double old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+}
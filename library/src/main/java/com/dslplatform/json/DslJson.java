@@ -13,14 +13,23 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class DslJson<TContext> {
 
 	protected final TContext context;
 	protected final Fallback<TContext> fallback;
+	protected final StringCache keyCache;
+	protected final StringCache valuesCache;
 
 	public interface Fallback<TContext> {
 		void serialize(Object instance, OutputStream stream) throws IOException;
@@ -60,14 +69,43 @@ public class DslJson<TContext> {
 			final boolean jodaTime,
 			final Fallback<TContext> fallback,
 			final Iterable<Configuration> serializers) {
+		this(context, androidSpecifics, javaSpecifics, jodaTime, fallback, serializers, null, null);
+	}
+
+	/**
+	 * DslJson with string caches which will be attached to all readers created by this instance.
+	 * Caches are used to avoid allocation of repeating object keys and short string values.
+	 *
+	 * @param context          custom context
+	 * @param androidSpecifics register Android converters
+	 * @param javaSpecifics    register Java AWT/geom converters
+	 * @param jodaTime         register Joda-Time converters
+	 * @param fallback         fallback for unsupported types
+	 * @param serializers      additional configurations
+	 * @param keyCache         cache for object keys, can be null
+	 * @param valuesCache      cache for short string values, can be null
+	 */
+	public DslJson(
+			final TContext context,
+			final boolean androidSpecifics,
+			final boolean javaSpecifics,
+			final boolean jodaTime,
+			final Fallback<TContext> fallback,
+			final Iterable<Configuration> serializers,
+			final StringCache keyCache,
+			final StringCache valuesCache) {
 		this.context = context;
 		this.fallback = fallback;
+		this.keyCache = keyCache;
+		this.valuesCache = valuesCache;
+		stageRegistrations();
 		registerReader(byte[].class, BinaryConverter.Base64Reader);
 		registerWriter(byte[].class, BinaryConverter.Base64Writer);
 		registerReader(boolean.class, BoolConverter.BooleanReader);
 		registerReader(Boolean.class, BoolConverter.BooleanReader);
 		registerWriter(boolean.class, BoolConverter.BooleanWriter);
 		registerWriter(Boolean.class, BoolConverter.BooleanWriter);
+		registerReader(boolean[].class, BoolConverter.BooleanArrayReader);
 		if (androidSpecifics) {
 			registerAndroidSpecifics(this);
 		}
@@ -110,6 +148,18 @@ public class DslJson<TContext> {
 		registerWriter(long.class, NumberConverter.LongWriter);
 		registerReader(Long.class, NumberConverter.LongReader);
 		registerWriter(Long.class, NumberConverter.LongWriter);
+		registerReader(double[].class, NumberConverter.DoubleArrayReader);
+		registerReader(float[].class, NumberConverter.FloatArrayReader);
+		registerReader(int[].class, NumberConverter.IntArrayReader);
+		registerReader(long[].class, NumberConverter.LongArrayReader);
+		registerReader(DoubleList.class, NumberConverter.DoubleListReader);
+		registerWriter(DoubleList.class, NumberConverter.DoubleListWriter);
+		registerReader(IntList.class, NumberConverter.IntListReader);
+		registerWriter(IntList.class, NumberConverter.IntListWriter);
+		registerReader(LongList.class, NumberConverter.LongListReader);
+		registerWriter(LongList.class, NumberConverter.LongListWriter);
+		registerWriter(JsonTape.LazyMap.class, JsonTape.MapWriter);
+		registerWriter(JsonTape.LazyList.class, JsonTape.ListWriter);
 		registerReader(BigDecimal.class, NumberConverter.DecimalReader);
 		registerWriter(BigDecimal.class, NumberConverter.DecimalWriter);
 		registerReader(String.class, StringConverter.Reader);
@@ -125,6 +175,7 @@ public class DslJson<TContext> {
 				serializer.configure(this);
 			}
 		}
+		publishRegistrations();
 	}
 
 	static void registerAndroidSpecifics(final DslJson json) {
@@ -170,33 +221,137 @@ public class DslJson<TContext> {
 	private final ConcurrentHashMap<Class<?>, JsonReader.ReadJsonObject<JsonObject>> jsonObjectReaders =
 			new ConcurrentHashMap<Class<?>, JsonReader.ReadJsonObject<JsonObject>>();
 
-	private final HashMap<Type, JsonReader.ReadObject<?>> jsonReaders = new HashMap<Type, JsonReader.ReadObject<?>>();
+	/*
+	 * Registries are copy-on-write: registration (which is rare) copies the map under a lock
+	 * and publishes it through a volatile field, so lookups never lock and never see a map being modified.
+	 * Converters can therefore be registered at runtime while other threads are processing JSON.
+	 * During construction and configure, registrations from the configuring thread are collected into staged copies
+	 * which are published at once, so registering n converters doesn't copy the registries n times.
+	 * Configuring thread looks up converters in the staged copies (under the lock), so it sees all registrations.
+	 * Registrations from other threads are published as usual and are also added to the staged copies.
+	 */
+	private final Object registryLock = new Object();
+	private HashMap<Type, JsonReader.ReadObject<?>> stagedReaders;
+	private HashMap<Type, JsonWriter.WriteObject<?>> stagedWriters;
+	private volatile Thread stagingThread;
+
+	private boolean stageRegistrations() {
+		synchronized (registryLock) {
+			if (stagingThread != null) {
+				return false;
+			}
+			stagedReaders = new HashMap<Type, JsonReader.ReadObject<?>>(jsonReaders);
+			stagedWriters = new HashMap<Type, JsonWriter.WriteObject<?>>(jsonWriters);
+			stagingThread = Thread.currentThread();
+			return true;
+		}
+	}
+
+	private void publishRegistrations() {
+		synchronized (registryLock) {
+			jsonReaders = stagedReaders;
+			jsonWriters = stagedWriters;
+			stagedReaders = null;
+			stagedWriters = null;
+			stagingThread = null;
+			writerPlans = new ConcurrentHashMap<Class<?>, WriterPlan>();
+		}
+	}
+
+	private boolean isStaging() {
+		return stagingThread == Thread.currentThread();
+	}
+
+	/**
+	 * Apply multiple configurations (eg. converters for a large number of classes) with a single update of the registries.
+	 * Converters registered by the configurations can be looked up from within the configurations,
+	 * while other threads see all of them once the configurations are applied.
+	 *
+	 * @param configurations converters to register
+	 */
+	public void configure(final Iterable<Configuration> configurations) {
+		if (configurations == null) {
+			throw new NullPointerException("configurations provided as null.");
+		}
+		final boolean staged = stageRegistrations();
+		try {
+			for (final Configuration configuration : configurations) {
+				configuration.configure(this);
+			}
+		} finally {
+			if (staged) {
+				publishRegistrations();
+			}
+		}
+	}
+
+	private volatile Map<Type, JsonReader.ReadObject<?>> jsonReaders = new HashMap<Type, JsonReader.ReadObject<?>>();
 
 	public <T, S extends T> void registerReader(final Class<T> manifest, final JsonReader.ReadObject<S> reader) {
-		jsonReaders.put(manifest, reader);
+		registerReader((Type) manifest, reader);
 	}
 
 	public void registerReader(final Type manifest, final JsonReader.ReadObject<?> reader) {
-		jsonReaders.put(manifest, reader);
+		synchronized (registryLock) {
+			if (stagingThread != null) {
+				stagedReaders.put(manifest, reader);
+				if (isStaging()) {
+					return;
+				}
+			}
+			final HashMap<Type, JsonReader.ReadObject<?>> copy = new HashMap<Type, JsonReader.ReadObject<?>>(jsonReaders);
+			copy.put(manifest, reader);
+			jsonReaders = copy;
+		}
 	}
 
-	private final HashMap<Type, JsonWriter.WriteObject<?>> jsonWriters = new HashMap<Type, JsonWriter.WriteObject<?>>();
+	private volatile Map<Type, JsonWriter.WriteObject<?>> jsonWriters = new HashMap<Type, JsonWriter.WriteObject<?>>();
 
 	public <T> void registerWriter(final Class<T> manifest, final JsonWriter.WriteObject<T> writer) {
-		writerMap.put(manifest, manifest);
-		jsonWriters.put(manifest, writer);
+		synchronized (registryLock) {
+			publishWriter(manifest, writer);
+			writerMap.put(manifest, manifest);
+		}
 	}
 
 	public void registerWriter(final Type manifest, final JsonWriter.WriteObject<?> writer) {
-		jsonWriters.put(manifest, writer);
+		synchronized (registryLock) {
+			publishWriter(manifest, writer);
+		}
+	}
+
+	private void publishWriter(final Type manifest, final JsonWriter.WriteObject<?> writer) {
+		if (stagingThread != null) {
+			stagedWriters.put(manifest, writer);
+			if (isStaging()) {
+				return;
+			}
+		}
+		final HashMap<Type, JsonWriter.WriteObject<?>> copy = new HashMap<Type, JsonWriter.WriteObject<?>>(jsonWriters);
+		copy.put(manifest, writer);
+		jsonWriters = copy;
+		//plans resolved from the previous registry will end up in the discarded cache
+		writerPlans = new ConcurrentHashMap<Class<?>, WriterPlan>();
 	}
 
 	private final ConcurrentMap<Class<?>, Class<?>> writerMap = new ConcurrentHashMap<Class<?>, Class<?>>();
 
 	protected JsonWriter.WriteObject<?> tryFindWriter(final Type manifest) {
+		if (isStaging()) {
+			synchronized (registryLock) {
+				return findWriter(stagedWriters, manifest);
+			}
+		}
+		return findWriter(jsonWriters, manifest);
+	}
+
+	private JsonWriter.WriteObject<?> findWriter(final Map<Type, JsonWriter.WriteObject<?>> writers, final Type manifest) {
 		Class<?> found = writerMap.get(manifest);
 		if (found != null) {
-			return jsonWriters.get(found);
+			final JsonWriter.WriteObject<?> writer = writers.get(found);
+			if (writer != null) {
+				return writer;
+			}
 		}
 		if (manifest instanceof Class<?> == false) {
 			return null;
@@ -205,7 +360,7 @@ public class DslJson<TContext> {
 		final ArrayList<Class<?>> signatures = new ArrayList<Class<?>>();
 		findAllSignatures(container, signatures);
 		for (final Class<?> sig : signatures) {
-			final JsonWriter.WriteObject<?> writer = jsonWriters.get(sig);
+			final JsonWriter.WriteObject<?> writer = writers.get(sig);
 			if (writer != null) {
 				writerMap.putIfAbsent(container, sig);
 				return writer;
@@ -214,7 +369,136 @@ public class DslJson<TContext> {
 		return null;
 	}
 
+	/**
+	 * Resolved way of writing instances of a single class.
+	 * Returns false when instance can't be written, in which case nothing was written.
+	 */
+	private static abstract class WriterPlan {
+		abstract boolean write(JsonWriter writer, Object value);
+	}
+
+	private static final WriterPlan NO_PLAN = new WriterPlan() {
+		boolean write(final JsonWriter writer, final Object value) {
+			return false;
+		}
+	};
+
+	private static final WriterPlan JSON_OBJECT_PLAN = new WriterPlan() {
+		boolean write(final JsonWriter writer, final Object value) {
+			((JsonObject) value).serialize(writer, false);
+			return true;
+		}
+	};
+
+	private volatile ConcurrentMap<Class<?>, WriterPlan> writerPlans = new ConcurrentHashMap<Class<?>, WriterPlan>();
+
+	private WriterPlan findWriterPlan(final Class<?> manifest) {
+		if (isStaging()) {
+			//plans resolved from staged registry are not shared
+			return buildWriterPlan(manifest);
+		}
+		final ConcurrentMap<Class<?>, WriterPlan> plans = writerPlans;
+		WriterPlan plan = plans.get(manifest);
+		if (plan == null) {
+			plan = buildWriterPlan(manifest);
+			plans.putIfAbsent(manifest, plan);
+		}
+		return plan;
+	}
+
+	@SuppressWarnings("unchecked")
+	private WriterPlan buildWriterPlan(final Class<?> manifest) {
+		if (JsonObject.class.isAssignableFrom(manifest)) {
+			return JSON_OBJECT_PLAN;
+		}
+		if (JsonObject[].class.isAssignableFrom(manifest)) {
+			return new WriterPlan() {
+				boolean write(final JsonWriter writer, final Object value) {
+					serialize(writer, (JsonObject[]) value);
+					return true;
+				}
+			};
+		}
+		final JsonWriter.WriteObject<Object> simpleWriter = (JsonWriter.WriteObject<Object>) tryFindWriter(manifest);
+		if (simpleWriter != null) {
+			return new WriterPlan() {
+				boolean write(final JsonWriter writer, final Object value) {
+					simpleWriter.write(writer, value);
+					return true;
+				}
+			};
+		}
+		if (manifest.isArray()) {
+			final Class<?> elementManifest = manifest.getComponentType();
+			final JsonWriter.WriteObject<Object> elementWriter = elementManifest.isPrimitive()
+					? null
+					: (JsonWriter.WriteObject<Object>) tryFindWriter(elementManifest);
+			return new WriterPlan() {
+				boolean write(final JsonWriter writer, final Object value) {
+					if (Array.getLength(value) == 0) {
+						writer.writeAscii("[]");
+						return true;
+					}
+					if (elementWriter != null) {
+						writer.serialize((Object[]) value, elementWriter);
+						return true;
+					}
+					return serializePrimitiveArray(writer, elementManifest, value);
+				}
+			};
+		}
+		if (Collection.class.isAssignableFrom(manifest)) {
+			return collectionPlan;
+		}
+		return NO_PLAN;
+	}
+
+	private final WriterPlan collectionPlan = new WriterPlan() {
+		boolean write(final JsonWriter writer, final Object value) {
+			final Collection<?> items = (Collection<?>) value;
+			if (items.isEmpty()) {
+				writer.writeAscii("[]");
+				return true;
+			}
+			final int start = writer.size();
+			final long flushed = writer.flushed();
+			writer.writeByte(JsonWriter.ARRAY_START);
+			Class<?> lastManifest = null;
+			WriterPlan lastPlan = NO_PLAN;
+			boolean first = true;
+			for (final Object item : items) {
+				if (!first) {
+					writer.writeByte(JsonWriter.COMMA);
+				}
+				first = false;
+				if (item == null) {
+					writer.writeNull();
+					continue;
+				}
+				final Class<?> manifest = item.getClass();
+				if (manifest != lastManifest) {
+					lastPlan = findWriterPlan(manifest);
+					lastManifest = manifest;
+				}
+				if (!lastPlan.write(writer, item)) {
+					if (writer.flushed() != flushed) {
+						throw new RuntimeException(new IOException("Unable to serialize " + manifest + ". Part of the collection was already written to the output."));
+					}
+					writer.rewind(start);
+					return false;
+				}
+			}
+			writer.writeByte(JsonWriter.ARRAY_END);
+			return true;
+		}
+	};
+
 	protected JsonReader.ReadObject<?> tryFindReader(final Type manifest) {
+		if (isStaging()) {
+			synchronized (registryLock) {
+				return stagedReaders.get(manifest);
+			}
+		}
 		return jsonReaders.get(manifest);
 	}
 
@@ -324,7 +608,7 @@ public class DslJson<TContext> {
 		byte nextToken = reader.getNextToken();
 		if (nextToken == '}') return new LinkedHashMap<String, Object>(0);
 		final LinkedHashMap<String, Object> res = new LinkedHashMap<String, Object>();
-		String key = StringConverter.deserialize(reader);
+		String key = reader.readKey();
 		nextToken = reader.getNextToken();
 		if (nextToken != ':') {
 			throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
@@ -333,7 +617,7 @@ public class DslJson<TContext> {
 		res.put(key, deserializeObject(reader));
 		while ((nextToken = reader.getNextToken()) == ',') {
 			reader.getNextToken();
-			key = StringConverter.deserialize(reader);
+			key = reader.readKey();
 			nextToken = reader.getNextToken();
 			if (nextToken != ':') {
 				throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
@@ -347,6 +631,30 @@ public class DslJson<TContext> {
 		return res;
 	}
 
+	/**
+	 * Lazy alternative to untyped deserialization (into Map, List and Object).
+	 * Input is scanned once into a structural index, while objects and arrays are returned
+	 * as read-only Map and List views. Keys, values and nested views are materialized only
+	 * when they are accessed, so only the accessed part of the document is processed.
+	 * Unchanged views are serialized by copying their original JSON.
+	 * <p>
+	 * Input is referenced by the result and must not be changed while the result is in use.
+	 * Result is not thread safe.
+	 * Structure, numbers and literals are validated upfront, while invalid escape sequences in strings
+	 * are detected only on access and are reported as RuntimeException.
+	 *
+	 * @param body input JSON
+	 * @param size size of the input
+	 * @return Map, List, String, Number, Boolean or null
+	 * @throws IOException invalid JSON
+	 */
+	public Object deserializeLazy(final byte[] body, final int size) throws IOException {
+		if (body == null) {
+			throw new NullPointerException("body provided as null.");
+		}
+		return JsonTape.parse(newReader(body, size), body, size);
+	}
+
 	@SuppressWarnings("unchecked")
 	public <TResult> TResult deserialize(
 			final Class<TResult> manifest,
@@ -365,10 +673,16 @@ public class DslJson<TContext> {
 		}
 		if (JsonObject.class.isAssignableFrom(manifest)) {
 			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(manifest);
-			final JsonReader json = new JsonReader(body, size, context);
-			if (objectReader != null && json.getNextToken() == '{') {
-				json.getNextToken();
-				return (TResult) objectReader.deserialize(json);
+			if (objectReader != null) {
+				final JsonReader<TContext> json = borrowReader(body, size);
+				try {
+					if (json.getNextToken() == '{') {
+						json.getNextToken();
+						return (TResult) objectReader.deserialize(json);
+					}
+				} finally {
+					releaseReader(json);
+				}
 			}
 		}
 		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
@@ -386,16 +700,20 @@ public class DslJson<TContext> {
 			}
 			showErrorMessage(manifest);
 		}
-		final JsonReader json = new JsonReader(body, size, context);
-		json.getNextToken();
-		if (json.wasNull()) {
-			return null;
-		}
-		final TResult result = (TResult) simpleReader.read(json);
-		if (json.getCurrentIndex() > json.length()) {
-			throw new IOException("JSON string was not closed with a double quote");
+		final JsonReader<TContext> json = borrowReader(body, size);
+		try {
+			json.getNextToken();
+			if (json.wasNull()) {
+				return null;
+			}
+			final TResult result = (TResult) simpleReader.read(json);
+			if (json.getCurrentIndex() > json.length()) {
+				throw new IOException("JSON string was not closed with a double quote");
+			}
+			return result;
+		} finally {
+			releaseReader(json);
 		}
-		return result;
 	}
 
 	private static Object convertResultToArray(Class<?> elementType, List<?> result) {
@@ -549,77 +867,85 @@ public class DslJson<TContext> {
 					final Type content = pt.getActualTypeArguments()[0];
 					final Class<?> container = (Class<?>) pt.getRawType();
 					if (container.isArray() || Collection.class.isAssignableFrom(container)) {
-						final JsonReader<TContext> json = new JsonReader<TContext>(body, size, context);
-						if (json.getNextToken() != '[') {
-							if (json.wasNull()) {
-								return null;
-							}
-							throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
-						}
-						json.getNextToken();
-						final JsonReader.ReadObject<?> contentReader = tryFindReader(content);
-						if (contentReader != null) {
-							final ArrayList<?> result = json.deserializeNullableCollection(contentReader);
-							if (container.isArray()) {
-								if (content instanceof Class<?>) {
-									return convertResultToArray((Class<?>) content, result);
+						final JsonReader<TContext> json = borrowReader(body, size);
+						try {
+							if (json.getNextToken() != '[') {
+								if (json.wasNull()) {
+									return null;
 								}
-								if (content instanceof ParameterizedType) {
-									final ParameterizedType cpt = (ParameterizedType) content;
-									if (cpt.getRawType() instanceof Class<?>) {
-										return result.toArray((Object[]) Array.newInstance((Class<?>) cpt.getRawType(), result.size()));
+								throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
+							}
+							json.getNextToken();
+							final JsonReader.ReadObject<?> contentReader = tryFindReader(content);
+							if (contentReader != null) {
+								final ArrayList<?> result = json.deserializeNullableCollection(contentReader);
+								if (container.isArray()) {
+									if (content instanceof Class<?>) {
+										return convertResultToArray((Class<?>) content, result);
 									}
+									if (content instanceof ParameterizedType) {
+										final ParameterizedType cpt = (ParameterizedType) content;
+										if (cpt.getRawType() instanceof Class<?>) {
+											return result.toArray((Object[]) Array.newInstance((Class<?>) cpt.getRawType(), result.size()));
+										}
+									}
+									return result.toArray();
 								}
-								return result.toArray();
-							}
-							return result;
-						} else if (content instanceof Class<?>) {
-							final Class<?> contentType = (Class<?>) content;
-							if (JsonObject.class.isAssignableFrom(contentType)) {
-								final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(contentType);
-								if (objectReader != null) {
-									final ArrayList<JsonObject> result = json.deserializeNullableCollection(objectReader);
-									if (container.isArray()) {
-										return result.toArray((Object[]) Array.newInstance(contentType, result.size()));
+								return result;
+							} else if (content instanceof Class<?>) {
+								final Class<?> contentType = (Class<?>) content;
+								if (JsonObject.class.isAssignableFrom(contentType)) {
+									final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(contentType);
+									if (objectReader != null) {
+										final ArrayList<JsonObject> result = json.deserializeNullableCollection(objectReader);
+										if (container.isArray()) {
+											return result.toArray((Object[]) Array.newInstance(contentType, result.size()));
+										}
+										return result;
 									}
-									return result;
 								}
 							}
+						} finally {
+							releaseReader(json);
 						}
 					}
 				}
 			} else if (manifest instanceof GenericArrayType) {
 				final Type content = ((GenericArrayType) manifest).getGenericComponentType();
-				final JsonReader<TContext> json = new JsonReader<TContext>(body, size, context);
-				if (json.getNextToken() != '[') {
-					if (json.wasNull()) {
-						return null;
-					}
-					throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
-				}
-				json.getNextToken();
-				final JsonReader.ReadObject<?> contentReader = tryFindReader(content);
-				if (contentReader != null) {
-					final ArrayList<?> result = json.deserializeNullableCollection(contentReader);
-					if (content instanceof Class<?>) {
-						return convertResultToArray((Class<?>) content, result);
-					}
-					if (content instanceof ParameterizedType) {
-						final ParameterizedType cpt = (ParameterizedType) content;
-						if (cpt.getRawType() instanceof Class<?>) {
-							return result.toArray((Object[]) Array.newInstance((Class<?>) cpt.getRawType(), result.size()));
+				final JsonReader<TContext> json = borrowReader(body, size);
+				try {
+					if (json.getNextToken() != '[') {
+						if (json.wasNull()) {
+							return null;
 						}
+						throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
 					}
-					return result.toArray();
-				} else if (content instanceof Class<?>) {
-					final Class<?> contentType = (Class<?>) content;
-					if (JsonObject.class.isAssignableFrom(contentType)) {
-						final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(contentType);
-						if (objectReader != null) {
-							final ArrayList<JsonObject> result = json.deserializeNullableCollection(objectReader);
-							return result.toArray((Object[]) Array.newInstance(contentType, result.size()));
+					json.getNextToken();
+					final JsonReader.ReadObject<?> contentReader = tryFindReader(content);
+					if (contentReader != null) {
+						final ArrayList<?> result = json.deserializeNullableCollection(contentReader);
+						if (content instanceof Class<?>) {
+							return convertResultToArray((Class<?>) content, result);
+						}
+						if (content instanceof ParameterizedType) {
+							final ParameterizedType cpt = (ParameterizedType) content;
+							if (cpt.getRawType() instanceof Class<?>) {
+								return result.toArray((Object[]) Array.newInstance((Class<?>) cpt.getRawType(), result.size()));
+							}
+						}
+						return result.toArray();
+					} else if (content instanceof Class<?>) {
+						final Class<?> contentType = (Class<?>) content;
+						if (JsonObject.class.isAssignableFrom(contentType)) {
+							final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(contentType);
+							if (objectReader != null) {
+								final ArrayList<JsonObject> result = json.deserializeNullableCollection(objectReader);
+								return result.toArray((Object[]) Array.newInstance(contentType, result.size()));
+							}
 						}
 					}
+				} finally {
+					releaseReader(json);
 				}
 			}
 			if (fallback != null) {
@@ -628,16 +954,149 @@ public class DslJson<TContext> {
 			throw new IOException("Unable to find reader for provided type: " + manifest + " and fallback serialization is not registered.\n" +
 					"Try initializing DslJson with custom fallback in case of unsupported objects or register specified type using registerReader into " + getClass());
 		}
-		final JsonReader json = new JsonReader<TContext>(body, size, context);
-		json.getNextToken();
-		if (json.wasNull()) {
-			return null;
+		final JsonReader<TContext> json = borrowReader(body, size);
+		try {
+			json.getNextToken();
+			if (json.wasNull()) {
+				return null;
+			}
+			final Object result = simpleReader.read(json);
+			if (json.getCurrentIndex() > json.length()) {
+				throw new IOException("JSON string was not closed with a double quote");
+			}
+			return result;
+		} finally {
+			releaseReader(json);
+		}
+	}
+
+	/**
+	 * Create reader for the provided input with caches configured on this instance.
+	 *
+	 * @param body input
+	 * @param size size of the input
+	 * @return reader
+	 * @throws IOException invalid size
+	 */
+	public JsonReader<TContext> newReader(final byte[] body, final int size) throws IOException {
+		return new JsonReader<TContext>(body, size, context, new char[64], keyCache, valuesCache);
+	}
+
+	/**
+	 * Create stream reader with caches configured on this instance.
+	 *
+	 * @param stream input
+	 * @param buffer buffer used for reading from the stream
+	 * @return reader
+	 * @throws IOException unable to read from the stream
+	 */
+	public JsonStreamReader<TContext> newReader(final InputStream stream, final byte[] buffer) throws IOException {
+		return new JsonStreamReader<TContext>(stream, buffer, context, keyCache, valuesCache);
+	}
+
+	/**
+	 * Create reader for the remaining content of the provided ByteBuffer.
+	 * Heap buffers which span their whole backing array are processed in place.
+	 * Other heap buffers (since reader writes a terminator after the content), direct, memory mapped (FileChannel.map) and read-only buffers are processed through the provided
+	 * buffer as a sliding window, so content is never copied to the heap as a whole.
+	 * Position of the input is not changed.
+	 *
+	 * @param input  JSON content
+	 * @param buffer window used when input can't be processed in place
+	 * @return reader
+	 * @throws IOException invalid input
+	 */
+	public JsonReader<TContext> newReader(final ByteBuffer input, final byte[] buffer) throws IOException {
+		if (isInPlace(input)) {
+			return newReader(input.array(), input.limit());
+		}
+		return newReader(new ByteBufferInputStream(input.duplicate()), buffer);
+	}
+
+	/*
+	 * Reader marks the end of the content by writing to the byte after it,
+	 * so only buffers without content after the limit can be processed in place.
+	 */
+	private static boolean isInPlace(final ByteBuffer input) {
+		return input.hasArray() && input.arrayOffset() == 0 && input.position() == 0
+				&& input.limit() == input.array().length;
+	}
+
+	/*
+	 * Pool of readers and writers used by convenience methods (and available through borrow/release API).
+	 * Pool is striped by thread id, so platform threads mostly reuse their own instance (as with ThreadLocal),
+	 * while the number of pooled instances stays bounded regardless of the number of (virtual) threads.
+	 * Instances which grew too large are not returned to the pool.
+	 */
+	private static final int POOL_STRIPES;
+	private static final int MAX_POOLED_WRITER_SIZE = 64 * 1024;
+	private static final int MAX_POOLED_READER_BUFFER = 4 * 1024;
+
+	static {
+		int stripes = 1;
+		while (stripes < Runtime.getRuntime().availableProcessors() * 2 && stripes < 256) {
+			stripes *= 2;
+		}
+		POOL_STRIPES = stripes;
+	}
+
+	private final AtomicReferenceArray<JsonWriter> writerPool = new AtomicReferenceArray<JsonWriter>(POOL_STRIPES);
+	private final AtomicReferenceArray<JsonReader<TContext>> readerPool = new AtomicReferenceArray<JsonReader<TContext>>(POOL_STRIPES);
+
+	private static int poolStripe() {
+		return (int) Thread.currentThread().getId() & (POOL_STRIPES - 1);
+	}
+
+	/**
+	 * Take a writer from the pool (or create a new one if the pool is empty).
+	 * Writer should be returned to the pool with releaseWriter once it's not used anymore.
+	 *
+	 * @return empty writer
+	 */
+	public JsonWriter borrowWriter() {
+		final JsonWriter writer = writerPool.getAndSet(poolStripe(), null);
+		return writer != null ? writer : new JsonWriter();
+	}
+
+	/**
+	 * Return writer to the pool. Writer must not be used after it was released.
+	 *
+	 * @param writer writer obtained from borrowWriter
+	 */
+	public void releaseWriter(final JsonWriter writer) {
+		if (writer == null || writer.getByteBuffer().length > MAX_POOLED_WRITER_SIZE) {
+			return;
 		}
-		final Object result = simpleReader.read(json);
-		if (json.getCurrentIndex() > json.length()) {
-			throw new IOException("JSON string was not closed with a double quote");
+		writer.reset(null);
+		writerPool.compareAndSet(poolStripe(), null, writer);
+	}
+
+	/**
+	 * Take a reader from the pool (or create a new one if the pool is empty) for processing provided input.
+	 * Reader should be returned to the pool with releaseReader once it's not used anymore.
+	 *
+	 * @param body input
+	 * @param size size of the input
+	 * @return reader positioned at the start of the input
+	 * @throws IOException invalid size
+	 */
+	public JsonReader<TContext> borrowReader(final byte[] body, final int size) throws IOException {
+		final JsonReader<TContext> reader = readerPool.getAndSet(poolStripe(), null);
+		return reader != null ? reader.process(body, size) : newReader(body, size);
+	}
+
+	/**
+	 * Return reader to the pool. Reader must not be used after it was released.
+	 * Only readers created by borrowReader are pooled.
+	 *
+	 * @param reader reader obtained from borrowReader
+	 */
+	public void releaseReader(final JsonReader<TContext> reader) {
+		if (reader == null || reader.getClass() != JsonReader.class || reader.context != context) {
+			return;
 		}
-		return result;
+		reader.release(MAX_POOLED_READER_BUFFER);
+		readerPool.compareAndSet(poolStripe(), null, reader);
 	}
 
 	private void showErrorMessage(final Class<?> manifest) throws IOException {
@@ -654,6 +1113,87 @@ public class DslJson<TContext> {
 				"Try initializing DslJson with custom fallback in case of unsupported objects or register specified type using registerReader into " + getClass());
 	}
 
+	private JsonReader.ReadObject<?> findValueReader(final Class<?> manifest) throws IOException {
+		if (JsonObject.class.isAssignableFrom(manifest)) {
+			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(manifest);
+			if (objectReader != null) {
+				return new JsonReader.ReadObject<JsonObject>() {
+					@Override
+					public JsonObject read(final JsonReader reader) throws IOException {
+						if (reader.last() != '{') {
+							throw new IOException("Expecting '{' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+						}
+						reader.getNextToken();
+						return objectReader.deserialize(reader);
+					}
+				};
+			}
+		}
+		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
+		if (simpleReader == null) {
+			showErrorMessage(manifest);
+		}
+		return simpleReader;
+	}
+
+	/**
+	 * Extract single value referenced by JSON Pointer (eg. /meta/tenantId) without deserializing the rest of the input.
+	 * Values which are not on the path are skipped.
+	 * For duplicate keys the last occurrence is used, as with deserialization into a Map.
+	 * For extracting multiple values use newExtractor which processes them in a single pass.
+	 *
+	 * @param manifest    type of the value
+	 * @param pointer     compiled JSON Pointer
+	 * @param body        input JSON
+	 * @param size        size of the input
+	 * @param <TResult>   type of the value
+	 * @return value or null when value doesn't exist
+	 * @throws IOException invalid JSON or unable to find reader for the type
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> TResult extract(
+			final Class<TResult> manifest,
+			final JsonPointer pointer,
+			final byte[] body,
+			final int size) throws IOException {
+		if (pointer == null) {
+			throw new NullPointerException("pointer provided as null.");
+		}
+		final JsonReader.ReadObject<?> valueReader = findValueReader(manifest);
+		final JsonReader<TContext> json = borrowReader(body, size);
+		try {
+			json.getNextToken();
+			if (!pointer.navigate(json) || json.wasNull()) {
+				return null;
+			}
+			return (TResult) valueReader.read(json);
+		} finally {
+			releaseReader(json);
+		}
+	}
+
+	/**
+	 * Create extractor of multiple values which are extracted in a single pass over the input.
+	 *
+	 * @param pointers  compiled JSON Pointers
+	 * @param manifests types of the values
+	 * @return extractor which can be reused
+	 * @throws IOException unable to find reader for some type
+	 */
+	public JsonExtractor newExtractor(final JsonPointer[] pointers, final Class<?>[] manifests) throws IOException {
+		if (pointers == null) {
+			throw new NullPointerException("pointers provided as null.");
+		}
+		if (manifests == null || manifests.length != pointers.length) {
+			throw new IllegalArgumentException("Type must be provided for each pointer");
+		}
+		final JsonReader.ReadObject<?>[] readers = new JsonReader.ReadObject<?>[manifests.length];
+		for (int i = 0; i < manifests.length; i++) {
+			readers[i] = findValueReader(manifests[i]);
+		}
+		return new JsonExtractor(this, pointers, readers);
+	}
+
 	@SuppressWarnings("unchecked")
 	public <TResult> List<TResult> deserializeList(
 			final Class<TResult> manifest,
@@ -665,39 +1205,180 @@ public class DslJson<TContext> {
 		if (size == 2 && body[0] == '[' && body[1] == ']') {
 			return new ArrayList<TResult>(0);
 		}
-		final JsonReader json = new JsonReader(body, size, context);
-		if (json.getNextToken() != '[') {
-			if (json.wasNull()) {
-				return null;
+		final JsonReader json = borrowReader(body, size);
+		try {
+			if (json.getNextToken() != '[') {
+				if (json.wasNull()) {
+					return null;
+				}
+				throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
 			}
-			throw new IOException("Expecting '[' as array start. Found: " + (char) json.last());
-		}
-		if (json.getNextToken() == ']') {
-			return new ArrayList<TResult>(0);
-		}
-		if (JsonObject.class.isAssignableFrom(manifest)) {
-			final JsonReader.ReadJsonObject<JsonObject> reader = getObjectReader(manifest);
-			if (reader != null) {
-				return (List<TResult>) json.deserializeNullableCollection(reader);
+			if (json.getNextToken() == ']') {
+				return new ArrayList<TResult>(0);
 			}
+			if (JsonObject.class.isAssignableFrom(manifest)) {
+				final JsonReader.ReadJsonObject<JsonObject> reader = getObjectReader(manifest);
+				if (reader != null) {
+					return (List<TResult>) json.deserializeNullableCollection(reader);
+				}
+			}
+			final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
+			if (simpleReader == null) {
+				if (fallback != null) {
+					Object array = Array.newInstance(manifest, 0);
+					TResult[] result = (TResult[]) fallback.deserialize(context, array.getClass(), body, size);
+					if (result == null) {
+						return null;
+					}
+					ArrayList<TResult> list = new ArrayList<TResult>(result.length);
+					for (TResult aResult : result) {
+						list.add(aResult);
+					}
+					return list;
+				}
+				showErrorMessage(manifest);
+			}
+			return json.deserializeNullableCollection(simpleReader);
+		} finally {
+			releaseReader(json);
 		}
-		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
-		if (simpleReader == null) {
-			if (fallback != null) {
-				Object array = Array.newInstance(manifest, 0);
-				TResult[] result = (TResult[]) fallback.deserialize(context, array.getClass(), body, size);
-				if (result == null) {
+	}
+
+	private static final int MIN_PARALLEL_CHUNK = 64;
+
+	/**
+	 * Deserialize JSON array in parallel.
+	 * Input is first scanned for element boundaries, after which ranges of elements
+	 * are processed on the provided executor, each with its own reader.
+	 * Order of elements is preserved. Small arrays are processed on the calling thread.
+	 *
+	 * @param manifest  element type
+	 * @param body      JSON array
+	 * @param size      size of the input
+	 * @param executor  executor for processing element ranges
+	 * @param <TResult> element type
+	 * @return list of deserialized elements
+	 * @throws IOException invalid JSON or unable to process elements
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> List<TResult> deserializeList(
+			final Class<TResult> manifest,
+			final byte[] body,
+			final int size,
+			final ExecutorService executor) throws IOException {
+		if (executor == null) {
+			throw new NullPointerException("executor provided as null.");
+		}
+		final JsonReader.ReadJsonObject<JsonObject> objectReader =
+				JsonObject.class.isAssignableFrom(manifest) ? getObjectReader(manifest) : null;
+		final JsonReader.ReadObject<?> simpleReader = objectReader == null ? tryFindReader(manifest) : null;
+		if (objectReader == null && simpleReader == null || isNull(size, body)) {
+			return deserializeList(manifest, body, size);
+		}
+		final int[] starts;
+		final JsonReader<TContext> scanner = borrowReader(body, size);
+		try {
+			if (scanner.getNextToken() != '[') {
+				if (scanner.wasNull()) {
 					return null;
 				}
-				ArrayList<TResult> list = new ArrayList<TResult>(result.length);
-				for (TResult aResult : result) {
-					list.add(aResult);
+				throw new IOException("Expecting '[' as array start. Found: " + (char) scanner.last());
+			}
+			starts = findElements(scanner);
+		} finally {
+			releaseReader(scanner);
+		}
+		final int count = starts.length;
+		final int chunk = Math.max(MIN_PARALLEL_CHUNK, count / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+		final Object[] result = new Object[count];
+		if (count <= chunk) {
+			deserializeElements(body, size, starts, 0, count, objectReader, simpleReader, result);
+		} else {
+			final List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(count / chunk + 1);
+			for (int i = 0; i < count; i += chunk) {
+				final int from = i;
+				final int to = Math.min(count, i + chunk);
+				tasks.add(new Callable<Object>() {
+					@Override
+					public Object call() throws IOException {
+						deserializeElements(body, size, starts, from, to, objectReader, simpleReader, result);
+						return null;
+					}
+				});
+			}
+			final List<Future<Object>> futures;
+			try {
+				futures = executor.invokeAll(tasks);
+				for (final Future<Object> future : futures) {
+					future.get();
 				}
-				return list;
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while deserializing array", ex);
+			} catch (ExecutionException ex) {
+				final Throwable cause = ex.getCause();
+				if (cause instanceof IOException) throw (IOException) cause;
+				if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+				if (cause instanceof Error) throw (Error) cause;
+				throw new IOException(cause);
 			}
-			showErrorMessage(manifest);
 		}
-		return json.deserializeNullableCollection(simpleReader);
+		return (List<TResult>) new ArrayList<Object>(Arrays.asList(result));
+	}
+
+	private static int[] findElements(final JsonReader reader) throws IOException {
+		if (reader.getNextToken() == ']') {
+			return new int[0];
+		}
+		int[] starts = new int[64];
+		int count = 0;
+		byte nextToken;
+		do {
+			if (count == starts.length) {
+				starts = Arrays.copyOf(starts, starts.length * 2);
+			}
+			starts[count++] = reader.getCurrentIndex() - 1;
+			nextToken = reader.skip();
+			if (nextToken == ',') {
+				reader.getNextToken();
+			}
+		} while (nextToken == ',');
+		reader.checkArrayEnd();
+		return Arrays.copyOf(starts, count);
+	}
+
+	private void deserializeElements(
+			final byte[] body,
+			final int size,
+			final int[] starts,
+			final int from,
+			final int to,
+			final JsonReader.ReadJsonObject<JsonObject> objectReader,
+			final JsonReader.ReadObject<?> simpleReader,
+			final Object[] result) throws IOException {
+		final JsonReader<TContext> reader = borrowReader(body, size);
+		try {
+			for (int i = from; i < to; i++) {
+				reader.positionAt(starts[i]);
+				if (reader.wasNull()) {
+					result[i] = null;
+				} else if (objectReader != null) {
+					if (reader.last() != '{') {
+						throw new IOException("Expecting '{' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+					}
+					reader.getNextToken();
+					result[i] = objectReader.deserialize(reader);
+				} else {
+					result[i] = simpleReader.read(reader);
+				}
+				final byte nextToken = reader.getNextToken();
+				if (nextToken != ',' && nextToken != ']') {
+					throw new IOException("Expecting ',' or ']' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+				}
+			}
+		} finally {
+			releaseReader(reader);
+		}
 	}
 
 	private static final Iterator EmptyIterator = new Iterator() {
@@ -716,18 +1397,71 @@ public class DslJson<TContext> {
 		}
 	};
 
+	/**
+	 * Iterate over JSON array stored in the provided (usually direct or memory mapped) ByteBuffer.
+	 * Content is processed through the provided buffer as a sliding window.
+	 * Position of the input is not changed.
+	 *
+	 * @param manifest  element type
+	 * @param input     JSON array
+	 * @param buffer    window used for processing
+	 * @param <TResult> element type
+	 * @return iterator over elements or null
+	 * @throws IOException invalid JSON
+	 */
+	public <TResult> Iterator<TResult> iterateOver(
+			final Class<TResult> manifest,
+			final ByteBuffer input,
+			final byte[] buffer) throws IOException {
+		return iterateOver(manifest, new ByteBufferInputStream(input.duplicate()), buffer);
+	}
+
+	private static final int DEFAULT_MAX_STREAM_BUFFER = 16 * 1024 * 1024;
+
 	public <TResult> Iterator<TResult> iterateOver(
 			final Class<TResult> manifest,
 			final InputStream stream,
 			final byte[] buffer) throws IOException {
+		return iterateOver(manifest, stream, buffer, DEFAULT_MAX_STREAM_BUFFER, null);
+	}
+
+	/**
+	 * Iterate over JSON array from the provided stream.
+	 * Stream is processed through a window which starts with the provided buffer.
+	 * Window is compacted only when an element doesn't fit into its remaining part
+	 * and it's grown (up to the specified size) for elements which don't fit into it at all.
+	 *
+	 * @param manifest      element type
+	 * @param stream        input
+	 * @param buffer        initial window
+	 * @param maxBufferSize maximum size of the window
+	 * @param statistics    optional statistics about stream processing
+	 * @param <TResult>     element type
+	 * @return iterator over elements or null
+	 * @throws IOException invalid JSON
+	 */
+	public <TResult> Iterator<TResult> iterateOver(
+			final Class<TResult> manifest,
+			final InputStream stream,
+			final byte[] buffer,
+			final int maxBufferSize,
+			final StreamStatistics statistics) throws IOException {
 		int position = JsonStreamReader.readFully(buffer, stream, 0);
+		if (statistics != null) {
+			statistics.bytesRead += position;
+			statistics.bufferSize = buffer.length;
+		}
 		if (isNull(position, buffer)) {
 			return null;
 		}
 		if (position < buffer.length) {
-			return deserializeList(manifest, buffer, position).iterator();
+			final List<TResult> list = deserializeList(manifest, buffer, position);
+			if (statistics != null && list != null) {
+				statistics.elements += list.size();
+			}
+			return list != null ? list.iterator() : null;
 		}
-		final JsonReader json = new JsonReader<TContext>(buffer, position, context);
+		final JsonReader json = newReader(buffer, position);
 		if (json.getNextToken() != '[') {
 			if (json.wasNull()) {
 				return null;
@@ -737,42 +1471,62 @@ public class DslJson<TContext> {
 		if (json.getNextToken() == ']') {
 			return EmptyIterator;
 		}
+		final int mark = json.getCurrentIndex() - 1;
+		final StreamStatistics stats = statistics != null ? statistics : new StreamStatistics();
 		if (JsonObject.class.isAssignableFrom(manifest)) {
 			final JsonReader.ReadJsonObject<JsonObject> reader = getObjectReader(manifest);
 			if (reader != null) {
-				return new StreamWithObjectReader(buffer, reader, json, stream);
+				return new StreamWithObjectReader(buffer, json, stream, mark, maxBufferSize, stats, reader);
 			}
 		}
 		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
 		if (simpleReader == null) {
 			if (fallback != null) {
-				return new StreamWithFallback(buffer, stream, json, manifest, fallback, context);
+				return new StreamWithFallback(buffer, json, stream, mark, maxBufferSize, stats, manifest, fallback, context);
 			}
 			showErrorMessage(manifest);
 		}
-		return new StreamWithReader(buffer, simpleReader, json, stream);
+		return new StreamWithReader(buffer, json, stream, mark, maxBufferSize, stats, simpleReader);
 	}
 
-	private static class StreamWithObjectReader<T extends JsonObject> implements Iterator<T> {
-		private final byte[] buffer;
-		private final JsonReader.ReadJsonObject<T> reader;
-		private final JsonReader json;
+	/*
+	 * Iterator over array elements from the stream.
+	 * Elements are processed directly from the window. When element can't be processed because it reaches
+	 * the end of the window, window is compacted (or grown if element starts at the beginning of the window),
+	 * refilled from the stream and element is processed again.
+	 */
+	private static abstract class StreamWindow<T> implements Iterator<T> {
+		private byte[] buffer;
 		private final InputStream stream;
+		private final int maxBufferSize;
+		protected final StreamStatistics statistics;
+		protected final JsonReader json;
 
+		private int mark;
+		private boolean eof;
 		private boolean hasNext;
 
-		public StreamWithObjectReader(
+		StreamWindow(
 				byte[] buffer,
-				JsonReader.ReadJsonObject<T> reader,
 				JsonReader json,
-				InputStream stream) {
+				InputStream stream,
+				int mark,
+				int maxBufferSize,
+				StreamStatistics statistics) {
 			this.buffer = buffer;
-			this.reader = reader;
 			this.json = json;
 			this.stream = stream;
+			this.mark = mark;
+			this.maxBufferSize = maxBufferSize;
+			this.statistics = statistics;
 			hasNext = true;
 		}
 
+		/*
+		 * Read non null element on which the reader is positioned. Reader must be left on the token after the element.
+		 */
+		abstract T readElement(byte[] buffer) throws IOException;
+
 		@Override
 		public boolean hasNext() {
 			return hasNext;
@@ -784,126 +1538,263 @@ public class DslJson<TContext> {
 
 		@Override
 		public T next() {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
 			try {
-				byte nextToken = json.last();
-				final T instance;
-				if (nextToken == 'n') {
-					if (json.wasNull()) {
-						instance = null;
-					} else {
-						throw new RuntimeException("Expecting 'null' for collection item. Found: " + (char) json.last());
+				while (true) {
+					try {
+						json.positionAt(mark);
+						final T instance;
+						if (json.wasNull()) {
+							instance = null;
+							json.getNextToken();
+						} else {
+							instance = readElement(buffer);
+						}
+						final byte nextToken = json.last();
+						if (nextToken != ',' && nextToken != ']') {
+							throw new IOException("Expecting ',' or ']' at position " + json.positionInStream() + ". Found " + (char) nextToken);
+						}
+						hasNext = nextToken == ',';
+						mark = json.getCurrentIndex();
+						statistics.elements++;
+						return instance;
+					} catch (IOException ex) {
+						if (!slide(ex)) throw ex;
+					} catch (RuntimeException ex) {
+						if (!slide(ex)) throw ex;
 					}
-				} else if (nextToken == '{') {
-					json.getNextToken();
-					instance = reader.deserialize(json);
-				} else {
-					throw new IOException("Expecting '{' at position " + json.positionInStream() + ". Found " + (char) nextToken);
-				}
-				hasNext = json.getNextToken() == ',';
-				if (!hasNext && json.last() != ']') {
-					throw new RuntimeException("Expecting ']' for end of collection. Found: " + (char) json.last());
 				}
-				final int current = json.getCurrentIndex();
-				if (current * 2 > buffer.length) {
-					final int len = buffer.length - current;
-					System.arraycopy(buffer, current, buffer, 0, len);
-					int position = JsonStreamReader.readFully(buffer, stream, len);
-					json.reset(position);
-				}
-				json.getNextToken();
-				return instance;
 			} catch (IOException e) {
 				throw new RuntimeException(e);
 			}
 		}
-	}
 
-	private static class StreamWithReader<T> implements Iterator<T> {
-		private final byte[] buffer;
-		private final JsonReader.ReadObject<T> reader;
-		private final JsonReader json;
-		private final InputStream stream;
+		/*
+		 * Check if element and the token after it are in the window,
+		 * in which case the failure was not caused by the end of the window.
+		 */
+		private boolean isElementInWindow() {
+			final byte[] buf = buffer;
+			final int end = json.length();
+			int depth = 0;
+			boolean inString = false;
+			for (int i = mark; i < end; i++) {
+				final byte b = buf[i];
+				if (inString) {
+					if (b == '\\') i++;
+					else if (b == '"') inString = false;
+				} else if (b == '"') {
+					inString = true;
+				} else if (b == '{' || b == '[') {
+					depth++;
+				} else if (b == '}' || b == ']' || b == ',') {
+					if (depth == 0) return true;
+					if (b != ',') depth--;
+				}
+			}
+			return false;
+		}
 
-		private boolean hasNext;
 
-		public StreamWithReader(
+		private boolean slide(final Exception ex) throws IOException {
+			if (eof || isElementInWindow()) {
+				return false;
+			}
+			final int available = json.length() - mark;
+			if (mark > 0) {
+				System.arraycopy(buffer, mark, buffer, 0, available);
+				statistics.compactions++;
+				statistics.bytesCompacted += available;
+			} else if (buffer.length >= maxBufferSize) {
+				throw new IOException("Unable to process element at position " + json.positionInStream()
+						+ ". Element is larger than maximum buffer size of " + maxBufferSize + " bytes", ex);
+			} else {
+				buffer = Arrays.copyOf(buffer, (int) Math.min(maxBufferSize, buffer.length * 2L));
+				statistics.bufferGrowths++;
+				statistics.bufferSize = buffer.length;
+			}
+			final int length = JsonStreamReader.readFully(buffer, stream, available);
+			statistics.bytesRead += length - available;
+			statistics.retries++;
+			eof = length < buffer.length;
+			json.slide(buffer, length, mark);
+			mark = 0;
+			return true;
+		}
+	}
+
+	private static class StreamWithObjectReader<T extends JsonObject> extends StreamWindow<T> {
+		private final JsonReader.ReadJsonObject<T> reader;
+
+		StreamWithObjectReader(
 				byte[] buffer,
-				JsonReader.ReadObject<T> reader,
 				JsonReader json,
-				InputStream stream) {
-			this.buffer = buffer;
+				InputStream stream,
+				int mark,
+				int maxBufferSize,
+				StreamStatistics statistics,
+				JsonReader.ReadJsonObject<T> reader) {
+			super(buffer, json, stream, mark, maxBufferSize, statistics);
 			this.reader = reader;
-			this.json = json;
-			this.stream = stream;
-			hasNext = true;
 		}
 
 		@Override
-		public boolean hasNext() {
-			return hasNext;
+		T readElement(final byte[] buffer) throws IOException {
+			if (json.last() != '{') {
+				throw new IOException("Expecting '{' at position " + json.positionInStream() + ". Found " + (char) json.last());
+			}
+			json.getNextToken();
+			final T instance = reader.deserialize(json);
+			json.getNextToken();
+			return instance;
 		}
+	}
 
-		@Override
-		public void remove() {
+	private static class StreamWithReader<T> extends StreamWindow<T> {
+		private final JsonReader.ReadObject<T> reader;
+
+		StreamWithReader(
+				byte[] buffer,
+				JsonReader json,
+				InputStream stream,
+				int mark,
+				int maxBufferSize,
+				StreamStatistics statistics,
+				JsonReader.ReadObject<T> reader) {
+			super(buffer, json, stream, mark, maxBufferSize, statistics);
+			this.reader = reader;
 		}
 
 		@Override
-		public T next() {
-			try {
-				byte nextToken = json.last();
-				final T instance;
-				if (nextToken == 'n') {
-					if (json.wasNull()) {
-						instance = null;
-					} else {
-						throw new RuntimeException("Expecting 'null' for collection item. Found: " + (char) json.last());
-					}
-				} else {
-					instance = reader.read(json);
-				}
-				hasNext = json.getNextToken() == ',';
-				if (!hasNext && json.last() != ']') {
-					throw new RuntimeException("Expecting ']' for end of collection. Found: " + (char) json.last());
-				}
-				final int current = json.getCurrentIndex();
-				if (current * 2 > buffer.length) {
-					final int len = buffer.length - current;
-					System.arraycopy(buffer, current, buffer, 0, len);
-					int position = JsonStreamReader.readFully(buffer, stream, len);
-					json.reset(position);
-				}
-				json.getNextToken();
-				return instance;
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
+		T readElement(final byte[] buffer) throws IOException {
+			final T instance = reader.read(json);
+			json.getNextToken();
+			return instance;
 		}
 	}
 
-	private static class StreamWithFallback<T, TContext> implements Iterator<T> {
-		private final byte[] buffer;
-		private final InputStream stream;
-		private final JsonReader json;
+	private static class StreamWithFallback<T, TContext> extends StreamWindow<T> {
 		private final Type manifest;
 		private final Fallback<TContext> fallback;
 		private final TContext context;
 
-		private boolean hasNext;
-
-		public StreamWithFallback(
+		StreamWithFallback(
 				byte[] buffer,
-				InputStream stream,
 				JsonReader json,
+				InputStream stream,
+				int mark,
+				int maxBufferSize,
+				StreamStatistics statistics,
 				Type manifest,
 				Fallback<TContext> fallback,
 				TContext context) {
-			this.buffer = buffer;
-			this.stream = stream;
-			this.json = json;
+			super(buffer, json, stream, mark, maxBufferSize, statistics);
 			this.manifest = manifest;
 			this.fallback = fallback;
 			this.context = context;
-			hasNext = true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		T readElement(final byte[] buffer) throws IOException {
+			final int start = json.getCurrentIndex() - 1;
+			json.skip();
+			final int end = json.getCurrentIndex() - 1;
+			final byte[] body = start == 0 ? buffer : Arrays.copyOfRange(buffer, start, end);
+			return (T) fallback.deserialize(context, manifest, body, end - start);
+		}
+	}
+
+	/**
+	 * Iterate over newline delimited JSON (NDJSON/JSON Lines) from the provided stream.
+	 * Values can be separated by any whitespace. Input is processed through the provided buffer
+	 * as a sliding window which is grown for values which don't fit into it.
+	 *
+	 * @param manifest  value type
+	 * @param stream    input
+	 * @param buffer    reusable buffer for processing the stream
+	 * @param <TResult> value type
+	 * @return iterator over values
+	 * @throws IOException unable to read from the stream
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> Iterator<TResult> iterateOverLines(
+			final Class<TResult> manifest,
+			final InputStream stream,
+			final byte[] buffer) throws IOException {
+		if (stream == null) {
+			throw new NullPointerException("stream provided as null.");
+		}
+		JsonReader.ReadJsonObject<JsonObject> objectReader = null;
+		if (JsonObject.class.isAssignableFrom(manifest)) {
+			objectReader = getObjectReader(manifest);
+		}
+		final JsonReader.ReadObject<?> simpleReader = objectReader == null ? tryFindReader(manifest) : null;
+		if (objectReader == null && simpleReader == null) {
+			showErrorMessage(manifest);
+		}
+		final int position = JsonStreamReader.readFully(buffer, stream, 0);
+		final JsonReader json = newReader(buffer, position);
+		return new StreamWithLines(buffer, objectReader, simpleReader, json, stream, DEFAULT_MAX_STREAM_BUFFER);
+	}
+
+	/*
+	 * Iterator over whitespace separated values from the stream.
+	 * Value is accepted only when it's followed by whitespace or the end of the stream.
+	 * When value reaches the end of the window, window is compacted (or grown if value starts
+	 * at the beginning of the window), refilled from the stream and value is processed again.
+	 */
+	private static class StreamWithLines<T> implements Iterator<T> {
+		private byte[] buffer;
+		private final JsonReader.ReadJsonObject<JsonObject> objectReader;
+		private final JsonReader.ReadObject<T> reader;
+		private final JsonReader json;
+		private final InputStream stream;
+		private final int maxBufferSize;
+
+		private int mark;
+		private boolean eof;
+		private boolean hasNext;
+
+		public StreamWithLines(
+				byte[] buffer,
+				JsonReader.ReadJsonObject<JsonObject> objectReader,
+				JsonReader.ReadObject<T> reader,
+				JsonReader json,
+				InputStream stream,
+				int maxBufferSize) throws IOException {
+			this.buffer = buffer;
+			this.objectReader = objectReader;
+			this.reader = reader;
+			this.json = json;
+			this.stream = stream;
+			this.maxBufferSize = maxBufferSize;
+			eof = json.length() < buffer.length;
+			hasNext = findNext();
+		}
+
+		private static boolean isWhitespace(final byte b) {
+			return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+		}
+
+		private boolean findNext() throws IOException {
+			while (true) {
+				final int length = json.length();
+				for (int i = json.getCurrentIndex(); i < length; i++) {
+					if (!isWhitespace(buffer[i])) {
+						mark = i;
+						return true;
+					}
+				}
+				if (eof) {
+					return false;
+				}
+				final int position = JsonStreamReader.readFully(buffer, stream, 0);
+				eof = position < buffer.length;
+				json.slide(buffer, position, length);
+			}
 		}
 
 		@Override
@@ -917,34 +1808,192 @@ public class DslJson<TContext> {
 
 		@Override
 		public T next() {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
 			try {
-				byte nextToken = json.last();
-				final T instance;
-				if (nextToken == 'n') {
-					if (json.wasNull()) {
-						instance = null;
-					} else {
-						throw new RuntimeException("Expecting 'null' for collection item. Found: " + (char) json.last());
+				while (true) {
+					try {
+						final T instance = readValue();
+						hasNext = findNext();
+						return instance;
+					} catch (IOException ex) {
+						if (!slide(ex)) throw ex;
+					} catch (RuntimeException ex) {
+						if (!slide(ex)) throw ex;
 					}
-				} else {
-					json.skip();
-					instance = (T) fallback.deserialize(context, manifest, buffer, json.getCurrentIndex());
 				}
-				hasNext = json.getNextToken() == ',';
-				if (!hasNext && json.last() != ']') {
-					throw new RuntimeException("Expecting ']' for end of collection. Found: " + (char) json.last());
-				}
-				final int current = json.getCurrentIndex();
-				final int len = buffer.length - current;
-				System.arraycopy(buffer, current, buffer, 0, len);
-				int position = JsonStreamReader.readFully(buffer, stream, len);
-				json.reset(position);
-				json.getNextToken();
-				return instance;
 			} catch (IOException e) {
 				throw new RuntimeException(e);
 			}
 		}
+
+		@SuppressWarnings("unchecked")
+		private T readValue() throws IOException {
+			json.positionAt(mark);
+			final T instance;
+			if (json.wasNull()) {
+				instance = null;
+			} else if (objectReader != null) {
+				if (json.last() != '{') {
+					throw new IOException("Expecting '{' at position " + json.positionInStream() + ". Found " + (char) json.last());
+				}
+				json.getNextToken();
+				instance = (T) objectReader.deserialize(json);
+			} else {
+				instance = reader.read(json);
+			}
+			final int end = json.getCurrentIndex();
+			if (end < json.length() ? !isWhitespace(buffer[end]) : !eof) {
+				throw new IOException("Expecting whitespace after value at position " + json.positionInStream()
+						+ (end < json.length() ? ". Found " + (char) buffer[end] : ". Found end of window"));
+			}
+			return instance;
+		}
+
+		/*
+		 * Check if value and whitespace after it are in the window,
+		 * in which case the failure was not caused by the end of the window.
+		 */
+		private boolean isValueInWindow() {
+			final byte[] buf = buffer;
+			final int end = json.length();
+			int depth = 0;
+			boolean inString = false;
+			for (int i = mark; i < end; i++) {
+				final byte b = buf[i];
+				if (inString) {
+					if (b == '\\') i++;
+					else if (b == '"') inString = false;
+				} else if (b == '"') {
+					inString = true;
+				} else if (b == '{' || b == '[') {
+					depth++;
+				} else if (b == '}' || b == ']') {
+					depth--;
+				} else if (depth <= 0 && isWhitespace(b)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean slide(final Exception ex) throws IOException {
+			if (eof || isValueInWindow()) {
+				return false;
+			}
+			final int available = json.length() - mark;
+			if (mark > 0) {
+				System.arraycopy(buffer, mark, buffer, 0, available);
+			} else if (buffer.length >= maxBufferSize) {
+				throw new IOException("Unable to process value at position " + json.positionInStream()
+						+ ". Value is larger than maximum buffer size of " + maxBufferSize + " bytes", ex);
+			} else {
+				buffer = Arrays.copyOf(buffer, (int) Math.min(maxBufferSize, buffer.length * 2L));
+			}
+			final int length = JsonStreamReader.readFully(buffer, stream, available);
+			eof = length < buffer.length;
+			json.slide(buffer, length, mark);
+			mark = 0;
+			return true;
+		}
+	}
+
+	/**
+	 * Create push based parser for a sequence of whitespace separated values (single value or NDJSON).
+	 * Input is fed in chunks as it arrives, without blocking on a stream.
+	 *
+	 * @param manifest  value type
+	 * @param <TResult> value type
+	 * @return parser
+	 * @throws IOException unable to find reader for the type
+	 */
+	public <TResult> JsonFeedParser<TResult> newFeedParser(final Class<TResult> manifest) throws IOException {
+		return newFeedParser(manifest, false);
+	}
+
+	/**
+	 * Create push based parser for elements of a top level JSON array.
+	 * Elements become available as soon as they are complete.
+	 *
+	 * @param manifest  element type
+	 * @param <TResult> element type
+	 * @return parser
+	 * @throws IOException unable to find reader for the type
+	 */
+	public <TResult> JsonFeedParser<TResult> newArrayFeedParser(final Class<TResult> manifest) throws IOException {
+		return newFeedParser(manifest, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <TResult> JsonFeedParser<TResult> newFeedParser(final Class<TResult> manifest, final boolean arrayElements) throws IOException {
+		JsonReader.ReadJsonObject<JsonObject> objectReader = null;
+		if (JsonObject.class.isAssignableFrom(manifest)) {
+			objectReader = getObjectReader(manifest);
+		}
+		final JsonReader.ReadObject<?> simpleReader = objectReader == null ? tryFindReader(manifest) : null;
+		if (objectReader == null && simpleReader == null) {
+			showErrorMessage(manifest);
+		}
+		return new JsonFeedParser<TResult>(
+				newReader(new byte[0], 0),
+				objectReader,
+				(JsonReader.ReadObject<TResult>) simpleReader,
+				arrayElements);
+	}
+
+	/**
+	 * Serialize values as newline delimited JSON (NDJSON/JSON Lines).
+	 * Values are encoded into a fixed size buffer which is written to the stream whenever it fills up,
+	 * so the whole output is never kept in memory. Stream is flushed at the end, but not closed.
+	 *
+	 * @param values values to serialize
+	 * @param stream output
+	 * @throws IOException unable to serialize some value or unable to write to the stream
+	 */
+	public void serializeLines(final Iterator<?> values, final OutputStream stream) throws IOException {
+		if (stream == null) {
+			throw new NullPointerException("stream provided as null.");
+		}
+		final JsonWriter writer = borrowWriter();
+		writer.reset(stream);
+		try {
+			while (values.hasNext()) {
+				serialize(writer, values.next());
+				writer.writeByte((byte) '\n');
+			}
+			writer.flush();
+		} catch (RuntimeException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException) ex.getCause();
+			}
+			throw ex;
+		} finally {
+			releaseWriter(writer);
+		}
+	}
+
+	/**
+	 * Deserialize remaining content of the provided ByteBuffer.
+	 * Heap buffers which span their whole backing array are processed in place,
+	 * while other buffers are processed through the provided buffer as a sliding window.
+	 * Position of the input is not changed.
+	 *
+	 * @param manifest type
+	 * @param input    JSON content
+	 * @param buffer   window used when input can't be processed in place
+	 * @param <TResult> result type
+	 * @return deserialized instance
+	 * @throws IOException invalid JSON
+	 */
+	public <TResult> TResult deserialize(
+			final Class<TResult> manifest,
+			final ByteBuffer input,
+			final byte[] buffer) throws IOException {
+		if (isInPlace(input)) {
+			return deserialize(manifest, input.array(), input.limit());
+		}
+		return deserialize(manifest, new ByteBufferInputStream(input.duplicate()), buffer);
 	}
 
 	public <TResult> TResult deserialize(
@@ -953,7 +2002,7 @@ public class DslJson<TContext> {
 			final byte[] buffer) throws IOException {
 		if (JsonObject.class.isAssignableFrom(manifest)) {
 			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(manifest);
-			final JsonStreamReader json = new JsonStreamReader<TContext>(stream, buffer, context);
+			final JsonStreamReader json = newReader(stream, buffer);
 			if (objectReader != null && json.getNextToken() == '{') {
 				json.getNextToken();
 				return (TResult) objectReader.deserialize(json);
@@ -979,7 +2028,7 @@ public class DslJson<TContext> {
 			}
 			showErrorMessage(manifest);
 		}
-		final JsonStreamReader json = new JsonStreamReader<TContext>(stream, buffer, context);
+		final JsonStreamReader json = newReader(stream, buffer);
 		json.getNextToken();
 		if (json.wasNull()) {
 			return null;
@@ -1100,6 +2149,9 @@ public class DslJson<TContext> {
 			writer.writeNull();
 			return true;
 		}
+		if (manifest == value.getClass()) {
+			return findWriterPlan(value.getClass()).write(writer, value);
+		}
 		if (value instanceof JsonObject) {
 			((JsonObject) value).serialize(writer, false);
 			return true;
@@ -1124,27 +2176,7 @@ public class DslJson<TContext> {
 			}
 			final Class<?> elementManifest = container.getComponentType();
 			if (elementManifest.isPrimitive()) {
-				if (elementManifest == boolean.class) {
-					BoolConverter.serialize((boolean[]) value, writer);
-				} else if (elementManifest == int.class) {
-					NumberConverter.serialize((int[]) value, writer);
-				} else if (elementManifest == long.class) {
-					NumberConverter.serialize((long[]) value, writer);
-				} else if (elementManifest == byte.class) {
-					BinaryConverter.serialize((byte[]) value, writer);
-				} else if (elementManifest == short.class) {
-					NumberConverter.serialize((short[]) value, writer);
-				} else if (elementManifest == float.class) {
-					NumberConverter.serialize((float[]) value, writer);
-				} else if (elementManifest == double.class) {
-					NumberConverter.serialize((double[]) value, writer);
-				} else if (elementManifest == char.class) {
-					//TODO? char[] !?
-					StringConverter.serialize(new String((char[]) value), writer);
-				} else {
-					return false;
-				}
-				return true;
+				return serializePrimitiveArray(writer, elementManifest, value);
 			} else {
 				final JsonWriter.WriteObject<Object> elementWriter = (JsonWriter.WriteObject<Object>) tryFindWriter(elementManifest);
 				if (elementWriter != null) {
@@ -1195,22 +2227,75 @@ public class DslJson<TContext> {
 		return false;
 	}
 
+	private static boolean serializePrimitiveArray(final JsonWriter writer, final Class<?> elementManifest, final Object value) {
+		if (elementManifest == boolean.class) {
+			BoolConverter.serialize((boolean[]) value, writer);
+		} else if (elementManifest == int.class) {
+			NumberConverter.serialize((int[]) value, writer);
+		} else if (elementManifest == long.class) {
+			NumberConverter.serialize((long[]) value, writer);
+		} else if (elementManifest == byte.class) {
+			BinaryConverter.serialize((byte[]) value, writer);
+		} else if (elementManifest == short.class) {
+			NumberConverter.serialize((short[]) value, writer);
+		} else if (elementManifest == float.class) {
+			NumberConverter.serialize((float[]) value, writer);
+		} else if (elementManifest == double.class) {
+			NumberConverter.serialize((double[]) value, writer);
+		} else if (elementManifest == char.class) {
+			//TODO? char[] !?
+			StringConverter.serialize(new String((char[]) value), writer);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
 	private static final byte[] NULL = new byte[]{'n', 'u', 'l', 'l'};
+	private static final int STREAM_WRITER_BUFFER = 16 * 1024;
+
+	/**
+	 * Create writer bound to the provided stream.
+	 * Buffer is written to the stream whenever it fills up, so memory usage doesn't depend on the size of the document.
+	 * Since output is written out during serialization, failure after the buffer was written
+	 * (eg. collection element which requires fallback serialization) leaves a partial document in the stream.
+	 * For all or nothing output use serialize(Object, OutputStream).
+	 * Call flush() on the writer once the document is serialized.
+	 *
+	 * @param stream output
+	 * @return writer bound to the stream
+	 */
+	public JsonWriter newWriter(final OutputStream stream) {
+		return new JsonWriter(STREAM_WRITER_BUFFER, stream);
+	}
 
+	/**
+	 * Serialize object into the stream. Document is serialized into memory and written with a single write
+	 * (or by the fallback), so nothing is written to the stream when serialization fails.
+	 * Stream is not flushed.
+	 *
+	 * @param value  object to serialize
+	 * @param stream output
+	 * @throws IOException unable to serialize the object or write to the stream
+	 */
 	public final void serialize(final Object value, final OutputStream stream) throws IOException {
 		if (value == null) {
 			stream.write(NULL);
 			return;
 		}
-		final JsonWriter jw = new JsonWriter();
-		final Class<?> manifest = value.getClass();
-		if (!serialize(jw, manifest, value)) {
-			if (fallback == null) {
-				throw new IOException("Unable to serialize provided object. Failed to find serializer for: " + manifest);
+		final JsonWriter jw = borrowWriter();
+		try {
+			final Class<?> manifest = value.getClass();
+			if (!serialize(jw, manifest, value)) {
+				if (fallback == null) {
+					throw new IOException("Unable to serialize provided object. Failed to find serializer for: " + manifest);
+				}
+				fallback.serialize(value, stream);
+			} else {
+				jw.toStream(stream);
 			}
-			fallback.serialize(value, stream);
-		} else {
-			jw.toStream(stream);
+		} finally {
+			releaseWriter(jw);
 		}
 	}
 
@@ -1229,4 +2314,155 @@ public class DslJson<TContext> {
 			writer.writeAscii(stream.toByteArray());
 		}
 	}
+
+	/**
+	 * Serialize list in parallel. Elements are serialized with the registered writers.
+	 *
+	 * @param writer   output
+	 * @param list     elements (use Arrays.asList for arrays)
+	 * @param executor executor for processing element ranges
+	 * @throws IOException unable to serialize some element
+	 * @see #serialize(JsonWriter, List, JsonWriter.WriteObject, ExecutorService)
+	 */
+	@SuppressWarnings("unchecked")
+	public void serialize(final JsonWriter writer, final List<?> list, final ExecutorService executor) throws IOException {
+		serialize(writer, (List<Object>) list, new JsonWriter.WriteObject<Object>() {
+			@Override
+			public void write(final JsonWriter chunk, final Object value) {
+				try {
+					serialize(chunk, value);
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+		}, executor);
+	}
+
+	/**
+	 * Serialize list in parallel.
+	 * List is split into ranges of elements which are serialized into separate pooled writers on the executor.
+	 * Resulting chunks are copied to the output in order, as soon as they are done.
+	 * Small lists are processed on the calling thread.
+	 *
+	 * @param writer        output
+	 * @param list          elements (use Arrays.asList for arrays)
+	 * @param elementWriter writer for non null elements
+	 * @param executor      executor for processing element ranges
+	 * @param <T>           element type
+	 * @throws IOException unable to serialize some element
+	 */
+	public <T> void serialize(
+			final JsonWriter writer,
+			final List<T> list,
+			final JsonWriter.WriteObject<T> elementWriter,
+			final ExecutorService executor) throws IOException {
+		if (executor == null) {
+			throw new NullPointerException("executor provided as null.");
+		}
+		if (list == null) {
+			writer.writeNull();
+			return;
+		}
+		final int count = list.size();
+		final int chunk = Math.max(MIN_PARALLEL_CHUNK, count / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+		try {
+			if (count <= chunk) {
+				writer.serialize(list, elementWriter);
+				return;
+			}
+			final List<Future<JsonWriter>> futures = new ArrayList<Future<JsonWriter>>(count / chunk + 1);
+			final AtomicBoolean aborted = new AtomicBoolean();
+			int consumed = 0;
+			try {
+				for (int i = 0; i < count; i += chunk) {
+					final int from = i;
+					final int to = Math.min(count, i + chunk);
+					futures.add(executor.submit(new Callable<JsonWriter>() {
+						@Override
+						public JsonWriter call() {
+							if (aborted.get()) {
+								return null;
+							}
+							final JsonWriter chunkWriter = borrowWriter();
+							boolean success = false;
+							try {
+								serializeElements(chunkWriter, list, from, to, elementWriter);
+								success = true;
+								return chunkWriter;
+							} finally {
+								if (!success) {
+									releaseWriter(chunkWriter);
+								}
+							}
+						}
+					}));
+				}
+				writer.writeByte(JsonWriter.ARRAY_START);
+				while (consumed < futures.size()) {
+					final JsonWriter chunkWriter = futures.get(consumed).get();
+					consumed++;
+					try {
+						if (consumed > 1) {
+							writer.writeByte(JsonWriter.COMMA);
+						}
+						writer.writeRaw(chunkWriter.getByteBuffer(), chunkWriter.size());
+					} finally {
+						releaseWriter(chunkWriter);
+					}
+				}
+				writer.writeByte(JsonWriter.ARRAY_END);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while serializing list", ex);
+			} catch (ExecutionException ex) {
+				final Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+				if (cause instanceof Error) throw (Error) cause;
+				throw new IOException(cause);
+			} finally {
+				aborted.set(true);
+				releaseRemaining(futures, consumed);
+			}
+		} catch (RuntimeException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	//chunks which were not started are skipped, running ones are awaited so their writers can be returned to the pool
+	private void releaseRemaining(final List<Future<JsonWriter>> futures, final int consumed) {
+		for (int i = consumed; i < futures.size(); i++) {
+			try {
+				final JsonWriter chunkWriter = futures.get(i).get();
+				if (chunkWriter != null) {
+					releaseWriter(chunkWriter);
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException ignore) {
+			}
+		}
+	}
+
+	private static <T> void serializeElements(
+			final JsonWriter writer,
+			final List<T> list,
+			final int from,
+			final int to,
+			final JsonWriter.WriteObject<T> elementWriter) {
+		for (int i = from; i < to; i++) {
+			if (i > from) {
+				writer.writeByte(JsonWriter.COMMA);
+			}
+			final T item = list.get(i);
+			if (item != null) {
+				elementWriter.write(writer, item);
+			} else {
+				writer.writeNull();
+			}
+		}
+	}
 }
@@ -0,0 +1,117 @@
+package com.dslplatform.json;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded conversion of decimal mantissa and exponent into a double.
+ * Based on Eisel-Lemire algorithm from Daniel Lemire: Number Parsing at a Gigabyte per Second
+ * (https://arxiv.org/abs/2101.11408) which works only with 64 bit multiplications.
+ * When result can't be determined (ambiguous rounding or subnormal result)
+ * NaN is returned and caller must resort to a slower path.
+ */
+final class EiselLemire {
+
+	static final int MIN_POWER = -342;
+	static final int MAX_POWER = 308;
+
+	private static final double[] EXACT_POW_10 = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	//128 bit approximations of 5^q normalized to the most significant bit, split into higher and lower 64 bits
+	private static final long[] POW_5_HIGH = new long[MAX_POWER - MIN_POWER + 1];
+	private static final long[] POW_5_LOW = new long[MAX_POWER - MIN_POWER + 1];
+
+	static {
+		final BigInteger max = BigInteger.ONE.shiftLeft(128);
+		for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+			BigInteger c;
+			if (q < 0) {
+				final BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+				final int z = power5.bitLength();
+				final int b = q >= -27 ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+				while (c.compareTo(max) >= 0) {
+					c = c.shiftRight(1);
+				}
+			} else {
+				c = BigInteger.valueOf(5).pow(q);
+				final int bits = c.bitLength();
+				c = bits < 128 ? c.shiftLeft(128 - bits) : c.shiftRight(bits - 128);
+			}
+			POW_5_HIGH[q - MIN_POWER] = c.shiftRight(64).longValue();
+			POW_5_LOW[q - MIN_POWER] = c.longValue();
+		}
+	}
+
+	private static long unsignedMultiplyHigh(final long x, final long y) {
+		return Schubfach.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+
+	private static boolean unsignedLess(final long x, final long y) {
+		return (x ^ Long.MIN_VALUE) < (y ^ Long.MIN_VALUE);
+	}
+
+	/**
+	 * Converts mantissa * 10^power into a double.
+	 * Mantissa is interpreted as unsigned 64 bit value.
+	 *
+	 * @param mantissa decimal digits
+	 * @param power    decimal exponent
+	 * @param negative sign of the result
+	 * @return correctly rounded double or NaN if result could not be determined
+	 */
+	static double toDouble(final long mantissa, final int power, final boolean negative) {
+		if (mantissa == 0 || power < MIN_POWER) {
+			return negative ? -0.0 : 0.0;
+		}
+		if (power > MAX_POWER) {
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		}
+		if (power >= -22 && power <= 22 && mantissa > 0 && mantissa <= 9007199254740992L) {
+			final double d = power < 0 ? mantissa / EXACT_POW_10[-power] : mantissa * EXACT_POW_10[power];
+			return negative ? -d : d;
+		}
+		final long factor = POW_5_HIGH[power - MIN_POWER];
+		final long exponent = (((152170 + 65536) * power) >> 16) + 1024 + 63;
+		int lz = Long.numberOfLeadingZeros(mantissa);
+		final long i = mantissa << lz;
+		long lower = i * factor;
+		long upper = unsignedMultiplyHigh(i, factor);
+		if ((upper & 0x1FF) == 0x1FF && unsignedLess(lower + i, lower)) {
+			final long factorLow = POW_5_LOW[power - MIN_POWER];
+			final long productLow = i * factorLow;
+			final long productMiddle = lower + unsignedMultiplyHigh(i, factorLow);
+			if (unsignedLess(productMiddle, lower)) {
+				upper++;
+			}
+			if (productMiddle + 1 == 0 && (upper & 0x1FF) == 0x1FF && unsignedLess(productLow + i, productLow)) {
+				return Double.NaN;
+			}
+			lower = productMiddle;
+		}
+		final int upperBit = (int) (upper >>> 63);
+		long result = upper >>> (upperBit + 9);
+		lz += 1 ^ upperBit;
+		if (lower == 0 && (upper & 0x1FF) == 0 && (result & 3) == 1) {
+			return Double.NaN;
+		}
+		result += result & 1;
+		result >>>= 1;
+		if (result >= (1L << 53)) {
+			result = 1L << 52;
+			lz--;
+		}
+		result &= ~(1L << 52);
+		final long realExponent = exponent - lz;
+		if (realExponent < 1 || realExponent > 2046) {
+			return Double.NaN;
+		}
+		result |= realExponent << 52;
+		if (negative) {
+			result |= Long.MIN_VALUE;
+		}
+		return Double.longBitsToDouble(result);
+	}
+}
@@ -0,0 +1,118 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of int values which doesn't box its elements.
+ * Can be used instead of List&lt;Integer&gt; for large numeric collections,
+ * both as a deserialization target and as a property type in CompiledJson classes.
+ * Null elements are not supported.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+	private int[] values;
+	private int size;
+
+	public IntList() {
+		this(10);
+	}
+
+	public IntList(final int capacity) {
+		values = new int[capacity];
+	}
+
+	public IntList(final int[] values) {
+		this.values = values.clone();
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length < 4 ? 8 : values.length + (values.length >> 1)));
+		}
+	}
+
+	public int getInt(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	public int setInt(final int index, final int value) {
+		checkIndex(index);
+		final int old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	public void addInt(final int value) {
+		if (size == values.length) {
+			ensureCapacity(size + 1);
+		}
+		values[size++] = value;
+		modCount++;
+	}
+
+	/**
+	 * @return copy of the elements
+	 */
+	public int[] toIntArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Integer get(final int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public Integer set(final int index, final Integer value) {
+		return setInt(index, value);
+	}
+
+	@Override
+	public boolean add(final Integer value) {
+		addInt(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Integer value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final int primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Integer remove(final int index) {
+		checkIndex(index);
+		final int old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+}
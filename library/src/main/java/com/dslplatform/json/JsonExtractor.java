@@ -0,0 +1,210 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extraction of multiple values referenced by JSON Pointers in a single pass over the input.
+ * Pointers are merged into a tree, so common prefixes are processed once,
+ * while values which are not on any of the paths are skipped.
+ * For duplicate keys the last occurrence is used (as with deserialization into a Map and JsonPointer.navigate),
+ * so the whole input is processed even when all values were already found.
+ * <p>
+ * Extractor is thread safe. Create it with DslJson.newExtractor.
+ */
+public final class JsonExtractor {
+
+	private static final class Node {
+		int id;
+		int slot = -1;
+		JsonReader.ReadObject<?> reader;
+		final List<Node> children = new ArrayList<Node>();
+		final List<String> segments = new ArrayList<String>();
+		final List<byte[]> segmentNames = new ArrayList<byte[]>();
+		final List<Integer> segmentIndexes = new ArrayList<Integer>();
+		byte[][] names;
+		String[] values;
+		int[] indexes;
+		boolean hasIndexes;
+
+		Node child(final JsonPointer pointer, final int i) {
+			final int found = segments.indexOf(pointer.segments[i]);
+			if (found != -1) {
+				return children.get(found);
+			}
+			final Node child = new Node();
+			segments.add(pointer.segments[i]);
+			segmentNames.add(pointer.names[i]);
+			segmentIndexes.add(pointer.indexes[i]);
+			children.add(child);
+			return child;
+		}
+
+		int compile(final int id) {
+			this.id = id;
+			names = segmentNames.toArray(new byte[segmentNames.size()][]);
+			values = segments.toArray(new String[segments.size()]);
+			indexes = new int[segmentIndexes.size()];
+			for (int i = 0; i < indexes.length; i++) {
+				indexes[i] = segmentIndexes.get(i);
+				hasIndexes = hasIndexes || indexes[i] != -1;
+			}
+			int next = id + 1;
+			for (final Node child : children) {
+				next = child.compile(next);
+			}
+			return next;
+		}
+
+		int childAt(final int index) {
+			for (int i = 0; i < indexes.length; i++) {
+				if (indexes[i] == index) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	private final DslJson json;
+	private final JsonPointer[] pointers;
+	private final Node root = new Node();
+	private final int nodes;
+
+	JsonExtractor(final DslJson json, final JsonPointer[] pointers, final JsonReader.ReadObject<?>[] readers) {
+		this.json = json;
+		this.pointers = pointers.clone();
+		for (int i = 0; i < pointers.length; i++) {
+			Node node = root;
+			for (int j = 0; j < pointers[i].segments.length; j++) {
+				node = node.child(pointers[i], j);
+			}
+			if (node.slot != -1) {
+				throw new IllegalArgumentException("Duplicate JSON Pointer: " + pointers[i]);
+			}
+			node.slot = i;
+			node.reader = readers[i];
+		}
+		nodes = root.compile(0);
+	}
+
+	/**
+	 * @return pointers in the order of extracted values
+	 */
+	public JsonPointer[] getPointers() {
+		return pointers.clone();
+	}
+
+	/**
+	 * Extract values referenced by the pointers.
+	 * Result contains values in the order of pointers.
+	 * Missing values are returned as null.
+	 *
+	 * @param body input JSON
+	 * @param size size of the input
+	 * @return extracted values
+	 * @throws IOException invalid JSON
+	 */
+	@SuppressWarnings("unchecked")
+	public Object[] extract(final byte[] body, final int size) throws IOException {
+		final Object[] result = new Object[pointers.length];
+		final boolean[] visited = new boolean[nodes];
+		final JsonReader reader = json.borrowReader(body, size);
+		try {
+			if (pointers.length > 0) {
+				reader.getNextToken();
+				walk(root, reader, result, visited, true);
+			}
+		} finally {
+			json.releaseReader(reader);
+		}
+		return result;
+	}
+
+	private static Object read(final Node node, final JsonReader reader) throws IOException {
+		if (reader.wasNull()) {
+			return null;
+		}
+		return node.reader.read(reader);
+	}
+
+	private static byte after(final JsonReader reader, final boolean top) throws IOException {
+		return top ? 0 : reader.getNextToken();
+	}
+
+	private static void clear(final Node node, final Object[] result) {
+		if (node.slot != -1) {
+			result[node.slot] = null;
+		}
+		for (final Node child : node.children) {
+			clear(child, result);
+		}
+	}
+
+	/**
+	 * Process value on which the reader is positioned.
+	 * Top level value is not followed by a token.
+	 * When key is repeated, values found in its previous occurrence are discarded.
+	 *
+	 * @return token after the value or 0 when top level value was processed
+	 */
+	private static byte walk(
+			final Node node,
+			final JsonReader reader,
+			final Object[] result,
+			final boolean[] visited,
+			final boolean top) throws IOException {
+		if (visited[node.id]) {
+			clear(node, result);
+		} else {
+			visited[node.id] = true;
+		}
+		if (node.slot != -1) {
+			if (node.children.isEmpty()) {
+				result[node.slot] = read(node, reader);
+				return after(reader, top);
+			}
+			final int start = reader.getCurrentIndex() - 1;
+			result[node.slot] = read(node, reader);
+			reader.positionAt(start);
+		}
+		if (reader.last() == '{' && !node.children.isEmpty()) {
+			byte nextToken = reader.getNextToken();
+			if (nextToken == '}') {
+				return after(reader, top);
+			}
+			while (true) {
+				final int found = reader.matchName(node.names, node.values);
+				reader.getNextToken();
+				nextToken = found == -1 ? reader.skip() : walk(node.children.get(found), reader, result, visited, false);
+				if (nextToken == ',') {
+					reader.getNextToken();
+				} else if (nextToken == '}') {
+					return after(reader, top);
+				} else {
+					throw new IOException("Expecting ',' or '}' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+				}
+			}
+		} else if (reader.last() == '[' && node.hasIndexes) {
+			byte nextToken = reader.getNextToken();
+			if (nextToken == ']') {
+				return after(reader, top);
+			}
+			int index = 0;
+			while (true) {
+				final int found = node.childAt(index);
+				nextToken = found == -1 ? reader.skip() : walk(node.children.get(found), reader, result, visited, false);
+				if (nextToken == ',') {
+					reader.getNextToken();
+					index++;
+				} else if (nextToken == ']') {
+					return after(reader, top);
+				} else {
+					throw new IOException("Expecting ',' or ']' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+				}
+			}
+		}
+		return top ? 0 : reader.skip();
+	}
+}
@@ -0,0 +1,289 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Push based parser for non blocking I/O.
+ * Input is fed in chunks as it arrives (eg. from NIO/Netty event loop) and values become available
+ * as soon as they are complete. Value boundaries are tracked by an incremental scanner whose state
+ * is kept across chunks, while complete values are processed with the regular readers.
+ * Only incomplete value is kept in memory.
+ * <p>
+ * Parser works either on a sequence of whitespace separated values (single value or NDJSON)
+ * or on elements of a top level JSON array.
+ * <p>
+ * Parser is not thread safe. Create it with DslJson.newFeedParser or DslJson.newArrayFeedParser.
+ * Once invalid input is detected parser can't be used anymore and all subsequent feed calls will fail.
+ *
+ * @param <T> value type
+ */
+public final class JsonFeedParser<T> {
+
+	private static final int EXPECT_ARRAY = 0;
+	private static final int EXPECT_FIRST = 1;
+	private static final int EXPECT_VALUE = 2;
+	private static final int IN_VALUE = 3;
+	private static final int AFTER_VALUE = 4;
+	private static final int DONE = 5;
+
+	private final boolean arrayElements;
+	private final JsonReader.ReadJsonObject<JsonObject> objectReader;
+	private final JsonReader.ReadObject<T> reader;
+	private final JsonReader json;
+	private final ArrayDeque<Object> values = new ArrayDeque<Object>();
+
+	private byte[] buffer = new byte[256];
+	private int length;
+	private int scanned;
+	private int start;
+	private long consumed;
+
+	private int state;
+	private int depth;
+	private boolean scalar;
+	private boolean inString;
+	private boolean escape;
+	private boolean failed;
+
+	private static final Object NULL = new Object();
+
+	JsonFeedParser(
+			final JsonReader json,
+			final JsonReader.ReadJsonObject<JsonObject> objectReader,
+			final JsonReader.ReadObject<T> reader,
+			final boolean arrayElements) {
+		this.json = json;
+		this.objectReader = objectReader;
+		this.reader = reader;
+		this.arrayElements = arrayElements;
+		this.state = arrayElements ? EXPECT_ARRAY : EXPECT_VALUE;
+	}
+
+	/**
+	 * Process next chunk of input. Complete values can be taken with next().
+	 *
+	 * @param chunk  input
+	 * @param offset start of the input in chunk
+	 * @param len    size of the input
+	 * @throws IOException invalid JSON
+	 */
+	public void feed(final byte[] chunk, final int offset, final int len) throws IOException {
+		checkFailed();
+		ensureCapacity(len);
+		System.arraycopy(chunk, offset, buffer, length, len);
+		length += len;
+		failed = true;
+		scan();
+		failed = false;
+	}
+
+	/**
+	 * Process remaining content of the chunk. Position of the chunk is moved to its limit.
+	 *
+	 * @param chunk input
+	 * @throws IOException invalid JSON
+	 */
+	public void feed(final ByteBuffer chunk) throws IOException {
+		checkFailed();
+		final int len = chunk.remaining();
+		ensureCapacity(len);
+		chunk.get(buffer, length, len);
+		length += len;
+		failed = true;
+		scan();
+		failed = false;
+	}
+
+	/**
+	 * Signal end of input. Value which is terminated only by the end of input (eg. top level number) is processed.
+	 *
+	 * @throws IOException input ended in the middle of a value
+	 */
+	public void endOfInput() throws IOException {
+		checkFailed();
+		failed = true;
+		if (state == IN_VALUE && scalar && !arrayElements) {
+			complete(length);
+			state = EXPECT_VALUE;
+		}
+		if (state == IN_VALUE || arrayElements && state != DONE) {
+			throw new IOException("Unexpected end of JSON input at position " + (consumed + length));
+		}
+		failed = false;
+	}
+
+	/**
+	 * @return is there a complete value available
+	 */
+	public boolean hasNext() {
+		return !values.isEmpty();
+	}
+
+	/**
+	 * Take next complete value.
+	 *
+	 * @return value
+	 */
+	@SuppressWarnings("unchecked")
+	public T next() {
+		final Object value = values.poll();
+		if (value == null) {
+			throw new NoSuchElementException();
+		}
+		return value == NULL ? null : (T) value;
+	}
+
+	/**
+	 * @return was the end of top level array reached (when processing array elements)
+	 */
+	public boolean isDone() {
+		return state == DONE;
+	}
+
+	private void checkFailed() throws IOException {
+		if (failed) {
+			throw new IOException("Unable to continue parsing after invalid JSON input");
+		}
+	}
+
+	private void ensureCapacity(final int len) {
+		if (length + len + 1 > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + len + 1));
+		}
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+	private void scan() throws IOException {
+		final byte[] buf = buffer;
+		int i = scanned;
+		while (i < length) {
+			final byte b = buf[i];
+			switch (state) {
+				case IN_VALUE:
+					if (inString) {
+						if (escape) {
+							escape = false;
+						} else if (b == '\\') {
+							escape = true;
+						} else if (b == '"') {
+							inString = false;
+							if (depth == 0) {
+								complete(i + 1);
+							}
+						}
+					} else if (scalar) {
+						if (isWhitespace(b) || b == ',' || b == ']' || b == '}') {
+							complete(i);
+							continue;
+						}
+					} else if (b == '"') {
+						inString = true;
+					} else if (b == '{' || b == '[') {
+						depth++;
+					} else if (b == '}' || b == ']') {
+						if (--depth == 0) {
+							complete(i + 1);
+						}
+					}
+					break;
+				case EXPECT_ARRAY:
+					if (b == '[') {
+						state = EXPECT_FIRST;
+					} else if (!isWhitespace(b)) {
+						throw unexpected("'['", i, b);
+					}
+					break;
+				case EXPECT_FIRST:
+				case EXPECT_VALUE:
+					if (b == ']' && state == EXPECT_FIRST) {
+						state = DONE;
+					} else if (!isWhitespace(b)) {
+						begin(i, b);
+					}
+					break;
+				case AFTER_VALUE:
+					if (b == ',') {
+						state = EXPECT_VALUE;
+					} else if (b == ']') {
+						state = DONE;
+					} else if (!isWhitespace(b)) {
+						throw unexpected("',' or ']'", i, b);
+					}
+					break;
+				default:
+					if (!isWhitespace(b)) {
+						throw unexpected("end of input", i, b);
+					}
+			}
+			i++;
+		}
+		scanned = i;
+		discardProcessed();
+	}
+
+	private IOException unexpected(final String expecting, final int index, final byte b) {
+		return new IOException("Expecting " + expecting + " at position " + (consumed + index) + ". Found " + (char) b);
+	}
+
+	private void begin(final int index, final byte b) throws IOException {
+		if (b == ',' || b == ']' || b == '}' || b == ':') {
+			throw unexpected("value", index, b);
+		}
+		start = index;
+		state = IN_VALUE;
+		depth = b == '{' || b == '[' ? 1 : 0;
+		inString = b == '"';
+		escape = false;
+		scalar = depth == 0 && !inString;
+	}
+
+	private void complete(final int end) throws IOException {
+		state = arrayElements ? AFTER_VALUE : EXPECT_VALUE;
+		final byte terminator = buffer[end];
+		try {
+			json.process(buffer, end);
+			json.positionAt(start);
+			final Object value;
+			if (json.wasNull()) {
+				value = NULL;
+			} else if (objectReader != null) {
+				if (json.last() != '{') {
+					throw new IOException("Expecting '{' at position " + (consumed + start) + ". Found " + (char) json.last());
+				}
+				json.getNextToken();
+				value = objectReader.deserialize(json);
+			} else {
+				final T instance = reader.read(json);
+				value = instance == null ? NULL : instance;
+			}
+			for (int i = json.getCurrentIndex(); i < end; i++) {
+				if (!isWhitespace(buffer[i])) {
+					throw unexpected("end of value", i, buffer[i]);
+				}
+			}
+			values.add(value);
+		} finally {
+			buffer[end] = terminator;
+		}
+		start = end;
+	}
+
+	private void discardProcessed() {
+		final int keep = state == IN_VALUE ? start : length;
+		if (keep == 0) {
+			return;
+		}
+		System.arraycopy(buffer, keep, buffer, 0, length - keep);
+		consumed += keep;
+		length -= keep;
+		scanned -= keep;
+		start -= keep;
+	}
+}
@@ -0,0 +1,172 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled JSON Pointer (RFC 6901), eg. /meta/tenantId or /items/0/price.
+ * Pointer is used for navigating to a value without deserializing the rest of the document.
+ * Values which are not on the path are skipped without allocation.
+ * <p>
+ * Single value can be extracted with DslJson.extract, while multiple values
+ * can be extracted in a single pass with JsonExtractor (DslJson.newExtractor).
+ */
+public final class JsonPointer {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final String pointer;
+	final String[] segments;
+	final byte[][] names;
+	final int[] indexes;
+	private final byte[][][] nameMatches;
+	private final String[][] segmentMatches;
+
+	private JsonPointer(final String pointer, final List<String> segments) {
+		this.pointer = pointer;
+		this.segments = segments.toArray(new String[segments.size()]);
+		this.names = new byte[this.segments.length][];
+		this.indexes = new int[this.segments.length];
+		this.nameMatches = new byte[this.segments.length][][];
+		this.segmentMatches = new String[this.segments.length][];
+		for (int i = 0; i < this.segments.length; i++) {
+			names[i] = this.segments[i].getBytes(UTF_8);
+			indexes[i] = parseIndex(this.segments[i]);
+			nameMatches[i] = new byte[][]{names[i]};
+			segmentMatches[i] = new String[]{this.segments[i]};
+		}
+	}
+
+	private static int parseIndex(final String segment) {
+		if (segment.length() == 0 || segment.length() > 9 || segment.length() > 1 && segment.charAt(0) == '0') {
+			return -1;
+		}
+		int value = 0;
+		for (int i = 0; i < segment.length(); i++) {
+			final char c = segment.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + c - '0';
+		}
+		return value;
+	}
+
+	/**
+	 * Parse pointer in the RFC 6901 format.
+	 * Empty string refers to the whole document.
+	 * ~1 is used for / and ~0 for ~ in property names.
+	 *
+	 * @param pointer JSON Pointer
+	 * @return compiled pointer
+	 */
+	public static JsonPointer compile(final String pointer) {
+		if (pointer == null) {
+			throw new NullPointerException("pointer provided as null.");
+		}
+		final List<String> segments = new ArrayList<String>();
+		if (pointer.length() > 0) {
+			if (pointer.charAt(0) != '/') {
+				throw new IllegalArgumentException("JSON Pointer must start with '/'. Found: " + pointer);
+			}
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 1; i <= pointer.length(); i++) {
+				final char c = i == pointer.length() ? '/' : pointer.charAt(i);
+				if (c == '/') {
+					segments.add(sb.toString());
+					sb.setLength(0);
+				} else if (c == '~') {
+					final char next = i + 1 < pointer.length() ? pointer.charAt(++i) : ' ';
+					if (next == '0') {
+						sb.append('~');
+					} else if (next == '1') {
+						sb.append('/');
+					} else {
+						throw new IllegalArgumentException("Invalid escape sequence in JSON Pointer: " + pointer);
+					}
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return new JsonPointer(pointer, segments);
+	}
+
+	/**
+	 * Navigate from the current value to the value referenced by the pointer.
+	 * Reader must be positioned on the start of a value (eg. after getNextToken on a new reader).
+	 * When value is found, reader is positioned on its start so it can be processed with a ReadObject.
+	 * When value doesn't exist, position of the reader is undefined.
+	 * For duplicate keys the last occurrence is used (as with deserialization into a Map),
+	 * so all keys of the objects on the path are processed.
+	 *
+	 * @param reader input
+	 * @return is the value found
+	 * @throws IOException invalid JSON
+	 */
+	public boolean navigate(final JsonReader reader) throws IOException {
+		for (int i = 0; i < segments.length; i++) {
+			if (reader.last() == '{') {
+				byte nextToken = reader.getNextToken();
+				if (nextToken == '}') {
+					return false;
+				}
+				int found = -1;
+				while (true) {
+					final boolean matches = reader.matchName(nameMatches[i], segmentMatches[i]) == 0;
+					reader.getNextToken();
+					if (matches) {
+						found = reader.getCurrentIndex() - 1;
+					}
+					nextToken = reader.skip();
+					if (nextToken == ',') {
+						reader.getNextToken();
+					} else if (nextToken == '}') {
+						break;
+					} else {
+						throw new IOException("Expecting ',' or '}' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+					}
+				}
+				if (found == -1) {
+					return false;
+				}
+				reader.positionAt(found);
+			} else if (reader.last() == '[' && indexes[i] >= 0) {
+				byte nextToken = reader.getNextToken();
+				if (nextToken == ']') {
+					return false;
+				}
+				for (int j = 0; j < indexes[i]; j++) {
+					nextToken = reader.skip();
+					if (nextToken == ',') {
+						reader.getNextToken();
+					} else if (nextToken == ']') {
+						return false;
+					} else {
+						throw new IOException("Expecting ',' or ']' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+					}
+				}
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof JsonPointer && ((JsonPointer) other).pointer.equals(pointer);
+	}
+
+	@Override
+	public int hashCode() {
+		return pointer.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return pointer;
+	}
+}
@@ -1,6 +1,8 @@
 package com.dslplatform.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,6 +25,26 @@ public class JsonReader<TContext> {
 		WHITESPACE[-29 + 128] = true;
 	}
 
+	//long reads from heap ByteBuffer are intrinsified only since Java 9 (detected by VarHandle presence).
+	//On older JVMs and Android they are assembled byte by byte which is slower than the scalar loop
+	private static final boolean WORD_SCAN;
+
+	static {
+		boolean wordScan;
+		try {
+			Class.forName("java.lang.invoke.VarHandle");
+			wordScan = true;
+		} catch (Throwable ignore) {
+			wordScan = false;
+		}
+		WORD_SCAN = wordScan;
+	}
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	private static final long QUOTES = 0x2222222222222222L;
+	private static final long BACKSLASHES = 0x5C5C5C5C5C5C5C5CL;
+
 	private int tokenStart;
 	protected int currentIndex = 0;
 	private long currentPosition = 0;
@@ -32,16 +54,37 @@ public class JsonReader<TContext> {
 	private final char[] tmp;
 
 	public final TContext context;
-	protected final byte[] buffer;
+	protected byte[] buffer;
 
 	protected char[] chars;
 
+	private ByteBuffer words;
+
+	private final StringSlice slice = new StringSlice();
+	private byte[] unescaped;
+
+	private final StringCache keyCache;
+	private final StringCache valuesCache;
+	private int nameHash;
+
 	protected JsonReader(final char[] tmp, final byte[] buffer, final int length, final TContext context) {
+		this(tmp, buffer, length, context, null, null);
+	}
+
+	protected JsonReader(
+			final char[] tmp,
+			final byte[] buffer,
+			final int length,
+			final TContext context,
+			final StringCache keyCache,
+			final StringCache valuesCache) {
 		this.tmp = tmp;
 		this.buffer = buffer;
 		this.length = length;
 		this.context = context;
 		this.chars = tmp;
+		this.keyCache = keyCache;
+		this.valuesCache = valuesCache;
 	}
 
 	public JsonReader(final byte[] buffer, final TContext context) {
@@ -60,7 +103,28 @@ public class JsonReader<TContext> {
 	}
 
 	public JsonReader(final byte[] buffer, final int length, final TContext context, final char[] tmp) throws IOException {
-		this(tmp, buffer, length, context);
+		this(buffer, length, context, tmp, null, null);
+	}
+
+	/**
+	 * Reader which will return canonical instances for short ASCII strings.
+	 *
+	 * @param buffer      input
+	 * @param length      length of the input
+	 * @param context     custom context
+	 * @param tmp         temporary buffer
+	 * @param keyCache    cache for object keys (getLastName and readKey), can be null
+	 * @param valuesCache cache for short string values (readString), can be null
+	 * @throws IOException length is invalid
+	 */
+	public JsonReader(
+			final byte[] buffer,
+			final int length,
+			final TContext context,
+			final char[] tmp,
+			final StringCache keyCache,
+			final StringCache valuesCache) throws IOException {
+		this(tmp, buffer, length, context, keyCache, valuesCache);
 		if (tmp == null) {
 			throw new NullPointerException("tmp buffer provided as null.");
 		}
@@ -81,6 +145,54 @@ public class JsonReader<TContext> {
 		this.length = newLength;
 	}
 
+	private static final byte[] EMPTY = new byte[0];
+
+	/**
+	 * Start processing new input with this instance (used by DslJson reader pool).
+	 *
+	 * @param newBuffer input
+	 * @param newLength length of the input
+	 * @return this reader positioned at the start of the input
+	 * @throws IOException length is invalid
+	 */
+	final JsonReader<TContext> process(final byte[] newBuffer, final int newLength) throws IOException {
+		if (newLength > newBuffer.length) {
+			throw new IOException("length can't be longer than buffer.length");
+		} else if (newLength < newBuffer.length) {
+			newBuffer[newLength] = '\0';
+		}
+		if (newBuffer != buffer) {
+			buffer = newBuffer;
+			words = null;
+		}
+		length = newLength;
+		currentIndex = 0;
+		currentPosition = 0;
+		tokenStart = 0;
+		last = ' ';
+		return this;
+	}
+
+	/**
+	 * Drop references to the processed input and trim buffers which grew over the limit,
+	 * so that pooled reader doesn't retain large amounts of memory.
+	 *
+	 * @param maxSize maximum size of temporary buffers to keep
+	 */
+	final void release(final int maxSize) {
+		buffer = EMPTY;
+		words = null;
+		length = 0;
+		currentIndex = 0;
+		slice.set(EMPTY, 0, 0, true);
+		if (chars.length > maxSize) {
+			chars = tmp;
+		}
+		if (unescaped != null && unescaped.length > maxSize) {
+			unescaped = null;
+		}
+	}
+
 	private final static Charset UTF_8 = Charset.forName("UTF-8");
 
 	@Override
@@ -127,6 +239,33 @@ public class JsonReader<TContext> {
 		return tmp;
 	}
 
+	/**
+	 * Parsers which work directly on the buffer require the whole token to be available.
+	 * Token which ends at the end of the loaded input might continue in the rest of the stream.
+	 *
+	 * @param end position after the last token byte
+	 * @return token might continue after the end position
+	 */
+	boolean isTruncated(final int end) {
+		return false;
+	}
+
+	/**
+	 * Stream reader can move the current token to the start of the buffer and load more input after it.
+	 *
+	 * @return more input was loaded after the current token
+	 * @throws IOException unable to read from the underlying stream
+	 */
+	boolean loadMore() throws IOException {
+		return false;
+	}
+
+	final void endNumber(final int start, final int end) {
+		tokenStart = start;
+		currentIndex = end;
+		last = buffer[end < length ? end : end - 1];
+	}
+
 	public final String readSimpleString() throws IOException {
 		if (last != '"')
 			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) last);
@@ -183,7 +322,7 @@ public class JsonReader<TContext> {
 				bb = buffer[ci++];
 				if (bb == '"') {
 					currentIndex = ci;
-					return new String(tmp, 0, i);
+					return valuesCache == null ? new String(tmp, 0, i) : valuesCache.get(buffer, startIndex, i);
 				}
 				// If we encounter a backslash, which is a beginning of an escape sequence
 				// or a high bit was set - indicating an UTF-8 encoded multibyte character,
@@ -202,6 +341,12 @@ public class JsonReader<TContext> {
 		// If the buffer contains an ASCII string (no high bit set) without any escape codes "\n", "\t", etc...,
 		// there is no need to instantiate any temporary buffers, we just decode the original buffer directly
 		// via ISO-8859-1 encoding since it is the fastest encoding which is guaranteed to retain all ASCII characters
+		if (WORD_SCAN && (bb ^ '\\') >= 1) {
+			if (words == null) {
+				words = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+			}
+			ci = findSpecial(words, ci, length);
+		}
 		while (ci < buffer.length) {
 			// If we encounter a backslash, which is a beginning of an escape sequence
 			// or a high bit was set - indicating an UTF-8 encoded multibyte character,
@@ -300,6 +445,150 @@ public class JsonReader<TContext> {
 		throw new IOException("JSON string was not closed with a double quote!");
 	}
 
+	/**
+	 * Reads string without creating a String instance.
+	 * Returned slice points directly into the input buffer, unless string contains escapes,
+	 * in which case it's decoded into a separate reusable buffer.
+	 * Slice is reused by the reader and is valid only until the next read.
+	 *
+	 * @return view of the string as UTF-8 bytes
+	 * @throws IOException unable to find end of string
+	 */
+	public final StringSlice readSlice() throws IOException {
+		if (last != '"') {
+			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) last);
+		}
+		int ci = currentIndex;
+		boolean ascii = true;
+		boolean escaped = false;
+		while (true) {
+			if (ci >= length) {
+				if (loadMore()) {
+					ci = currentIndex;
+					ascii = true;
+					escaped = false;
+					continue;
+				}
+				throw new IOException("JSON string was not closed with a double quote at: " + positionInStream());
+			}
+			final byte bb = buffer[ci];
+			if (bb == '"') break;
+			if (bb == '\\') {
+				escaped = true;
+				ci++;
+			} else if (bb < 0) {
+				ascii = false;
+			}
+			ci++;
+		}
+		final int start = currentIndex;
+		tokenStart = start;
+		currentIndex = ci + 1;
+		if (!escaped) {
+			return slice.set(buffer, start, ci - start, ascii);
+		}
+		return unescape(start, ci);
+	}
+
+	private StringSlice unescape(int ci, final int end) throws IOException {
+		if (unescaped == null || unescaped.length < end - ci) {
+			unescaped = new byte[Math.max(end - ci, 64)];
+		}
+		final byte[] result = unescaped;
+		boolean ascii = true;
+		int pos = 0;
+		while (ci < end) {
+			final byte bb = buffer[ci++];
+			if (bb != '\\') {
+				result[pos++] = bb;
+				ascii = ascii && bb >= 0;
+				continue;
+			}
+			final byte esc = buffer[ci++];
+			switch (esc) {
+				case 'b':
+					result[pos++] = '\b';
+					break;
+				case 't':
+					result[pos++] = '\t';
+					break;
+				case 'n':
+					result[pos++] = '\n';
+					break;
+				case 'f':
+					result[pos++] = '\f';
+					break;
+				case 'r':
+					result[pos++] = '\r';
+					break;
+				case '"':
+				case '/':
+				case '\\':
+					result[pos++] = esc;
+					break;
+				case 'u':
+					if (ci + 4 > end) {
+						throw new IOException("Could not parse unicode escape at: " + positionInStream());
+					}
+					int cp = (hexToInt(buffer[ci]) << 12) + (hexToInt(buffer[ci + 1]) << 8)
+							+ (hexToInt(buffer[ci + 2]) << 4) + hexToInt(buffer[ci + 3]);
+					ci += 4;
+					if (cp < 0x80) {
+						result[pos++] = (byte) cp;
+						break;
+					}
+					ascii = false;
+					if (cp < 0x800) {
+						result[pos++] = (byte) (0xC0 | cp >> 6);
+						result[pos++] = (byte) (0x80 | cp & 0x3F);
+						break;
+					}
+					if (cp >= 0xD800 && cp < 0xDC00 && ci + 6 <= end && buffer[ci] == '\\' && buffer[ci + 1] == 'u') {
+						final int low = (hexToInt(buffer[ci + 2]) << 12) + (hexToInt(buffer[ci + 3]) << 8)
+								+ (hexToInt(buffer[ci + 4]) << 4) + hexToInt(buffer[ci + 5]);
+						if (low >= 0xDC00 && low < 0xE000) {
+							ci += 6;
+							cp = 0x10000 + ((cp - 0xD800) << 10) + (low - 0xDC00);
+							result[pos++] = (byte) (0xF0 | cp >> 18);
+							result[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+							result[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+							result[pos++] = (byte) (0x80 | cp & 0x3F);
+							break;
+						}
+					}
+					result[pos++] = (byte) (0xE0 | cp >> 12);
+					result[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+					result[pos++] = (byte) (0x80 | cp & 0x3F);
+					break;
+				default:
+					throw new IOException("Could not parse String, got invalid escape combination '\\" + (char) esc + "'");
+			}
+		}
+		return slice.set(result, 0, pos, ascii);
+	}
+
+	/**
+	 * Skips 8 bytes at a time while none of them is a quote, a backslash or a non ASCII byte.
+	 *
+	 * @param words little endian view of the buffer
+	 * @param ci    start position
+	 * @param end   end of valid input
+	 * @return position of the first special byte or position where less than 8 bytes remain
+	 */
+	static int findSpecial(final ByteBuffer words, int ci, final int end) {
+		while (ci + 8 <= end) {
+			final long word = words.getLong(ci);
+			final long quotes = word ^ QUOTES;
+			final long backslashes = word ^ BACKSLASHES;
+			final long special = ((quotes - ONES) & ~quotes | (backslashes - ONES) & ~backslashes | word) & HIGH_BITS;
+			if (special != 0) {
+				return ci + (Long.numberOfTrailingZeros(special) >> 3);
+			}
+			ci += 8;
+		}
+		return ci;
+	}
+
 	private static int hexToInt(final byte value) throws IOException {
 		if (value >= '0' && value <= '9') return value - 0x30;
 		if (value >= 'A' && value <= 'F') return value - 0x37;
@@ -380,6 +669,40 @@ public class JsonReader<TContext> {
 		return last;
 	}
 
+	/**
+	 * Position reader on the token at the specified index of the current input.
+	 * Used for processing parts of the input in parallel.
+	 *
+	 * @param index position of the token
+	 * @return token at the position
+	 * @throws IOException end of input
+	 */
+	final byte positionAt(final int index) throws IOException {
+		currentIndex = index;
+		return getNextToken();
+	}
+
+	/**
+	 * Continue processing with the new window over the stream (used by stream iterators).
+	 * Content before the specified offset was discarded from the window.
+	 *
+	 * @param newBuffer window
+	 * @param newLength size of the content in the window
+	 * @param discarded number of discarded bytes
+	 */
+	final void slide(final byte[] newBuffer, final int newLength, final int discarded) {
+		if (newBuffer != buffer) {
+			buffer = newBuffer;
+			words = null;
+		}
+		if (newLength < newBuffer.length) {
+			newBuffer[newLength] = '\0';
+		}
+		currentPosition += discarded;
+		currentIndex = 0;
+		length = newLength;
+	}
+
 	public final long positionInStream() {
 		return currentPosition + currentIndex;
 	}
@@ -398,6 +721,7 @@ public class JsonReader<TContext> {
 			hash *= 0x1000193;
 		}
 		currentIndex = ci;
+		nameHash = (int) hash;
 		if (read() != ':') {
 			if (!wasWhiteSpace() || getNextToken() != ':') {
 				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) last);
@@ -420,7 +744,141 @@ public class JsonReader<TContext> {
 			hash *= 0x1000193;
 		}
 		currentIndex = ci;
-		return (int) hash;
+		return nameHash = (int) hash;
+	}
+
+	/**
+	 * Reads property name and combines its length, first and last byte into a key.
+	 * It's cheaper than hash calculation in fillName and can be used for dispatch
+	 * when such keys are unique among the expected properties.
+	 * Match must be confirmed with wasLastName, as with hash based dispatch.
+	 *
+	 * @return length &lt;&lt; 16 | first byte &lt;&lt; 8 | last byte
+	 * @throws IOException expecting name followed by ':'
+	 */
+	public final int fillNameKey() throws IOException {
+		if (last != '"') {
+			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) last);
+		}
+		tokenStart = currentIndex;
+		int ci = currentIndex;
+		while (ci < length && buffer[ci] != '"') {
+			ci++;
+		}
+		final int len = ci - tokenStart;
+		currentIndex = ci + 1;
+		final int key = len == 0 ? 0 : len << 16 | (buffer[tokenStart] & 0xFF) << 8 | buffer[ci - 1] & 0xFF;
+		if (read() != ':') {
+			if (!wasWhiteSpace() || getNextToken() != ':') {
+				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) last);
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Key for the name as calculated by fillNameKey.
+	 *
+	 * @param name property name as UTF-8 bytes
+	 * @return length &lt;&lt; 16 | first byte &lt;&lt; 8 | last byte
+	 */
+	public static int nameKey(final byte[] name) {
+		return name.length == 0 ? 0 : name.length << 16 | (name[0] & 0xFF) << 8 | name[name.length - 1] & 0xFF;
+	}
+
+	/**
+	 * Speculatively checks if the next property has the expected name.
+	 * Used for objects which are written with properties in the expected order,
+	 * so that property can be matched without hash calculation.
+	 * On success name and the following ':' are consumed, otherwise reader position is left unchanged.
+	 *
+	 * @param name expected property name as UTF-8 bytes (without quotes)
+	 * @return next property has the expected name
+	 * @throws IOException name was not followed by ':'
+	 */
+	public final boolean tryReadName(final byte[] name) throws IOException {
+		final int end = currentIndex + name.length;
+		if (last != '"' || end >= length || buffer[end] != '"') {
+			return false;
+		}
+		for (int i = 0; i < name.length; i++) {
+			if (buffer[currentIndex + i] != name[i]) {
+				return false;
+			}
+		}
+		tokenStart = currentIndex;
+		currentIndex = end + 1;
+		if (read() != ':') {
+			if (!wasWhiteSpace() || getNextToken() != ':') {
+				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) last);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads object key and finds it among the expected names.
+	 * Keys are compared as raw bytes, while keys with escape sequences are decoded before comparison.
+	 * Name and the following ':' are consumed.
+	 *
+	 * @param names  expected names as UTF-8 bytes
+	 * @param values expected names
+	 * @return index of the matched name or -1
+	 * @throws IOException expecting name followed by ':'
+	 */
+	final int matchName(final byte[][] names, final String[] values) throws IOException {
+		if (last != '"') {
+			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) last);
+		}
+		final int start = currentIndex;
+		int ci = start;
+		while (ci < length && buffer[ci] != '"' && buffer[ci] != '\\') {
+			ci++;
+		}
+		int found = -1;
+		if (ci < length && buffer[ci] == '"') {
+			tokenStart = start;
+			currentIndex = ci + 1;
+			final int len = ci - start;
+			for (int i = 0; i < names.length && found == -1; i++) {
+				final byte[] name = names[i];
+				if (name.length == len) {
+					int j = 0;
+					while (j < len && name[j] == buffer[start + j]) {
+						j++;
+					}
+					if (j == len) {
+						found = i;
+					}
+				}
+			}
+		} else {
+			final String key = readString();
+			for (int i = 0; i < values.length && found == -1; i++) {
+				if (values[i].equals(key)) {
+					found = i;
+				}
+			}
+		}
+		if (read() != ':') {
+			if (!wasWhiteSpace() || getNextToken() != ':') {
+				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) last);
+			}
+		}
+		return found;
+	}
+
+	public final boolean wasLastName(final byte[] name) {
+		final int end = tokenStart + name.length;
+		if (end >= currentIndex || buffer[end] != '"') {
+			return false;
+		}
+		for (int i = 0; i < name.length; i++) {
+			if (name[i] != buffer[tokenStart + i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	public final boolean wasLastName(final String name) {
@@ -436,59 +894,159 @@ public class JsonReader<TContext> {
 	}
 
 	public final String getLastName() throws IOException {
+		if (keyCache != null) {
+			return keyCache.get(buffer, tokenStart, currentIndex - tokenStart - 1, nameHash);
+		}
 		return new String(buffer, tokenStart, currentIndex - tokenStart - 1, "ISO-8859-1");
 	}
 
-	private byte skipString() throws IOException {
-		byte c = read();
-		byte prev = c;
-		while (c != '"' || prev == '\\') {
-			prev = c;
-			c = read();
+	/**
+	 * Reads object key. When key cache is used, short ASCII keys will be returned as canonical instances.
+	 *
+	 * @return object key
+	 * @throws IOException unable to read string
+	 */
+	public final String readKey() throws IOException {
+		if (keyCache == null || last != '"') {
+			return readString();
 		}
-		return getNextToken();
+		final int start = currentIndex;
+		final int end = Math.min(length, start + keyCache.maxLength() + 1);
+		long hash = 0x811c9dc5;
+		for (int ci = start; ci < end; ci++) {
+			final byte b = buffer[ci];
+			if (b == '"') {
+				tokenStart = start;
+				currentIndex = ci + 1;
+				return keyCache.get(buffer, start, ci - start, (int) hash);
+			}
+			if (b == '\\' || b < 0) break;
+			hash ^= b;
+			hash *= 0x1000193;
+		}
+		return readString();
 	}
 
-	public final byte skip() throws IOException {
-		if (last == '"') return skipString();
-		else if (last == '{') {
-			byte nextToken = getNextToken();
-			if (nextToken == '}') return getNextToken();
-			if (nextToken == '"') nextToken = skipString();
-			else
-				throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) nextToken);
-			if (nextToken != ':')
-				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) nextToken);
-			getNextToken();
-			nextToken = skip();
-			while (nextToken == ',') {
-				nextToken = getNextToken();
-				if (nextToken == '"') nextToken = skipString();
-				else
-					throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) nextToken);
-				if (nextToken != ':')
-					throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) nextToken);
-				getNextToken();
-				nextToken = skip();
+	private byte[] skipStack;
+
+	/**
+	 * Skips string, object or array on which the reader is positioned.
+	 * Raw buffer is scanned in a tight loop which only tracks strings (with escapes) and nesting depth,
+	 * while inside strings 8 bytes are checked at a time for quotes and backslashes.
+	 * Only structure of brackets is validated, content is not.
+	 * When end of the buffer is reached, input is continued through read() (which refills the stream window).
+	 * After the call reader is positioned on the last byte of the value.
+	 */
+	private void skipNested() throws IOException {
+		boolean inString = last == '"';
+		boolean escaped = false;
+		int depth = 0;
+		if (!inString) {
+			if (skipStack == null) {
+				skipStack = new byte[16];
 			}
-			if (nextToken != '}')
-				throw new IOException("Expecting '}' at position " + positionInStream() + ". Found " + (char) nextToken);
-			return getNextToken();
-		} else if (last == '[') {
-			getNextToken();
-			byte nextToken = skip();
-			while (nextToken == ',') {
-				getNextToken();
-				nextToken = skip();
+			skipStack[depth++] = last == '{' ? (byte) '}' : (byte) ']';
+		}
+		int ci = currentIndex;
+		while (true) {
+			final byte[] buf = buffer;
+			final int end = length;
+			while (ci < end) {
+				if (inString) {
+					if (WORD_SCAN && !escaped) {
+						if (words == null) {
+							words = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+						}
+						ci = findQuoteOrEscape(words, ci, end);
+					}
+					while (ci < end) {
+						final byte b = buf[ci++];
+						if (escaped) {
+							escaped = false;
+						} else if (b == '\\') {
+							escaped = true;
+						} else if (b == '"') {
+							inString = false;
+							break;
+						}
+					}
+					if (!inString && depth == 0) {
+						currentIndex = ci;
+						last = '"';
+						return;
+					}
+				} else {
+					final byte b = buf[ci++];
+					if (b == '"') {
+						inString = true;
+					} else if (b == '{' || b == '[') {
+						if (depth == skipStack.length) {
+							skipStack = Arrays.copyOf(skipStack, depth * 2);
+						}
+						skipStack[depth++] = b == '{' ? (byte) '}' : (byte) ']';
+					} else if (b == '}' || b == ']') {
+						currentIndex = ci;
+						last = b;
+						if (skipStack[--depth] != b) {
+							throw new IOException("Expecting '" + (char) skipStack[depth] + "' at position " + positionInStream() + ". Found " + (char) b);
+						}
+						if (depth == 0) {
+							return;
+						}
+					}
+				}
 			}
-			if (nextToken != ']')
-				throw new IOException("Expecting ']' at position " + positionInStream() + ". Found " + (char) nextToken);
+			currentIndex = ci;
+			read();
+			ci = currentIndex - 1;
+		}
+	}
+
+	/**
+	 * Skips 8 bytes at a time while none of them is a quote or a backslash.
+	 *
+	 * @param words little endian view of the buffer
+	 * @param ci    start position
+	 * @param end   end of valid input
+	 * @return position of the first quote or backslash or position where less than 8 bytes remain
+	 */
+	static int findQuoteOrEscape(final ByteBuffer words, int ci, final int end) {
+		while (ci + 8 <= end) {
+			final long word = words.getLong(ci);
+			final long quotes = word ^ QUOTES;
+			final long backslashes = word ^ BACKSLASHES;
+			final long special = ((quotes - ONES) & ~quotes | (backslashes - ONES) & ~backslashes) & HIGH_BITS;
+			if (special != 0) {
+				return ci + (Long.numberOfTrailingZeros(special) >> 3);
+			}
+			ci += 8;
+		}
+		return ci;
+	}
+
+	public final byte skip() throws IOException {
+		if (last == '"' || last == '{' || last == '[') {
+			skipNested();
 			return getNextToken();
-		} else {
-			while (last != ',' && last != '}' && last != ']')
-				read();
+		}
+		if (last == ',' || last == '}' || last == ']') {
 			return last;
 		}
+		final byte[] buf = buffer;
+		final int end = length;
+		int ci = currentIndex;
+		while (ci < end) {
+			final byte b = buf[ci++];
+			if (b == ',' || b == '}' || b == ']') {
+				currentIndex = ci;
+				return last = b;
+			}
+		}
+		currentIndex = ci;
+		do {
+			read();
+		} while (last != ',' && last != '}' && last != ']');
+		return last;
 	}
 
 	public String readNext() throws IOException {
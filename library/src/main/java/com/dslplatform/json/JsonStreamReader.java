@@ -11,7 +11,16 @@ public class JsonStreamReader<TContext> extends JsonReader<TContext> {
 	private int halfLength;
 
 	public JsonStreamReader(final InputStream stream, final byte[] buffer, final TContext context) throws IOException {
-		super(new char[64], buffer, readFully(buffer, stream, 0), context);
+		this(stream, buffer, context, null, null);
+	}
+
+	public JsonStreamReader(
+			final InputStream stream,
+			final byte[] buffer,
+			final TContext context,
+			final StringCache keyCache,
+			final StringCache valuesCache) throws IOException {
+		super(new char[64], buffer, readFully(buffer, stream, 0), context, keyCache, valuesCache);
 		if (stream == null) {
 			throw new NullPointerException("stream provided as null.");
 		}
@@ -24,6 +33,9 @@ public class JsonStreamReader<TContext> extends JsonReader<TContext> {
 
 	public static int readFully(final byte[] buffer, final InputStream stream, final int offset) throws IOException {
 		int read = stream.read(buffer, offset, buffer.length - offset);
+		if (read == -1) {
+			return offset;
+		}
 		int position = read + offset;
 		while (position < buffer.length
 				&& (read = stream.read(buffer, position, buffer.length - position)) != -1) {
@@ -39,7 +51,7 @@ public class JsonStreamReader<TContext> extends JsonReader<TContext> {
 
 	public byte read() throws IOException {
 		if (currentIndex > halfLength) {
-			final int len = buffer.length - currentIndex;
+			final int len = length() - currentIndex;
 			System.arraycopy(buffer, currentIndex, buffer, 0, len);
 			int position = readFully(buffer, stream, len);
 			reset(position);
@@ -51,13 +63,30 @@ public class JsonStreamReader<TContext> extends JsonReader<TContext> {
 		if (length() != currentIndex) {
 			return false;
 		}
-		final int len = buffer.length - currentIndex;
+		final int len = length() - currentIndex;
 		System.arraycopy(buffer, currentIndex, buffer, 0, len);
 		int position = readFully(buffer, stream, len);
 		reset(position);
 		return super.isEndOfStream();
 	}
 
+	boolean loadMore() throws IOException {
+		final int start = currentIndex - 1;
+		if (start <= 0 || length() < buffer.length) {
+			return false;
+		}
+		final int len = length() - start;
+		System.arraycopy(buffer, start, buffer, 0, len);
+		currentIndex = start;
+		reset(readFully(buffer, stream, len));
+		currentIndex = 1;
+		return true;
+	}
+
+	boolean isTruncated(final int end) {
+		return end == length() && length() == buffer.length;
+	}
+
 	public byte[] readBase64() throws IOException {
 		if (Base64.findEnd(buffer, currentIndex) == buffer.length) {
 			final String input = readString();
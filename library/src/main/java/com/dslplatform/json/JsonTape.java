@@ -0,0 +1,450 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Structural index over JSON input used for lazy DOM.
+ * Input is scanned and validated once and for each value (and object key) three ints are stored on the tape:
+ * offset of the value start, offset after the value end and index of the node after the value.
+ * Objects and arrays are exposed as read-only Map/List views which materialize
+ * keys and values from the input only when they are accessed.
+ * Escape sequences in strings are validated only when the string is accessed.
+ * <p>
+ * Views share the reader and are not thread safe.
+ * Input must not be changed while the views are in use.
+ */
+final class JsonTape {
+
+	private static final int VALUE = 0;
+	private static final int FIRST_VALUE = 1;
+	private static final int KEY = 2;
+	private static final int FIRST_KEY = 3;
+	private static final int COLON = 4;
+	private static final int NEXT = 5;
+	private static final int END = 6;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+	private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+	private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+	private final JsonReader reader;
+	private final byte[] input;
+	private int[] tape;
+	private int nodes;
+
+	private JsonTape(final JsonReader reader, final byte[] input) {
+		this.reader = reader;
+		this.input = input;
+		this.tape = new int[48];
+	}
+
+	static Object parse(final JsonReader reader, final byte[] input, final int size) throws IOException {
+		final JsonTape tape = new JsonTape(reader, input);
+		tape.scan(size);
+		return tape.value(0);
+	}
+
+	private int addNode(final int offset) {
+		if (nodes * 3 + 3 > tape.length) {
+			tape = Arrays.copyOf(tape, tape.length * 2);
+		}
+		final int node = nodes++;
+		tape[node * 3] = offset;
+		tape[node * 3 + 2] = nodes;
+		return node;
+	}
+
+	private static IOException unexpected(final String expecting, final int index, final byte b) {
+		return new IOException("Expecting " + expecting + " at position " + index + ". Found " + (char) b);
+	}
+
+	private void scan(final int size) throws IOException {
+		final byte[] buf = input;
+		int[] stack = new int[16];
+		int depth = 0;
+		int state = VALUE;
+		int i = 0;
+		while (i < size) {
+			final byte b = buf[i];
+			if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+				i++;
+				continue;
+			}
+			switch (state) {
+				case FIRST_VALUE:
+				case VALUE:
+					if (b == ']' && state == FIRST_VALUE) {
+						state = close(stack[--depth], i++, depth);
+						break;
+					}
+					final int node = addNode(i);
+					if (b == '{' || b == '[') {
+						if (depth == stack.length) {
+							stack = Arrays.copyOf(stack, depth * 2);
+						}
+						stack[depth++] = node;
+						state = b == '{' ? FIRST_KEY : FIRST_VALUE;
+						i++;
+						break;
+					} else if (b == '"') {
+						i = skipString(i, size);
+					} else if (b == '-' || b >= '0' && b <= '9') {
+						i = skipNumber(i, size);
+					} else if (b == 't') {
+						i = skipLiteral(i, size, TRUE);
+					} else if (b == 'f') {
+						i = skipLiteral(i, size, FALSE);
+					} else if (b == 'n') {
+						i = skipLiteral(i, size, NULL);
+					} else {
+						throw unexpected("value", i, b);
+					}
+					tape[node * 3 + 1] = i;
+					state = depth == 0 ? END : NEXT;
+					break;
+				case FIRST_KEY:
+				case KEY:
+					if (b == '}' && state == FIRST_KEY) {
+						state = close(stack[--depth], i++, depth);
+						break;
+					}
+					if (b != '"') {
+						throw unexpected("'\"'", i, b);
+					}
+					final int key = addNode(i);
+					i = skipString(i, size);
+					tape[key * 3 + 1] = i;
+					state = COLON;
+					break;
+				case COLON:
+					if (b != ':') {
+						throw unexpected("':'", i, b);
+					}
+					state = VALUE;
+					i++;
+					break;
+				case NEXT:
+					final byte container = buf[tape[stack[depth - 1] * 3]];
+					if (b == ',') {
+						state = container == '{' ? KEY : VALUE;
+					} else if (container == '{' && b == '}' || container == '[' && b == ']') {
+						state = close(stack[--depth], i, depth);
+					} else {
+						throw unexpected(container == '{' ? "',' or '}'" : "',' or ']'", i, b);
+					}
+					i++;
+					break;
+				default:
+					throw unexpected("end of JSON", i, b);
+			}
+		}
+		if (state != END) {
+			throw new IOException("Unexpected end of JSON input at position " + size);
+		}
+	}
+
+	private int close(final int node, final int index, final int depth) {
+		tape[node * 3 + 1] = index + 1;
+		tape[node * 3 + 2] = nodes;
+		return depth == 0 ? END : NEXT;
+	}
+
+	private int skipString(int i, final int size) throws IOException {
+		final byte[] buf = input;
+		final int start = i++;
+		while (i < size) {
+			final byte b = buf[i];
+			if (b == '"') {
+				return i + 1;
+			}
+			i += b == '\\' ? 2 : 1;
+		}
+		throw new IOException("Unexpected end of string at position " + start);
+	}
+
+	private int skipLiteral(final int start, final int size, final byte[] literal) throws IOException {
+		if (start + literal.length > size) {
+			throw new IOException("Unexpected end of JSON input at position " + size);
+		}
+		for (int i = 1; i < literal.length; i++) {
+			if (input[start + i] != literal[i]) {
+				throw unexpected("'" + new String(literal, UTF_8) + "'", start + i, input[start + i]);
+			}
+		}
+		return start + literal.length;
+	}
+
+	//number must match -?digits(.digits)?([eE][+-]?digits)? and the scanner checks what follows it
+	private int skipNumber(int i, final int size) throws IOException {
+		final byte[] buf = input;
+		if (buf[i] == '-') {
+			i++;
+		}
+		i = skipDigits(i, size);
+		if (i < size && buf[i] == '.') {
+			i = skipDigits(i + 1, size);
+		}
+		if (i < size && (buf[i] == 'e' || buf[i] == 'E')) {
+			i++;
+			if (i < size && (buf[i] == '+' || buf[i] == '-')) {
+				i++;
+			}
+			i = skipDigits(i, size);
+		}
+		return i;
+	}
+
+	private int skipDigits(int i, final int size) throws IOException {
+		final byte[] buf = input;
+		final int start = i;
+		while (i < size && buf[i] >= '0' && buf[i] <= '9') {
+			i++;
+		}
+		if (i == start) {
+			if (i == size) {
+				throw new IOException("Unexpected end of JSON input at position " + size);
+			}
+			throw unexpected("digit", i, buf[i]);
+		}
+		return i;
+	}
+
+	private int next(final int node) {
+		return tape[node * 3 + 2];
+	}
+
+	private String key(final int node) {
+		try {
+			reader.positionAt(tape[node * 3]);
+			return reader.readKey();
+		} catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private Object value(final int node) {
+		final int offset = tape[node * 3];
+		switch (input[offset]) {
+			case '{':
+				return new LazyMap(this, node);
+			case '[':
+				return new LazyList(this, node);
+			default:
+				try {
+					reader.positionAt(offset);
+					return DslJson.deserializeObject(reader);
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+		}
+	}
+
+	private void writeRaw(final JsonWriter writer, final int node) {
+		final int offset = tape[node * 3];
+		writer.writeRaw(input, offset, tape[node * 3 + 1] - offset);
+	}
+
+	static final JsonWriter.WriteObject<LazyMap> MapWriter = new JsonWriter.WriteObject<LazyMap>() {
+		@Override
+		public void write(JsonWriter writer, LazyMap value) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				value.tape.writeRaw(writer, value.node);
+			}
+		}
+	};
+
+	static final JsonWriter.WriteObject<LazyList> ListWriter = new JsonWriter.WriteObject<LazyList>() {
+		@Override
+		public void write(JsonWriter writer, LazyList value) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				value.tape.writeRaw(writer, value.node);
+			}
+		}
+	};
+
+	/**
+	 * Object view. Keys are decoded on first access, values when they are requested.
+	 * For duplicate keys last value is used.
+	 */
+	static final class LazyMap extends AbstractMap<String, Object> {
+		private final JsonTape tape;
+		private final int node;
+		private LinkedHashMap<String, Integer> slots;
+		private String[] keys;
+		private int[] valueNodes;
+		private Object[] values;
+		private boolean[] loaded;
+
+		LazyMap(final JsonTape tape, final int node) {
+			this.tape = tape;
+			this.node = node;
+		}
+
+		private void index() {
+			if (slots != null) {
+				return;
+			}
+			final LinkedHashMap<String, Integer> map = new LinkedHashMap<String, Integer>();
+			String[] names = new String[8];
+			int[] nodes = new int[8];
+			int count = 0;
+			final int end = tape.next(node);
+			int child = node + 1;
+			while (child < end) {
+				final String key = tape.key(child);
+				final int valueNode = child + 1;
+				final Integer slot = map.get(key);
+				if (slot != null) {
+					nodes[slot] = valueNode;
+				} else {
+					if (count == names.length) {
+						names = Arrays.copyOf(names, count * 2);
+						nodes = Arrays.copyOf(nodes, count * 2);
+					}
+					map.put(key, count);
+					names[count] = key;
+					nodes[count++] = valueNode;
+				}
+				child = tape.next(valueNode);
+			}
+			keys = names;
+			valueNodes = nodes;
+			values = new Object[count];
+			loaded = new boolean[count];
+			slots = map;
+		}
+
+		private Object valueAt(final int slot) {
+			if (!loaded[slot]) {
+				values[slot] = tape.value(valueNodes[slot]);
+				loaded[slot] = true;
+			}
+			return values[slot];
+		}
+
+		@Override
+		public Object get(final Object key) {
+			index();
+			final Integer slot = slots.get(key);
+			return slot == null ? null : valueAt(slot);
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			index();
+			return slots.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			index();
+			return slots.size();
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			index();
+			return new AbstractSet<Entry<String, Object>>() {
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					return new Iterator<Entry<String, Object>>() {
+						private int slot;
+
+						@Override
+						public boolean hasNext() {
+							return slot < values.length;
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							if (slot == values.length) {
+								throw new NoSuchElementException();
+							}
+							final int current = slot++;
+							return new SimpleImmutableEntry<String, Object>(keys[current], valueAt(current));
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return values.length;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Array view. Element positions are resolved on first access, elements when they are requested.
+	 */
+	static final class LazyList extends AbstractList<Object> implements RandomAccess {
+		private final JsonTape tape;
+		private final int node;
+		private int[] elements;
+		private Object[] values;
+		private boolean[] loaded;
+
+		LazyList(final JsonTape tape, final int node) {
+			this.tape = tape;
+			this.node = node;
+		}
+
+		private void index() {
+			if (elements != null) {
+				return;
+			}
+			int[] nodes = new int[8];
+			int count = 0;
+			final int end = tape.next(node);
+			for (int child = node + 1; child < end; child = tape.next(child)) {
+				if (count == nodes.length) {
+					nodes = Arrays.copyOf(nodes, count * 2);
+				}
+				nodes[count++] = child;
+			}
+			values = new Object[count];
+			loaded = new boolean[count];
+			elements = nodes;
+		}
+
+		@Override
+		public Object get(final int index) {
+			index();
+			if (index < 0 || index >= values.length) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+			}
+			if (!loaded[index]) {
+				values[index] = tape.value(elements[index]);
+				loaded[index] = true;
+			}
+			return values[index];
+		}
+
+		@Override
+		public int size() {
+			index();
+			return values.length;
+		}
+	}
+}
@@ -3,6 +3,8 @@ package com.dslplatform.json;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.*;
 
@@ -12,17 +14,48 @@ public final class JsonWriter extends Writer {
 
 	final byte[] ensureCapacity(final int free) {
 		if (position + free >= result.length) {
-			result = Arrays.copyOf(result, result.length + (result.length << 1) + free);
+			enlargeOrFlush(free);
 		}
 		return result;
 	}
 
+	/**
+	 * Make room for at least padding bytes after the current position.
+	 * When bound to a stream, buffered content is written out instead of growing the buffer
+	 * (buffer is grown only for a single value which doesn't fit into it).
+	 */
+	private void enlargeOrFlush(final int padding) {
+		if (target != null) {
+			writeToTarget();
+			if (padding < result.length) {
+				return;
+			}
+		}
+		result = Arrays.copyOf(result, result.length + result.length / 2 + padding);
+	}
+
+	private void writeToTarget() {
+		try {
+			target.write(result, 0, position);
+		} catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		flushed += position;
+		position = 0;
+	}
+
 	void advance(int size) {
 		position += size;
 	}
 
+	void rewind(int size) {
+		position = size;
+	}
+
 	private int position;
 	private byte[] result;
+	private OutputStream target;
+	private long flushed;
 
 	public JsonWriter() {
 		this(512);
@@ -36,6 +69,26 @@ public final class JsonWriter extends Writer {
 		this.result = result;
 	}
 
+	/**
+	 * Writer with a fixed size buffer which is written to the stream whenever it fills up.
+	 * Memory usage doesn't depend on the size of the document.
+	 * Call flush() at the end to write out the remaining content.
+	 *
+	 * @param size   buffer size
+	 * @param target output
+	 */
+	public JsonWriter(final int size, final OutputStream target) {
+		this(new byte[size]);
+		if (target == null) {
+			throw new NullPointerException("target provided as null.");
+		}
+		this.target = target;
+	}
+
+	public JsonWriter(final int size, final WritableByteChannel target) {
+		this(size, Channels.newOutputStream(target));
+	}
+
 	public static final byte OBJECT_START = '{';
 	public static final byte OBJECT_END = '}';
 	public static final byte ARRAY_START = '[';
@@ -46,11 +99,11 @@ public final class JsonWriter extends Writer {
 	public static final byte ESCAPE = '\\';
 
 	public final void writeNull() {
+		if (position + 4 >= result.length) {
+			enlargeOrFlush(4);
+		}
 		final int s = position;
 		position += 4;
-		if (position >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2);
-		}
 		final byte[] _result = result;
 		_result[s] = 'n';
 		_result[s + 1] = 'u';
@@ -60,7 +113,7 @@ public final class JsonWriter extends Writer {
 
 	public final void writeByte(final byte c) {
 		if (position == result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2);
+			enlargeOrFlush(1);
 		}
 		result[position++] = c;
 	}
@@ -68,7 +121,7 @@ public final class JsonWriter extends Writer {
 	public final void writeString(final String str) {
 		final int len = str.length();
 		if (position + (len << 2) + (len << 1) + 2 >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + (len << 2) + (len << 1) + 2);
+			enlargeOrFlush((len << 2) + (len << 1) + 2);
 		}
 		final byte[] _result = result;
 		_result[position] = QUOTE;
@@ -263,7 +316,7 @@ public final class JsonWriter extends Writer {
 	public final void writeAscii(final String str) {
 		final int len = str.length();
 		if (position + len >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + len);
+			enlargeOrFlush(len);
 		}
 		str.getBytes(0, len, result, position);
 		position += len;
@@ -272,7 +325,7 @@ public final class JsonWriter extends Writer {
 	@SuppressWarnings("deprecation")
 	public final void writeAscii(final String str, final int len) {
 		if (position + len >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + len);
+			enlargeOrFlush(len);
 		}
 		str.getBytes(0, len, result, position);
 		position += len;
@@ -281,7 +334,7 @@ public final class JsonWriter extends Writer {
 	public final void writeAscii(final byte[] buf) {
 		final int len = buf.length;
 		if (position + len >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + len);
+			enlargeOrFlush(len);
 		}
 		final int p = position;
 		final byte[] _result = result;
@@ -291,9 +344,45 @@ public final class JsonWriter extends Writer {
 		position += len;
 	}
 
+	/**
+	 * Copy already encoded JSON to the output.
+	 * When bound to an output, large content is written directly instead of through the buffer.
+	 *
+	 * @param buf encoded JSON
+	 * @param len size of the content
+	 */
+	public final void writeRaw(final byte[] buf, final int len) {
+		writeRaw(buf, 0, len);
+	}
+
+	/**
+	 * Copy part of already encoded JSON to the output.
+	 *
+	 * @param buf    encoded JSON
+	 * @param offset start of the content
+	 * @param len    size of the content
+	 */
+	public final void writeRaw(final byte[] buf, final int offset, final int len) {
+		if (position + len >= result.length) {
+			if (target != null && len >= result.length) {
+				writeToTarget();
+				try {
+					target.write(buf, offset, len);
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+				flushed += len;
+				return;
+			}
+			enlargeOrFlush(len);
+		}
+		System.arraycopy(buf, offset, result, position, len);
+		position += len;
+	}
+
 	public final void writeAscii(final byte[] buf, final int len) {
 		if (position + len >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + len);
+			enlargeOrFlush(len);
 		}
 		final int p = position;
 		final byte[] _result = result;
@@ -305,7 +394,7 @@ public final class JsonWriter extends Writer {
 
 	public final void writeBinary(final byte[] buf) {
 		if (position + (buf.length << 1) + 2 >= result.length) {
-			result = Arrays.copyOf(result, result.length + result.length / 2 + (buf.length << 1) + 2);
+			enlargeOrFlush((buf.length << 1) + 2);
 		}
 		result[position++] = '"';
 		position += Base64.encodeToBytes(buf, result, position);
@@ -335,6 +424,30 @@ public final class JsonWriter extends Writer {
 
 	public final void reset() {
 		position = 0;
+		flushed = 0;
+	}
+
+	/**
+	 * Reset the writer and bind it to a new output (or unbind it when target is null).
+	 *
+	 * @param target output to which buffer will be written when it fills up
+	 */
+	public final void reset(final OutputStream target) {
+		this.target = target;
+		reset();
+	}
+
+	/**
+	 * Total number of bytes written, including the ones already flushed to the bound output.
+	 *
+	 * @return bytes written so far
+	 */
+	public final long flushedSize() {
+		return flushed + position;
+	}
+
+	final long flushed() {
+		return flushed;
 	}
 
 	@Override
@@ -358,12 +471,25 @@ public final class JsonWriter extends Writer {
 		writeAscii(append.getBytes(UTF_8));
 	}
 
+	/**
+	 * When bound to an output, writes out the buffered content and flushes the output.
+	 */
 	@Override
 	public void flush() throws IOException {
+		if (target != null) {
+			target.write(result, 0, position);
+			flushed += position;
+			position = 0;
+			target.flush();
+		}
 	}
 
+	/**
+	 * When bound to an output, buffered content is flushed. Output is not closed.
+	 */
 	@Override
 	public void close() throws IOException {
+		flush();
 		position = 0;
 	}
 
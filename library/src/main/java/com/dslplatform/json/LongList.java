@@ -0,0 +1,118 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of long values which doesn't box its elements.
+ * Can be used instead of List&lt;Long&gt; for large numeric collections,
+ * both as a deserialization target and as a property type in CompiledJson classes.
+ * Null elements are not supported.
+ */
+public final class LongList extends AbstractList<Long> implements RandomAccess {
+	private long[] values;
+	private int size;
+
+	public LongList() {
+		this(10);
+	}
+
+	public LongList(final int capacity) {
+		values = new long[capacity];
+	}
+
+	public LongList(final long[] values) {
+		this.values = values.clone();
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length < 4 ? 8 : values.length + (values.length >> 1)));
+		}
+	}
+
+	public long getLong(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	public long setLong(final int index, final long value) {
+		checkIndex(index);
+		final long old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	public void addLong(final long value) {
+		if (size == values.length) {
+			ensureCapacity(size + 1);
+		}
+		values[size++] = value;
+		modCount++;
+	}
+
+	/**
+	 * @return copy of the elements
+	 */
+	public long[] toLongArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Long get(final int index) {
+		return getLong(index);
+	}
+
+	@Override
+	public Long set(final int index, final Long value) {
+		return setLong(index, value);
+	}
+
+	@Override
+	public boolean add(final Long value) {
+		addLong(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Long value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final long primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Long remove(final int index) {
+		checkIndex(index);
+		final long old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+}
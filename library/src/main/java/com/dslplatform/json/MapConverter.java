@@ -47,7 +47,7 @@ public abstract class MapConverter {
 		byte nextToken = reader.getNextToken();
 		if (nextToken == '}') return new LinkedHashMap<String, String>(0);
 		final LinkedHashMap<String, String> res = new LinkedHashMap<String, String>();
-		String key = StringConverter.deserialize(reader);
+		String key = reader.readKey();
 		nextToken = reader.getNextToken();
 		if (nextToken != ':') {
 			throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
@@ -57,7 +57,7 @@ public abstract class MapConverter {
 		res.put(key, value);
 		while ((nextToken = reader.getNextToken()) == ',') {
 			reader.getNextToken();
-			key = StringConverter.deserialize(reader);
+			key = reader.readKey();
 			nextToken = reader.getNextToken();
 			if (nextToken != ':') {
 				throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
@@ -9,7 +9,9 @@ import java.util.Collection;
 public abstract class NumberConverter {
 
 	private final static int[] DIGITS = new int[1000];
-	private final static double[] POW_10 = new double[18];
+	//number of array elements for which buffer space is reserved at once, so stream bound writers keep a bounded buffer
+	private final static int ARRAY_BATCH = 64;
+	private final static float[] EXACT_FLOAT_POW_10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
 	static final JsonReader.ReadObject<Double> DoubleReader = new JsonReader.ReadObject<Double>() {
 		@Override
 		public Double read(JsonReader reader) throws IOException {
@@ -76,6 +78,78 @@ public abstract class NumberConverter {
 			return deserializeNumber(reader);
 		}
 	};
+	static final JsonReader.ReadObject<DoubleList> DoubleListReader = new JsonReader.ReadObject<DoubleList>() {
+		@Override
+		public DoubleList read(JsonReader reader) throws IOException {
+			return deserializeDoubleList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<DoubleList> DoubleListWriter = new JsonWriter.WriteObject<DoubleList>() {
+		@Override
+		public void write(JsonWriter writer, DoubleList value) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				serialize(value, writer);
+			}
+		}
+	};
+	static final JsonReader.ReadObject<IntList> IntListReader = new JsonReader.ReadObject<IntList>() {
+		@Override
+		public IntList read(JsonReader reader) throws IOException {
+			return deserializeIntList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<IntList> IntListWriter = new JsonWriter.WriteObject<IntList>() {
+		@Override
+		public void write(JsonWriter writer, IntList value) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				serialize(value, writer);
+			}
+		}
+	};
+	static final JsonReader.ReadObject<LongList> LongListReader = new JsonReader.ReadObject<LongList>() {
+		@Override
+		public LongList read(JsonReader reader) throws IOException {
+			return deserializeLongList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<LongList> LongListWriter = new JsonWriter.WriteObject<LongList>() {
+		@Override
+		public void write(JsonWriter writer, LongList value) {
+			if (value == null) {
+				writer.writeNull();
+			} else {
+				serialize(value, writer);
+			}
+		}
+	};
+	static final JsonReader.ReadObject<double[]> DoubleArrayReader = new JsonReader.ReadObject<double[]>() {
+		@Override
+		public double[] read(JsonReader reader) throws IOException {
+			return deserializeDoubleArray(reader);
+		}
+	};
+	static final JsonReader.ReadObject<float[]> FloatArrayReader = new JsonReader.ReadObject<float[]>() {
+		@Override
+		public float[] read(JsonReader reader) throws IOException {
+			return deserializeFloatArray(reader);
+		}
+	};
+	static final JsonReader.ReadObject<int[]> IntArrayReader = new JsonReader.ReadObject<int[]>() {
+		@Override
+		public int[] read(JsonReader reader) throws IOException {
+			return deserializeIntArray(reader);
+		}
+	};
+	static final JsonReader.ReadObject<long[]> LongArrayReader = new JsonReader.ReadObject<long[]>() {
+		@Override
+		public long[] read(JsonReader reader) throws IOException {
+			return deserializeLongArray(reader);
+		}
+	};
 
 	static {
 		for (int i = 0; i < 1000; i++) {
@@ -84,11 +158,6 @@ public abstract class NumberConverter {
 					+ ((((i / 10) % 10) + '0') << 8)
 					+ i % 10 + '0';
 		}
-		long tenPow = 1;
-		for (int i = 0; i < POW_10.length; i++) {
-			POW_10[i] = tenPow;
-			tenPow = tenPow * 10;
-		}
 	}
 
 	static void write4(final int value, final byte[] buf, final int pos) {
@@ -150,30 +219,52 @@ public abstract class NumberConverter {
 		}
 	}
 
+	private static final byte[] NAN = "\"NaN\"".getBytes();
+	private static final byte[] POSITIVE_INFINITY = "\"Infinity\"".getBytes();
+	private static final byte[] NEGATIVE_INFINITY = "\"-Infinity\"".getBytes();
+
+	private static int writeSpecial(final byte[] buf, final int pos, final byte[] value) {
+		for (int i = 0; i < value.length; i++) {
+			buf[pos + i] = value[i];
+		}
+		return pos + value.length;
+	}
+
 	public static void serialize(final double value, final JsonWriter sw) {
+		final byte[] buf = sw.ensureCapacity(Schubfach.MAX_DOUBLE_LENGTH);
+		final int position = sw.size();
+		final int current = serialize(buf, position, value);
+		sw.advance(current - position);
+	}
+
+	private static int serialize(final byte[] buf, final int pos, final double value) {
 		if (Double.isNaN(value)) {
-			sw.writeAscii("\"NaN\"");
+			return writeSpecial(buf, pos, NAN);
 		} else if (Double.isInfinite(value)) {
-			final long bits = Double.doubleToLongBits(value);
-			if ((bits & -9223372036854775808L) != 0L) {
-				sw.writeAscii("\"-Infinity\"");
-			} else {
-				sw.writeAscii("\"Infinity\"");
-			}
-		} else sw.writeAscii(Double.toString(value));
+			return writeSpecial(buf, pos, value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+		}
+		return Schubfach.write(value, buf, pos);
 	}
 
-	public static void serialize(final double[] value, final JsonWriter sw) {
-		if (value == null) {
+	public static void serialize(final double[] values, final JsonWriter sw) {
+		if (values == null) {
 			sw.writeNull();
-		} else if (value.length == 0) {
+		} else if (values.length == 0) {
 			sw.writeAscii("[]");
 		} else {
 			sw.writeByte(JsonWriter.ARRAY_START);
-			serialize(value[0], sw);
-			for (int i = 1; i < value.length; i++) {
-				sw.writeByte(JsonWriter.COMMA);
-				serialize(value[i], sw);
+			int i = 0;
+			while (i < values.length) {
+				final int end = Math.min(values.length, i + ARRAY_BATCH);
+				final byte[] buf = sw.ensureCapacity((end - i) * (Schubfach.MAX_DOUBLE_LENGTH + 1));
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) {
+						buf[position++] = ',';
+					}
+					position = serialize(buf, position, values[i]);
+				}
+				sw.advance(position - sw.size());
 			}
 			sw.writeByte(JsonWriter.ARRAY_END);
 		}
@@ -211,6 +302,110 @@ public abstract class NumberConverter {
 			final char[] buf = reader.readSimpleQuote();
 			return parseDoubleGeneric(buf, reader.getCurrentIndex() - position - 1, position + 1);
 		}
+		return parseFloating(reader, false);
+	}
+
+	private static boolean isNumberEnd(final JsonReader reader, final byte[] buf, final int i, final int end) {
+		if (i == end) {
+			return !reader.isTruncated(i);
+		}
+		final byte ch = buf[i];
+		return ch == ',' || ch == '}' || ch == ']' || ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+	}
+
+	private static double parseFloating(final JsonReader reader, final boolean single) throws IOException {
+		final byte[] buf = reader.buffer;
+		final int start = reader.getCurrentIndex() - 1;
+		final int end = reader.length();
+		int i = start;
+		byte ch = buf[i];
+		final boolean negative = ch == '-';
+		if (negative || ch == '+') {
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exp = 0;
+		boolean truncated = false;
+		int digitsStart = i;
+		while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+			if (digits < 19) {
+				mantissa = mantissa * 10 + ch - '0';
+				if (mantissa != 0) digits++;
+			} else {
+				exp++;
+				truncated = truncated || ch != '0';
+			}
+			i++;
+		}
+		boolean hasDigits = i > digitsStart;
+		if (i < end && buf[i] == '.') {
+			digitsStart = ++i;
+			while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+				if (digits < 19) {
+					mantissa = mantissa * 10 + ch - '0';
+					if (mantissa != 0) digits++;
+					exp--;
+				} else {
+					truncated = truncated || ch != '0';
+				}
+				i++;
+			}
+			hasDigits = hasDigits || i > digitsStart;
+		}
+		if (!hasDigits) {
+			return i == end && reader.loadMore() ? parseFloating(reader, single) : single ? parseFloatChars(reader) : parseDoubleChars(reader);
+		}
+		if (i < end && ((ch = buf[i]) == 'e' || ch == 'E')) {
+			i++;
+			final boolean negativeExp = i < end && buf[i] == '-';
+			if (negativeExp || i < end && buf[i] == '+') {
+				i++;
+			}
+			digitsStart = i;
+			int e = 0;
+			while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+				if (e < 100000) e = e * 10 + ch - '0';
+				i++;
+			}
+			if (i == digitsStart) {
+				return i == end && reader.loadMore() ? parseFloating(reader, single) : single ? parseFloatChars(reader) : parseDoubleChars(reader);
+			}
+			exp += negativeExp ? -e : e;
+		}
+		if (!isNumberEnd(reader, buf, i, end)) {
+			return i == end && reader.loadMore() ? parseFloating(reader, single) : single ? parseFloatChars(reader) : parseDoubleChars(reader);
+		}
+		reader.endNumber(start, i);
+		if (single) {
+			if (!truncated && mantissa >= 0 && mantissa <= 16777216 && exp >= -10 && exp <= 10) {
+				final float value = exp < 0 ? mantissa / EXACT_FLOAT_POW_10[-exp] : mantissa * EXACT_FLOAT_POW_10[exp];
+				return negative ? -value : value;
+			}
+			final double value = toDouble(mantissa, exp, negative, truncated);
+			final double abs = Math.abs(value);
+			//rounding to double and then to float is correct unless double ended up exactly between two floats
+			if (abs == 0 || abs >= Float.MIN_NORMAL && (Double.doubleToRawLongBits(value) & 0x1FFFFFFF) != 0x10000000) {
+				return (float) value;
+			}
+			return Float.parseFloat(new String(buf, start, i - start, "ISO-8859-1"));
+		}
+		final double value = toDouble(mantissa, exp, negative, truncated);
+		if (value != value) {
+			return Double.parseDouble(new String(buf, start, i - start, "ISO-8859-1"));
+		}
+		return value;
+	}
+
+	private static double toDouble(final long mantissa, final int exp, final boolean negative, final boolean truncated) {
+		final double value = EiselLemire.toDouble(mantissa, exp, negative);
+		if (truncated && value != EiselLemire.toDouble(mantissa + 1, exp, negative)) {
+			return Double.NaN;
+		}
+		return value;
+	}
+
+	private static double parseDoubleChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -317,6 +512,82 @@ public abstract class NumberConverter {
 		reader.deserializeNullableCollection(DoubleReader, res);
 	}
 
+	/**
+	 * Deserialize collection elements into unboxed list.
+	 * Reader must be positioned on the first element.
+	 *
+	 * @param reader input
+	 * @param res    target list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static void deserializeDoubleCollection(final JsonReader reader, final DoubleList res) throws IOException {
+		res.addDouble(deserializeDouble(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addDouble(deserializeDouble(reader));
+		}
+		reader.checkArrayEnd();
+	}
+
+	/**
+	 * Deserialize JSON array into unboxed list.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static DoubleList deserializeDoubleList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		final DoubleList res = new DoubleList();
+		if (reader.getNextToken() != ']') {
+			deserializeDoubleCollection(reader, res);
+		}
+		return res;
+	}
+
+	public static void serialize(final DoubleList values, final JsonWriter sw) {
+		sw.writeByte(JsonWriter.ARRAY_START);
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sw.writeByte(JsonWriter.COMMA);
+			}
+			serialize(values.getDouble(i), sw);
+		}
+		sw.writeByte(JsonWriter.ARRAY_END);
+	}
+
+	/**
+	 * Deserialize JSON array directly into double[] without boxing the elements.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized array
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static double[] deserializeDoubleArray(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		if (reader.getNextToken() == ']') {
+			return new double[0];
+		}
+		double[] buffer = new double[16];
+		buffer[0] = deserializeDouble(reader);
+		int i = 1;
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			if (i == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+			buffer[i++] = deserializeDouble(reader);
+		}
+		reader.checkArrayEnd();
+		return Arrays.copyOf(buffer, i);
+	}
+
 	public static void serializeNullable(final Float value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -326,29 +597,40 @@ public abstract class NumberConverter {
 	}
 
 	public static void serialize(final float value, final JsonWriter sw) {
+		final byte[] buf = sw.ensureCapacity(Schubfach.MAX_FLOAT_LENGTH);
+		final int position = sw.size();
+		final int current = serialize(buf, position, value);
+		sw.advance(current - position);
+	}
+
+	private static int serialize(final byte[] buf, final int pos, final float value) {
 		if (Float.isNaN(value)) {
-			sw.writeAscii("\"NaN\"");
+			return writeSpecial(buf, pos, NAN);
 		} else if (Float.isInfinite(value)) {
-			final int bits = Float.floatToIntBits(value);
-			if ((bits & -2147483648) != 0) {
-				sw.writeAscii("\"-Infinity\"");
-			} else {
-				sw.writeAscii("\"Infinity\"");
-			}
-		} else sw.writeAscii(Float.toString(value)); //TODO: better implementation required
+			return writeSpecial(buf, pos, value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+		}
+		return Schubfach.write(value, buf, pos);
 	}
 
-	public static void serialize(final float[] value, final JsonWriter sw) {
-		if (value == null) {
+	public static void serialize(final float[] values, final JsonWriter sw) {
+		if (values == null) {
 			sw.writeNull();
-		} else if (value.length == 0) {
+		} else if (values.length == 0) {
 			sw.writeAscii("[]");
 		} else {
 			sw.writeByte(JsonWriter.ARRAY_START);
-			serialize(value[0], sw);
-			for (int i = 1; i < value.length; i++) {
-				sw.writeByte(JsonWriter.COMMA);
-				serialize(value[i], sw);
+			int i = 0;
+			while (i < values.length) {
+				final int end = Math.min(values.length, i + ARRAY_BATCH);
+				final byte[] buf = sw.ensureCapacity((end - i) * (Schubfach.MAX_FLOAT_LENGTH + 1));
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) {
+						buf[position++] = ',';
+					}
+					position = serialize(buf, position, values[i]);
+				}
+				sw.advance(position - sw.size());
 			}
 			sw.writeByte(JsonWriter.ARRAY_END);
 		}
@@ -360,6 +642,10 @@ public abstract class NumberConverter {
 			final char[] buf = reader.readSimpleQuote();
 			return parseFloatGeneric(buf, reader.getCurrentIndex() - position - 1, position + 1);
 		}
+		return (float) parseFloating(reader, true);
+	}
+
+	private static float parseFloatChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -464,6 +750,35 @@ public abstract class NumberConverter {
 		reader.deserializeNullableCollection(FloatReader, res);
 	}
 
+	/**
+	 * Deserialize JSON array directly into float[] without boxing the elements.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized array
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static float[] deserializeFloatArray(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		if (reader.getNextToken() == ']') {
+			return new float[0];
+		}
+		float[] buffer = new float[16];
+		buffer[0] = deserializeFloat(reader);
+		int i = 1;
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			if (i == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+			buffer[i++] = deserializeFloat(reader);
+		}
+		reader.checkArrayEnd();
+		return Arrays.copyOf(buffer, i);
+	}
+
 	public static void serializeNullable(final Integer value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -534,16 +849,21 @@ public abstract class NumberConverter {
 		} else if (values.length == 0) {
 			sw.writeAscii("[]");
 		} else {
-			final byte[] buf = sw.ensureCapacity(values.length * 21 + 2);
-			int position = sw.size();
-			buf[position++] = '[';
-			position = serialize(buf, position, values[0]);
-			for (int i = 1; i < values.length; i++) {
-				buf[position++] = ',';
-				position = serialize(buf, position, values[i]);
+			sw.writeByte(JsonWriter.ARRAY_START);
+			int i = 0;
+			while (i < values.length) {
+				final int end = Math.min(values.length, i + ARRAY_BATCH);
+				final byte[] buf = sw.ensureCapacity((end - i) * 21);
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) {
+						buf[position++] = ',';
+					}
+					position = serialize(buf, position, values[i]);
+				}
+				sw.advance(position - sw.size());
 			}
-			buf[position++] = ']';
-			sw.advance(position - sw.size());
+			sw.writeByte(JsonWriter.ARRAY_END);
 		}
 	}
 
@@ -569,6 +889,26 @@ public abstract class NumberConverter {
 			final char[] buf = reader.readSimpleQuote();
 			return parseNumberGeneric(buf, reader.getCurrentIndex() - position - 1, position + 1).intValue();
 		}
+		final byte[] buf = reader.buffer;
+		final int start = reader.getCurrentIndex() - 1;
+		final int end = reader.length();
+		final byte sign = buf[start];
+		int i = sign == '-' || sign == '+' ? start + 1 : start;
+		final int digitsStart = i;
+		int value = 0;
+		byte ch;
+		while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+			value = (value << 3) + (value << 1) + ch - '0';
+			i++;
+		}
+		if (i == digitsStart || !isNumberEnd(reader, buf, i, end)) {
+			return i == end && reader.loadMore() ? deserializeInt(reader) : parseIntChars(reader);
+		}
+		reader.endNumber(start, i);
+		return sign == '-' ? -value : value;
+	}
+
+	private static int parseIntChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -625,6 +965,82 @@ public abstract class NumberConverter {
 		reader.deserializeNullableCollection(IntReader, res);
 	}
 
+	/**
+	 * Deserialize collection elements into unboxed list.
+	 * Reader must be positioned on the first element.
+	 *
+	 * @param reader input
+	 * @param res    target list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static void deserializeIntCollection(final JsonReader reader, final IntList res) throws IOException {
+		res.addInt(deserializeInt(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addInt(deserializeInt(reader));
+		}
+		reader.checkArrayEnd();
+	}
+
+	/**
+	 * Deserialize JSON array into unboxed list.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static IntList deserializeIntList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		final IntList res = new IntList();
+		if (reader.getNextToken() != ']') {
+			deserializeIntCollection(reader, res);
+		}
+		return res;
+	}
+
+	public static void serialize(final IntList values, final JsonWriter sw) {
+		sw.writeByte(JsonWriter.ARRAY_START);
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sw.writeByte(JsonWriter.COMMA);
+			}
+			serialize(values.getInt(i), sw);
+		}
+		sw.writeByte(JsonWriter.ARRAY_END);
+	}
+
+	/**
+	 * Deserialize JSON array directly into int[] without boxing the elements.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized array
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static int[] deserializeIntArray(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		if (reader.getNextToken() == ']') {
+			return new int[0];
+		}
+		int[] buffer = new int[16];
+		buffer[0] = deserializeInt(reader);
+		int i = 1;
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			if (i == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+			buffer[i++] = deserializeInt(reader);
+		}
+		reader.checkArrayEnd();
+		return Arrays.copyOf(buffer, i);
+	}
+
 	public static void serializeNullable(final Long value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -754,16 +1170,21 @@ public abstract class NumberConverter {
 		} else if (values.length == 0) {
 			sw.writeAscii("[]");
 		} else {
-			final byte[] buf = sw.ensureCapacity(values.length * 21 + 2);
-			int position = sw.size();
-			buf[position++] = '[';
-			position = serialize(buf, position, values[0]);
-			for (int i = 1; i < values.length; i++) {
-				buf[position++] = ',';
-				position = serialize(buf, position, values[i]);
+			sw.writeByte(JsonWriter.ARRAY_START);
+			int i = 0;
+			while (i < values.length) {
+				final int end = Math.min(values.length, i + ARRAY_BATCH);
+				final byte[] buf = sw.ensureCapacity((end - i) * 21);
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) {
+						buf[position++] = ',';
+					}
+					position = serialize(buf, position, values[i]);
+				}
+				sw.advance(position - sw.size());
 			}
-			buf[position++] = ']';
-			sw.advance(position - sw.size());
+			sw.writeByte(JsonWriter.ARRAY_END);
 		}
 	}
 
@@ -773,6 +1194,26 @@ public abstract class NumberConverter {
 			final char[] buf = reader.readSimpleQuote();
 			return parseNumberGeneric(buf, reader.getCurrentIndex() - position - 1, position + 1).longValue();
 		}
+		final byte[] buf = reader.buffer;
+		final int start = reader.getCurrentIndex() - 1;
+		final int end = reader.length();
+		final byte sign = buf[start];
+		int i = sign == '-' || sign == '+' ? start + 1 : start;
+		final int digitsStart = i;
+		long value = 0;
+		byte ch;
+		while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+			value = (value << 3) + (value << 1) + ch - '0';
+			i++;
+		}
+		if (i == digitsStart || !isNumberEnd(reader, buf, i, end)) {
+			return i == end && reader.loadMore() ? deserializeLong(reader) : parseLongChars(reader);
+		}
+		reader.endNumber(start, i);
+		return sign == '-' ? -value : value;
+	}
+
+	private static long parseLongChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -824,6 +1265,82 @@ public abstract class NumberConverter {
 		reader.deserializeNullableCollection(LongReader, res);
 	}
 
+	/**
+	 * Deserialize collection elements into unboxed list.
+	 * Reader must be positioned on the first element.
+	 *
+	 * @param reader input
+	 * @param res    target list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static void deserializeLongCollection(final JsonReader reader, final LongList res) throws IOException {
+		res.addLong(deserializeLong(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addLong(deserializeLong(reader));
+		}
+		reader.checkArrayEnd();
+	}
+
+	/**
+	 * Deserialize JSON array into unboxed list.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized list
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static LongList deserializeLongList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		final LongList res = new LongList();
+		if (reader.getNextToken() != ']') {
+			deserializeLongCollection(reader, res);
+		}
+		return res;
+	}
+
+	public static void serialize(final LongList values, final JsonWriter sw) {
+		sw.writeByte(JsonWriter.ARRAY_START);
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sw.writeByte(JsonWriter.COMMA);
+			}
+			serialize(values.getLong(i), sw);
+		}
+		sw.writeByte(JsonWriter.ARRAY_END);
+	}
+
+	/**
+	 * Deserialize JSON array directly into long[] without boxing the elements.
+	 * Reader must be positioned on the array start.
+	 *
+	 * @param reader input
+	 * @return deserialized array
+	 * @throws IOException invalid JSON or null element
+	 */
+	public static long[] deserializeLongArray(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw new IOException("Expecting '[' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+		}
+		if (reader.getNextToken() == ']') {
+			return new long[0];
+		}
+		long[] buffer = new long[16];
+		buffer[0] = deserializeLong(reader);
+		int i = 1;
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			if (i == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+			buffer[i++] = deserializeLong(reader);
+		}
+		reader.checkArrayEnd();
+		return Arrays.copyOf(buffer, i);
+	}
+
 	public static void serializeNullable(final BigDecimal value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -842,6 +1359,94 @@ public abstract class NumberConverter {
 			final char[] buf = reader.readSimpleQuote();
 			return parseNumberGeneric(buf, reader.getCurrentIndex() - position - 1, position + 1);
 		}
+		return (BigDecimal) parseDecimal(reader, false);
+	}
+
+	private static Number parseDecimal(final JsonReader reader, final boolean number) throws IOException {
+		final byte[] buf = reader.buffer;
+		final int start = reader.getCurrentIndex() - 1;
+		final int end = reader.length();
+		final byte sign = buf[start];
+		final boolean negative = sign == '-';
+		int i = negative || sign == '+' ? start + 1 : start;
+		int digitsStart = i;
+		long value = 0;
+		byte ch;
+		while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+			value = (value << 3) + (value << 1) + ch - '0';
+			i++;
+		}
+		int digits = i - digitsStart;
+		int scale = 0;
+		final boolean hasDot = i < end && buf[i] == '.';
+		if (hasDot) {
+			digitsStart = ++i;
+			while (i < end && (ch = buf[i]) >= '0' && ch <= '9') {
+				value = (value << 3) + (value << 1) + ch - '0';
+				i++;
+			}
+			scale = i - digitsStart;
+			digits += scale;
+		}
+		final boolean hasExp = i < end && ((ch = buf[i]) == 'e' || ch == 'E');
+		if (hasExp) {
+			i++;
+			final boolean negativeExp = i < end && buf[i] == '-';
+			if (negativeExp || i < end && buf[i] == '+') {
+				i++;
+			}
+			digitsStart = i;
+			int exp = 0;
+			while (i < end && (ch = buf[i]) >= '0' && ch <= '9' && i - digitsStart < 9) {
+				exp = (exp << 3) + (exp << 1) + ch - '0';
+				i++;
+			}
+			if (i == digitsStart) {
+				digits = 0;
+			}
+			scale += negativeExp ? exp : -exp;
+		}
+		if (digits == 0 || !isNumberEnd(reader, buf, i, end)) {
+			if (i == end && reader.loadMore()) {
+				return parseDecimal(reader, number);
+			}
+			return number ? parseNumberChars(reader) : parseDecimalChars(reader);
+		}
+		reader.endNumber(start, i);
+		if (digits > 18 || number && i - start > 18) {
+			return parseLongDecimal(reader, start, i);
+		}
+		if (number && !hasExp) {
+			if (hasDot) {
+				return toDouble(buf, start, i, value, -scale, negative);
+			}
+			return negative ? -value : value;
+		}
+		return BigDecimal.valueOf(negative ? -value : value, scale);
+	}
+
+	private static BigDecimal parseLongDecimal(final JsonReader reader, final int start, final int end) throws IOException {
+		final byte[] buf = reader.buffer;
+		final char[] chars = new char[end - start];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) buf[start + i];
+		}
+		try {
+			return new BigDecimal(chars);
+		} catch (NumberFormatException nfe) {
+			throw new IOException("Error parsing number at position: " + (reader.positionInStream() - chars.length), nfe);
+		}
+	}
+
+	private static double toDouble(final byte[] buf, final int start, final int end, final long mantissa, final int exp, final boolean negative) throws IOException {
+		final double value = EiselLemire.toDouble(mantissa, exp, negative);
+		if (value != value) {
+			return Double.parseDouble(new String(buf, start, end - start, "ISO-8859-1"));
+		}
+		return value;
+	}
+
+	private static BigDecimal parseDecimalChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -978,6 +1583,10 @@ public abstract class NumberConverter {
 	}
 
 	public static Number deserializeNumber(final JsonReader reader) throws IOException {
+		return parseDecimal(reader, true);
+	}
+
+	private static Number parseNumberChars(final JsonReader reader) throws IOException {
 		final char[] buf = reader.readNumber();
 		final int position = reader.getCurrentIndex();
 		final int len = position - reader.getTokenStart();
@@ -1023,7 +1632,7 @@ public abstract class NumberConverter {
 					return parseNumberGeneric(buf, len, position);
 				}
 			}
-			if (i == len) return value / POW_10[len - dp];
+			if (i == len) return parseDoubleGeneric(buf, len, position);
 			else if (ch == 'e' || ch == 'E') {
 				final int ep = i;
 				i++;
@@ -1081,7 +1690,7 @@ public abstract class NumberConverter {
 					return parseNumberGeneric(buf, len, position);
 				}
 			}
-			if (i == len) return value / POW_10[len - dp];
+			if (i == len) return parseDoubleGeneric(buf, len, position);
 			else if (ch == 'e' || ch == 'E') {
 				final int ep = i;
 				i++;
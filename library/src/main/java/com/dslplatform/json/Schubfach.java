@@ -0,0 +1,321 @@
+package com.dslplatform.json;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest decimal representation of double and float values which converts back to the same binary value.
+ * Port of Schubfach algorithm by Raffaello Giulietti
+ * (The Schubfach way to render doubles, https://drive.google.com/open?id=1luHhyQF9zKlM8yJ1nebU0OgVYhfC6CBN)
+ * which writes digits directly into the provided buffer without intermediate allocations.
+ * Output layout is the same as Double.toString/Float.toString (since Java 19), eg. 1.0, 0.001, 1.0E7, 4.9E-324
+ * Special values (NaN and infinities) must be handled by the caller.
+ */
+final class Schubfach {
+
+	static final int MAX_DOUBLE_LENGTH = 24;
+	static final int MAX_FLOAT_LENGTH = 15;
+
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final long MASK_63 = 0x7FFFFFFFFFFFFFFFL;
+	private static final long MASK_32 = 0xFFFFFFFFL;
+
+	private static final int DOUBLE_Q_MIN = -1074;
+	private static final long DOUBLE_C_MIN = 1L << 52;
+	private static final long DOUBLE_T_MASK = DOUBLE_C_MIN - 1;
+	private static final int FLOAT_Q_MIN = -149;
+	private static final int FLOAT_C_MIN = 1 << 23;
+	private static final int FLOAT_T_MASK = FLOAT_C_MIN - 1;
+
+	private static final long[] POW_10 = new long[18];
+	//10^-k = beta * 2^r, for 2^125 <= beta < 2^126. g = floor(beta) + 1 split into higher and lower 63 bits
+	private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+	static {
+		long tenPow = 1;
+		for (int i = 0; i < POW_10.length; i++) {
+			POW_10[i] = tenPow;
+			tenPow *= 10;
+		}
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			final int r = flog2pow10(-k) - 125;
+			final BigInteger beta;
+			if (k <= 0) {
+				final BigInteger pow = BigInteger.TEN.pow(-k);
+				beta = r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r);
+			} else {
+				beta = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+			}
+			final BigInteger g = beta.add(BigInteger.ONE);
+			G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+			G[(k - K_MIN) << 1 | 1] = g.longValue() & MASK_63;
+		}
+	}
+
+	private static int flog10pow2(final int e) {
+		return (int) (e * 661971961083L >> 41);
+	}
+
+	private static int flog10threeQuartersPow2(final int e) {
+		return (int) (e * 661971961083L - 274743187321L >> 41);
+	}
+
+	private static int flog2pow10(final int e) {
+		return (int) (e * 913124641741L >> 38);
+	}
+
+	static long multiplyHigh(final long x, final long y) {
+		final long x1 = x >> 32;
+		final long x2 = x & MASK_32;
+		final long y1 = y >> 32;
+		final long y2 = y & MASK_32;
+		final long z2 = x2 * y2;
+		final long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & MASK_32;
+		final long z0 = t >> 32;
+		z1 += x2 * y1;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	static int write(final double value, final byte[] buf, int pos) {
+		final long bits = Double.doubleToRawLongBits(value);
+		final long t = bits & DOUBLE_T_MASK;
+		final int bq = (int) (bits >>> 52) & 0x7FF;
+		if (bits < 0) {
+			buf[pos++] = '-';
+		}
+		if (bq != 0) {
+			final int mq = -DOUBLE_Q_MIN + 1 - bq;
+			final long c = DOUBLE_C_MIN | t;
+			if (0 < mq && mq < 53) {
+				final long f = c >> mq;
+				if (f << mq == c) {
+					return writeDecimal(f, 0, buf, pos);
+				}
+			}
+			return toDecimal(-mq, c, 0, buf, pos);
+		}
+		if (t != 0) {
+			return t < 3
+					? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, pos)
+					: toDecimal(DOUBLE_Q_MIN, t, 0, buf, pos);
+		}
+		return writeZero(buf, pos);
+	}
+
+	private static int toDecimal(final int q, final long c, final int dk, final byte[] buf, final int pos) {
+		final int out = (int) c & 1;
+		final long cb = c << 2;
+		final long cbr = cb + 2;
+		final long cbl;
+		final int k;
+		if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		final int h = q + flog2pow10(-k) + 2;
+		final long g1 = G[(k - K_MIN) << 1];
+		final long g0 = G[(k - K_MIN) << 1 | 1];
+		final long vb = rop(g1, g0, cb << h);
+		final long vbl = rop(g1, g0, cbl << h);
+		final long vbr = rop(g1, g0, cbr << h);
+		final long s = vb >> 2;
+		if (s >= 100) {
+			final long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+			final long tp10 = sp10 + 10;
+			final boolean upin = vbl + out <= sp10 << 2;
+			final boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return writeDecimal(upin ? sp10 : tp10, k, buf, pos);
+			}
+		}
+		final long t = s + 1;
+		final boolean uin = vbl + out <= s << 2;
+		final boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return writeDecimal(uin ? s : t, k + dk, buf, pos);
+		}
+		final long cmp = vb - (s + t << 1);
+		return writeDecimal(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, pos);
+	}
+
+	private static long rop(final long g1, final long g0, final long cp) {
+		final long x1 = multiplyHigh(g0, cp);
+		final long y0 = g1 * cp;
+		final long y1 = multiplyHigh(g1, cp);
+		final long z = (y0 >>> 1) + x1;
+		final long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+
+	static int write(final float value, final byte[] buf, int pos) {
+		final int bits = Float.floatToRawIntBits(value);
+		final int t = bits & FLOAT_T_MASK;
+		final int bq = (bits >>> 23) & 0xFF;
+		if (bits < 0) {
+			buf[pos++] = '-';
+		}
+		if (bq != 0) {
+			final int mq = -FLOAT_Q_MIN + 1 - bq;
+			final int c = FLOAT_C_MIN | t;
+			if (0 < mq && mq < 24) {
+				final int f = c >> mq;
+				if (f << mq == c) {
+					return writeDecimal(f, 0, buf, pos);
+				}
+			}
+			return toDecimal(-mq, c, 0, buf, pos);
+		}
+		if (t != 0) {
+			return t < 8
+					? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, pos)
+					: toDecimal(FLOAT_Q_MIN, t, 0, buf, pos);
+		}
+		return writeZero(buf, pos);
+	}
+
+	private static int toDecimal(final int q, final int c, final int dk, final byte[] buf, final int pos) {
+		final int out = c & 1;
+		final long cb = c << 2;
+		final long cbr = cb + 2;
+		final long cbl;
+		final int k;
+		if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		final int h = q + flog2pow10(-k) + 33;
+		final long g = G[(k - K_MIN) << 1] + 1;
+		final int vb = rop(g, cb << h);
+		final int vbl = rop(g, cbl << h);
+		final int vbr = rop(g, cbr << h);
+		final int s = vb >> 2;
+		if (s >= 100) {
+			final int sp10 = 10 * (int) (s * 1717986919L >>> 34);
+			final int tp10 = sp10 + 10;
+			final boolean upin = vbl + out <= sp10 << 2;
+			final boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return writeDecimal(upin ? sp10 : tp10, k, buf, pos);
+			}
+		}
+		final int t = s + 1;
+		final boolean uin = vbl + out <= s << 2;
+		final boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return writeDecimal(uin ? s : t, k + dk, buf, pos);
+		}
+		final int cmp = vb - (s + t << 1);
+		return writeDecimal(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, pos);
+	}
+
+	private static int rop(final long g, final long cp) {
+		final long x1 = multiplyHigh(g, cp);
+		final long vbp = x1 >>> 31;
+		return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+	}
+
+	private static int writeZero(final byte[] buf, final int pos) {
+		buf[pos] = '0';
+		buf[pos + 1] = '.';
+		buf[pos + 2] = '0';
+		return pos + 3;
+	}
+
+	//writes f * 10^e where f is positive with at most 17 digits
+	private static int writeDecimal(long f, int e, final byte[] buf, int pos) {
+		while (f % 10000 == 0) {
+			f /= 10000;
+			e += 4;
+		}
+		while (f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		int len = 1;
+		while (len < POW_10.length && f >= POW_10[len]) {
+			len++;
+		}
+		//value is 0.d1..dn * 10^dot
+		final int dot = e + len;
+		if (dot > 0 && dot <= 7) {
+			if (len <= dot) {
+				writeDigits(f, buf, pos + len);
+				pos += len;
+				for (int i = len; i < dot; i++) {
+					buf[pos++] = '0';
+				}
+				buf[pos] = '.';
+				buf[pos + 1] = '0';
+				return pos + 2;
+			}
+			writeDigits(f, buf, pos + len + 1);
+			for (int i = 0; i < dot; i++) {
+				buf[pos + i] = buf[pos + i + 1];
+			}
+			buf[pos + dot] = '.';
+			return pos + len + 1;
+		}
+		if (dot <= 0 && dot > -3) {
+			buf[pos++] = '0';
+			buf[pos++] = '.';
+			for (int i = dot; i < 0; i++) {
+				buf[pos++] = '0';
+			}
+			writeDigits(f, buf, pos + len);
+			return pos + len;
+		}
+		writeDigits(f, buf, pos + len + 1);
+		buf[pos] = buf[pos + 1];
+		buf[pos + 1] = '.';
+		if (len == 1) {
+			buf[pos + 2] = '0';
+			pos += 3;
+		} else {
+			pos += len + 1;
+		}
+		buf[pos++] = 'E';
+		int exp = dot - 1;
+		if (exp < 0) {
+			buf[pos++] = '-';
+			exp = -exp;
+		}
+		if (exp >= 100) {
+			final int q = exp / 100;
+			buf[pos++] = (byte) (q + '0');
+			exp -= q * 100;
+			buf[pos++] = (byte) (exp / 10 + '0');
+		} else if (exp >= 10) {
+			buf[pos++] = (byte) (exp / 10 + '0');
+		}
+		buf[pos++] = (byte) (exp % 10 + '0');
+		return pos;
+	}
+
+	//writes digits of f so that the last digit ends right before the end position
+	private static void writeDigits(long f, final byte[] buf, int end) {
+		while (f > Integer.MAX_VALUE) {
+			final long q = f / 100000000;
+			int r = (int) (f - q * 100000000);
+			f = q;
+			for (int i = 0; i < 8; i++) {
+				final int d = r / 10;
+				buf[--end] = (byte) (r - d * 10 + '0');
+				r = d;
+			}
+		}
+		int v = (int) f;
+		while (v >= 10) {
+			final int d = v / 10;
+			buf[--end] = (byte) (v - d * 10 + '0');
+			v = d;
+		}
+		buf[--end] = (byte) (v + '0');
+	}
+}
@@ -0,0 +1,76 @@
+package com.dslplatform.json;
+
+/**
+ * Statistics about processing of a JSON stream through a window (DslJson.iterateOver).
+ * Can be used for tuning the initial and maximum window size.
+ * Values are updated as the stream is processed, so instance should not be shared between streams.
+ */
+public final class StreamStatistics {
+	long bytesRead;
+	long elements;
+	long compactions;
+	long bytesCompacted;
+	long bufferGrowths;
+	long retries;
+	int bufferSize;
+
+	/**
+	 * @return number of bytes read from the stream
+	 */
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * @return number of processed elements
+	 */
+	public long getElements() {
+		return elements;
+	}
+
+	/**
+	 * @return how many times was the window compacted
+	 */
+	public long getCompactions() {
+		return compactions;
+	}
+
+	/**
+	 * @return number of bytes moved during compaction
+	 */
+	public long getBytesCompacted() {
+		return bytesCompacted;
+	}
+
+	/**
+	 * @return how many times was the window grown for elements which didn't fit into it
+	 */
+	public long getBufferGrowths() {
+		return bufferGrowths;
+	}
+
+	/**
+	 * @return how many times was an element processed again after the window was refilled
+	 */
+	public long getRetries() {
+		return retries;
+	}
+
+	/**
+	 * @return current size of the window
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	@Override
+	public String toString() {
+		return "bytes read: " + bytesRead
+				+ ", elements: " + elements
+				+ ", compactions: " + compactions
+				+ ", bytes compacted: " + bytesCompacted
+				+ ", buffer growths: " + bufferGrowths
+				+ ", retries: " + retries
+				+ ", buffer size: " + bufferSize;
+	}
+}
@@ -0,0 +1,84 @@
+package com.dslplatform.json;
+
+import java.nio.charset.Charset;
+
+/**
+ * Bounded cache of canonical String instances for short, repeating values (enum like values, map keys...).
+ * Entries are indexed by FNV-1a hash of the input bytes and verified against the input before use.
+ * Newer value replaces the older one on collision, so the cache never grows.
+ * Bytes are interpreted as ISO-8859-1 which is only valid for ASCII input, so it's up to the caller to ensure that.
+ * It's safe to share the cache between threads and readers.
+ */
+public final class StringCache {
+
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private final String[] cache;
+	private final int mask;
+	private final int maxLength;
+
+	public StringCache() {
+		this(10, 32);
+	}
+
+	/**
+	 * @param log2Size  cache will hold up to 2^log2Size entries
+	 * @param maxLength longer values are not cached
+	 */
+	public StringCache(final int log2Size, final int maxLength) {
+		if (log2Size < 1 || log2Size > 20) {
+			throw new IllegalArgumentException("log2Size must be between 1 and 20. Found: " + log2Size);
+		}
+		if (maxLength < 1) {
+			throw new IllegalArgumentException("maxLength must be positive. Found: " + maxLength);
+		}
+		this.cache = new String[1 << log2Size];
+		this.mask = cache.length - 1;
+		this.maxLength = maxLength;
+	}
+
+	public int maxLength() {
+		return maxLength;
+	}
+
+	public String get(final byte[] buffer, final int start, final int length) {
+		if (length > maxLength) {
+			return new String(buffer, start, length, ISO_8859_1);
+		}
+		long hash = 0x811c9dc5;
+		for (int i = start; i < start + length; i++) {
+			hash ^= buffer[i];
+			hash *= 0x1000193;
+		}
+		return get(buffer, start, length, (int) hash);
+	}
+
+	/**
+	 * Lookup with hash already calculated by the reader (eg. in fillName or calcHash).
+	 *
+	 * @param buffer input
+	 * @param start  start of the value
+	 * @param length length of the value in bytes
+	 * @param hash   FNV-1a hash of the value
+	 * @return cached instance or a new String which is then stored in the cache
+	 */
+	public String get(final byte[] buffer, final int start, final int length, final int hash) {
+		if (length > maxLength) {
+			return new String(buffer, start, length, ISO_8859_1);
+		}
+		final int index = (hash ^ hash >>> 16) & mask;
+		final String cached = cache[index];
+		if (cached != null && cached.length() == length) {
+			int i = 0;
+			while (i < length && cached.charAt(i) == (buffer[start + i] & 0xFF)) {
+				i++;
+			}
+			if (i == length) {
+				return cached;
+			}
+		}
+		final String value = new String(buffer, start, length, ISO_8859_1);
+		cache[index] = value;
+		return value;
+	}
+}
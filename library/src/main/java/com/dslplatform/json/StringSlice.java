@@ -0,0 +1,135 @@
+package com.dslplatform.json;
+
+import java.nio.charset.Charset;
+
+/**
+ * View of a JSON string as UTF-8 bytes without the surrounding quotes and with escapes already resolved.
+ * Instance is owned by the reader and reused, so it's valid only until the next read.
+ * String is created only when requested via toString() (and cached until the slice is reused).
+ * Equality and hash code work on raw bytes, hash code is the same FNV-1a hash as calculated by fillName.
+ */
+public final class StringSlice implements CharSequence {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private byte[] bytes;
+	private int offset;
+	private int length;
+	private boolean ascii;
+	private String value;
+
+	StringSlice() {
+	}
+
+	StringSlice set(final byte[] bytes, final int offset, final int length, final boolean ascii) {
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+		this.ascii = ascii;
+		this.value = null;
+		return this;
+	}
+
+	public byte[] bytes() {
+		return bytes;
+	}
+
+	public int offset() {
+		return offset;
+	}
+
+	public int byteLength() {
+		return length;
+	}
+
+	public boolean isAscii() {
+		return ascii;
+	}
+
+	@Override
+	public int length() {
+		return ascii ? length : toString().length();
+	}
+
+	@Override
+	public char charAt(final int index) {
+		if (ascii) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+			}
+			return (char) bytes[offset + index];
+		}
+		return toString().charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return toString().substring(start, end);
+	}
+
+	public boolean contentEquals(final byte[] utf8) {
+		if (utf8.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (bytes[offset + i] != utf8[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean contentEquals(final String value) {
+		if (!ascii) {
+			return toString().equals(value);
+		}
+		if (value.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (bytes[offset + i] != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof StringSlice)) {
+			return false;
+		}
+		final StringSlice slice = (StringSlice) other;
+		if (slice.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (bytes[offset + i] != slice.bytes[slice.offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		long hash = 0x811c9dc5;
+		for (int i = offset; i < offset + length; i++) {
+			hash ^= bytes[i];
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+
+	@Override
+	public String toString() {
+		if (value == null) {
+			value = new String(bytes, offset, length, ascii ? ISO_8859_1 : UTF_8);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,106 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+public class ByteBufferChainTest {
+
+	private static byte[] content(ByteBufferChain chain) {
+		ByteBuffer[] buffers = chain.toBuffers();
+		int total = 0;
+		for (ByteBuffer buffer : buffers) {
+			total += buffer.remaining();
+		}
+		byte[] result = new byte[total];
+		int position = 0;
+		for (ByteBuffer buffer : buffers) {
+			int len = buffer.remaining();
+			buffer.get(result, position, len);
+			position += len;
+		}
+		return result;
+	}
+
+	@Test
+	public void serializeIntoDirectBuffers() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		List<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 5000; i++) {
+			items.add("value " + i);
+		}
+		ByteBufferChain chain = new ByteBufferChain(1024, true);
+		json.serialize(items, chain);
+		JsonWriter expected = new JsonWriter();
+		json.serialize(expected, items);
+		Assert.assertEquals(expected.size(), chain.size());
+		Assert.assertArrayEquals(expected.toByteArray(), content(chain));
+		Assert.assertTrue(chain.toBuffers().length > 1);
+		Assert.assertTrue(chain.toBuffers()[0].isDirect());
+	}
+
+	@Test
+	public void providedBuffersAreFilledFirst() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(16);
+		header.put("HDR:".getBytes("UTF-8"));
+		ByteBufferChain chain = new ByteBufferChain(0, false).add(header).add(ByteBuffer.allocateDirect(32));
+		JsonWriter writer = new JsonWriter(8, chain);
+		writer.writeString("abcdefghijklmnopqrstuvwxyz");
+		writer.flush();
+		Assert.assertEquals("HDR:\"abcdefghijklmnopqrstuvwxyz\"", new String(content(chain), "UTF-8"));
+		Assert.assertEquals(28, chain.size());
+		Assert.assertEquals(2, chain.toBuffers().length);
+		chain.clear();
+		Assert.assertEquals(0, chain.size());
+		Assert.assertEquals(0, chain.toBuffers().length);
+		writer.reset(chain);
+		writer.writeAscii(new byte[49]);
+		try {
+			writer.flush();
+			Assert.fail("Expecting overflow");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Provided buffers are full"));
+		}
+	}
+
+	@Test
+	public void gatheringWrite() throws IOException {
+		ByteBufferChain chain = new ByteBufferChain(100, true);
+		JsonWriter writer = new JsonWriter(64, chain);
+		StringBuilder expected = new StringBuilder("[");
+		writer.writeByte(JsonWriter.ARRAY_START);
+		for (int i = 0; i < 1000; i++) {
+			if (i > 0) {
+				writer.writeByte(JsonWriter.COMMA);
+				expected.append(',');
+			}
+			NumberConverter.serialize(i, writer);
+			expected.append(i);
+		}
+		writer.writeByte(JsonWriter.ARRAY_END);
+		expected.append(']');
+		writer.flush();
+		File file = File.createTempFile("dsl-json", ".json");
+		try {
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				FileChannel channel = raf.getChannel();
+				Assert.assertEquals(expected.length(), chain.writeTo(channel));
+				ByteBuffer read = ByteBuffer.allocate(expected.length());
+				channel.position(0);
+				while (read.hasRemaining() && channel.read(read) > 0) ;
+				Assert.assertEquals(expected.toString(), new String(read.array(), "UTF-8"));
+			} finally {
+				raf.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+
+public class ByteBufferTest {
+
+	private static byte[] largeArray(int count) throws IOException {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("{\"id\":").append(i).append(",\"name\":\"item \\\"").append(i).append("\\\"\"}");
+		}
+		sb.append(']');
+		return sb.toString().getBytes("UTF-8");
+	}
+
+	private static void checkItems(List<?> items, int count) {
+		Assert.assertEquals(count, items.size());
+		for (int i = 0; i < count; i++) {
+			Map<?, ?> item = (Map<?, ?>) items.get(i);
+			Assert.assertEquals((long) i, item.get("id"));
+			Assert.assertEquals("item \"" + i + "\"", item.get("name"));
+		}
+	}
+
+	@Test
+	public void heapBufferIsProcessedInPlace() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = "{\"a\":1}".getBytes("UTF-8");
+		ByteBuffer input = ByteBuffer.wrap(bytes);
+		JsonReader<Object> reader = json.newReader(input, new byte[64]);
+		Assert.assertFalse(reader instanceof JsonStreamReader);
+		Assert.assertEquals('{', reader.getNextToken());
+		Map<?, ?> map = json.deserialize(Map.class, input, new byte[64]);
+		Assert.assertEquals(1L, map.get("a"));
+		Assert.assertEquals(0, input.position());
+	}
+
+	@Test
+	public void contentAfterLimitIsNotChanged() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = "[1,2][3,4]".getBytes("UTF-8");
+		ByteBuffer input = ByteBuffer.wrap(bytes);
+		input.limit(5);
+		Assert.assertArrayEquals(new int[]{1, 2}, json.deserialize(int[].class, input, new byte[64]));
+		JsonReader<Object> reader = json.newReader(input, new byte[64]);
+		Assert.assertEquals('[', reader.getNextToken());
+		Assert.assertArrayEquals("[1,2][3,4]".getBytes("UTF-8"), bytes);
+		input.position(5).limit(10);
+		Assert.assertArrayEquals(new int[]{3, 4}, json.deserialize(int[].class, input.slice(), new byte[64]));
+	}
+
+	@Test
+	public void directBuffer() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = largeArray(2000);
+		ByteBuffer input = ByteBuffer.allocateDirect(bytes.length);
+		input.put(bytes);
+		input.flip();
+		List<?> items = Arrays.asList(json.deserialize(Map[].class, input, new byte[256]));
+		checkItems(items, 2000);
+		Assert.assertEquals(0, input.position());
+		JsonReader<Object> reader = json.newReader(input, new byte[256]);
+		Assert.assertEquals('[', reader.getNextToken());
+	}
+
+	@Test
+	public void slicedHeapBuffer() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = "xxxx{\"a\":\"b\"}yy".getBytes("UTF-8");
+		ByteBuffer input = ByteBuffer.wrap(bytes, 4, 9).slice();
+		Map<?, ?> map = json.deserialize(Map.class, input, new byte[64]);
+		Assert.assertEquals("b", map.get("a"));
+		Map<?, ?> readOnly = json.deserialize(Map.class, input.asReadOnlyBuffer(), new byte[64]);
+		Assert.assertEquals(map, readOnly);
+	}
+
+	@Test
+	public void memoryMappedFile() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] bytes = largeArray(5000);
+		File file = File.createTempFile("dsl-json", ".json");
+		try {
+			FileOutputStream fos = new FileOutputStream(file);
+			fos.write(bytes);
+			fos.close();
+			RandomAccessFile raf = new RandomAccessFile(file, "r");
+			try {
+				MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, bytes.length);
+				Iterator<Map> iter = json.iterateOver(Map.class, mapped, new byte[512]);
+				List<Object> items = new ArrayList<Object>();
+				while (iter.hasNext()) {
+					items.add(iter.next());
+				}
+				checkItems(items, 5000);
+			} finally {
+				raf.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
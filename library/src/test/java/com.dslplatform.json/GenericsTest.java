@@ -110,4 +110,164 @@ public class GenericsTest {
 		int[][] deserialized = json.deserialize(int[][].class, writer.getByteBuffer(), writer.size());
 		Assert.assertArrayEquals(items, deserialized);
 	}
+
+	public static class Custom {
+	}
+
+	@Test
+	public void writerPlansForCollections() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonWriter writer = new JsonWriter();
+		List<Object> mixed = new ArrayList<Object>(Arrays.asList(1, 2L, null, "abc", Arrays.asList(3, 4), new int[]{5}));
+		json.serialize(writer, mixed);
+		Assert.assertEquals("[1,2,null,\"abc\",[3,4],[5]]", writer.toString());
+		writer.reset();
+		json.serialize(writer, mixed);
+		Assert.assertEquals("[1,2,null,\"abc\",[3,4],[5]]", writer.toString());
+		writer.reset();
+		writer.writeByte(JsonWriter.ARRAY_START);
+		Assert.assertFalse(json.serialize(writer, ArrayList.class, new ArrayList<Object>(Arrays.asList(1, new Custom()))));
+		Assert.assertEquals("[", writer.toString());
+	}
+
+	@Test
+	public void writerPlansAreInvalidatedOnRegistration() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonWriter writer = new JsonWriter();
+		Assert.assertFalse(json.serialize(writer, Custom.class, new Custom()));
+		json.registerWriter(Custom.class, new JsonWriter.WriteObject<Custom>() {
+			@Override
+			public void write(JsonWriter writer, Custom value) {
+				writer.writeAscii("{}");
+			}
+		});
+		Assert.assertTrue(json.serialize(writer, Custom.class, new Custom()));
+		json.serialize(writer, Collections.singletonList(new Custom()));
+		Assert.assertEquals("{}[{}]", writer.toString());
+	}
+
+	@Test
+	public void concurrentRegistration() throws Exception {
+		final DslJson<Object> json = new DslJson<Object>();
+		final Type[] types = new Type[200];
+		String name = "I";
+		for (int i = 0; i < types.length; i++) {
+			name = "[" + name;
+			types[i] = Class.forName(name);
+		}
+		final JsonWriter.WriteObject<Object> writer = new JsonWriter.WriteObject<Object>() {
+			@Override
+			public void write(JsonWriter writer, Object value) {
+				writer.writeNull();
+			}
+		};
+		final JsonReader.ReadObject<Object> reader = new JsonReader.ReadObject<Object>() {
+			@Override
+			public Object read(JsonReader reader) throws IOException {
+				return null;
+			}
+		};
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int offset = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = offset; i < types.length; i += 4) {
+						json.registerWriter(types[i], writer);
+						json.registerReader(types[i], reader);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		for (Type type : types) {
+			Assert.assertSame(writer, json.tryFindWriter(type));
+			Assert.assertSame(reader, json.tryFindReader(type));
+		}
+	}
+
+	static class Registered {
+	}
+
+	@Test
+	public void bulkConfiguration() throws Exception {
+		final DslJson<Object> json = new DslJson<Object>();
+		final Type[] types = new Type[200];
+		String name = "J";
+		for (int i = 0; i < types.length; i++) {
+			name = "[" + name;
+			types[i] = Class.forName(name);
+		}
+		final JsonWriter.WriteObject<Object> writer = new JsonWriter.WriteObject<Object>() {
+			@Override
+			public void write(JsonWriter writer, Object value) {
+				writer.writeAscii("{}");
+			}
+		};
+		final JsonReader.ReadObject<Object> reader = new JsonReader.ReadObject<Object>() {
+			@Override
+			public Object read(JsonReader reader) throws IOException {
+				return null;
+			}
+		};
+		JsonWriter output = new JsonWriter();
+		Assert.assertFalse(json.serialize(output, Registered.class, new Registered()));
+		final boolean[] visibleDuringConfiguration = new boolean[1];
+		json.configure(Arrays.<Configuration>asList(
+				new Configuration() {
+					@Override
+					public void configure(DslJson dslJson) {
+						for (Type type : types) {
+							dslJson.registerWriter(type, writer);
+							dslJson.registerReader(type, reader);
+						}
+					}
+				},
+				new Configuration() {
+					@Override
+					public void configure(DslJson dslJson) {
+						dslJson.registerWriter(Registered.class, writer);
+						//registration from other thread is not blocked by configuration in progress
+						Thread other = new Thread(new Runnable() {
+							@Override
+							public void run() {
+								json.registerReader(Registered.class, reader);
+							}
+						});
+						other.start();
+						try {
+							other.join();
+						} catch (InterruptedException ex) {
+							throw new RuntimeException(ex);
+						}
+						visibleDuringConfiguration[0] = dslJson.tryFindReader(Registered.class) == reader
+								&& dslJson.tryFindWriter(types[0]) == writer
+								&& dslJson.tryFindReader(types[0]) == reader
+								&& dslJson.tryFindWriter(Registered.class) == writer
+								&& dslJson.tryFindReader(String.class) != null;
+					}
+				}));
+		Assert.assertTrue(visibleDuringConfiguration[0]);
+		for (Type type : types) {
+			Assert.assertSame(writer, json.tryFindWriter(type));
+			Assert.assertSame(reader, json.tryFindReader(type));
+		}
+		Assert.assertTrue(json.serialize(output, Registered.class, new Registered()));
+		Assert.assertEquals("{}", output.toString());
+		Assert.assertSame(reader, json.tryFindReader(Registered.class));
+		final boolean[] builtInsVisible = new boolean[1];
+		new DslJson<Object>(null, false, false, false, null, Collections.<Configuration>singletonList(new Configuration() {
+			@Override
+			public void configure(DslJson dslJson) {
+				dslJson.registerWriter(Registered.class, writer);
+				builtInsVisible[0] = dslJson.tryFindReader(String.class) != null
+						&& dslJson.tryFindWriter(Registered.class) == writer;
+			}
+		}));
+		Assert.assertTrue(builtInsVisible[0]);
+	}
 }
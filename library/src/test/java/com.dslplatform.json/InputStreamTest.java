@@ -5,8 +5,13 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 public class InputStreamTest {
 	@Test
@@ -153,4 +158,151 @@ public class InputStreamTest {
 		byte[] result = json.deserialize(byte[].class, is, new byte[512]);
 		Assert.assertArrayEquals(buf, result);
 	}
+
+	@Test
+	public void canReadNumbersAcrossBufferBoundary() throws IOException {
+		final Random rnd = new Random(1337);
+		final double[] doubles = new double[1000];
+		final long[] longs = new long[1000];
+		for (int i = 0; i < doubles.length; i++) {
+			doubles[i] = rnd.nextDouble() * Math.pow(10, rnd.nextInt(20) - 10);
+			longs[i] = rnd.nextLong() >> rnd.nextInt(64);
+		}
+		final JsonWriter writer = new JsonWriter();
+		NumberConverter.serialize(doubles, writer);
+		DslJson<Object> json = new DslJson<Object>();
+		double[] doubleResult = json.deserialize(double[].class, new ByteArrayInputStream(writer.toByteArray()), new byte[64]);
+		Assert.assertArrayEquals(doubles, doubleResult, 0);
+		writer.reset();
+		NumberConverter.serialize(longs, writer);
+		long[] longResult = json.deserialize(long[].class, new ByteArrayInputStream(writer.toByteArray()), new byte[64]);
+		Assert.assertArrayEquals(longs, longResult);
+	}
+
+	private static String variableSizeRecords(int count) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append("{\"x\":").append(i).append(",\"text\":\"");
+			for (int j = 0; j < (i * 37) % 700; j++) {
+				sb.append((char) ('a' + j % 26));
+			}
+			sb.append("\"}");
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	@Test
+	public void testElementsLargerThanBuffer() throws IOException {
+		String input = variableSizeRecords(500);
+		DslJson<Object> json = new DslJson<Object>();
+		List<Map> expected = json.deserializeList(Map.class, input.getBytes("UTF-8"), input.length());
+		StreamStatistics statistics = new StreamStatistics();
+		Iterator<Map> result = json.iterateOver(Map.class, new ByteArrayInputStream(input.getBytes("UTF-8")), new byte[64], 1024, statistics);
+		List<Map> items = new ArrayList<Map>();
+		while (result.hasNext()) {
+			items.add(result.next());
+		}
+		Assert.assertEquals(expected, items);
+		Assert.assertEquals(500, statistics.getElements());
+		Assert.assertEquals(input.length(), statistics.getBytesRead());
+		Assert.assertEquals(1024, statistics.getBufferSize());
+		Assert.assertTrue(statistics.getBufferGrowths() > 0);
+		Assert.assertTrue(statistics.getCompactions() > 0);
+		Assert.assertTrue(statistics.getBytesCompacted() < input.length());
+	}
+
+	@Test
+	public void testElementOverMaximumBufferSize() throws IOException {
+		String input = variableSizeRecords(500);
+		DslJson<Object> json = new DslJson<Object>();
+		Iterator<Map> result = json.iterateOver(Map.class, new ByteArrayInputStream(input.getBytes("UTF-8")), new byte[64], 256, null);
+		try {
+			while (result.hasNext()) {
+				result.next();
+			}
+			Assert.fail("Expecting exception");
+		} catch (RuntimeException ex) {
+			Assert.assertTrue(ex.getCause().getMessage().contains("larger than maximum buffer size of 256 bytes"));
+		}
+	}
+
+	@Test
+	public void testInvalidElementIsReportedWithoutGrowingBuffer() throws IOException {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			sb.append(i == 50 ? "{\"x\":abc}," : "{\"x\":1},");
+		}
+		sb.append("{}]");
+		DslJson<Object> json = new DslJson<Object>();
+		StreamStatistics statistics = new StreamStatistics();
+		Iterator<Map> result = json.iterateOver(Map.class, new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), new byte[128], 1 << 20, statistics);
+		int total = 0;
+		try {
+			while (result.hasNext()) {
+				result.next();
+				total++;
+			}
+			Assert.fail("Expecting exception");
+		} catch (RuntimeException ex) {
+			Assert.assertEquals(50, total);
+			Assert.assertEquals(0, statistics.getBufferGrowths());
+		}
+	}
+
+	@Test
+	public void testJsonObjectsLargerThanBuffer() throws IOException {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 300; i++) {
+			if (i > 0) sb.append(",\n");
+			sb.append("{\"x\":").append(i).append(",\"y\":").append(i / 10d).append(",\"z\":").append(i % 2 == 0).append('}');
+		}
+		sb.append("]");
+		DslJson<Object> json = new DslJson<Object>();
+		Iterator<Obj> result = json.iterateOver(Obj.class, new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), new byte[16]);
+		int total = 0;
+		while (result.hasNext()) {
+			Obj obj = result.next();
+			Assert.assertEquals(total, obj.x);
+			Assert.assertEquals(total / 10d, obj.y, 0);
+			Assert.assertEquals(total % 2 == 0, obj.z);
+			total++;
+		}
+		Assert.assertEquals(300, total);
+	}
+
+	static class Unknown {
+		final String content;
+
+		Unknown(String content) {
+			this.content = content;
+		}
+	}
+
+	@Test
+	public void testIteratingWithFallback() throws IOException {
+		DslJson.Fallback<Object> fallback = new DslJson.Fallback<Object>() {
+			@Override
+			public void serialize(Object instance, OutputStream stream) {
+			}
+
+			@Override
+			public Object deserialize(Object context, Type manifest, byte[] body, int size) throws IOException {
+				return new Unknown(new String(body, 0, size, "UTF-8").trim());
+			}
+		};
+		DslJson<Object> json = new DslJson<Object>(null, false, false, false, fallback, null);
+		String input = variableSizeRecords(50);
+		Iterator<Unknown> result = json.iterateOver(Unknown.class, new ByteArrayInputStream(input.getBytes("UTF-8")), new byte[64]);
+		List<Map> expected = json.deserializeList(Map.class, input.getBytes("UTF-8"), input.length());
+		int total = 0;
+		while (result.hasNext()) {
+			String content = result.next().content;
+			byte[] bytes = content.getBytes("UTF-8");
+			Assert.assertEquals(expected.get(total), json.deserialize(Map.class, bytes, bytes.length));
+			total++;
+		}
+		Assert.assertEquals(50, total);
+	}
 }
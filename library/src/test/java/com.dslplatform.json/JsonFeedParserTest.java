@@ -0,0 +1,173 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class JsonFeedParserTest {
+
+	private static <T> List<T> feedInChunks(JsonFeedParser<T> parser, byte[] input, int chunk) throws IOException {
+		List<T> result = new ArrayList<T>();
+		for (int i = 0; i < input.length; i += chunk) {
+			parser.feed(input, i, Math.min(chunk, input.length - i));
+			while (parser.hasNext()) {
+				result.add(parser.next());
+			}
+		}
+		parser.endOfInput();
+		while (parser.hasNext()) {
+			result.add(parser.next());
+		}
+		return result;
+	}
+
+	@Test
+	public void arrayElementsAcrossChunks() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		StringBuilder sb = new StringBuilder(" [ ");
+		List<Object> expected = new ArrayList<Object>();
+		for (int i = 0; i < 500; i++) {
+			if (i > 0) sb.append(" ,\n");
+			if (i % 50 == 3) {
+				sb.append("null");
+				expected.add(null);
+			} else {
+				sb.append("{\"id\":").append(i).append(",\"text\":\"quote \\\" ] } [ \\\\\",\"nested\":[{},[1,2]]}");
+				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				map.put("id", (long) i);
+				map.put("text", "quote \" ] } [ \\");
+				map.put("nested", Arrays.asList(new LinkedHashMap<String, Object>(), Arrays.asList(1L, 2L)));
+				expected.add(map);
+			}
+		}
+		sb.append("] ");
+		byte[] input = sb.toString().getBytes("UTF-8");
+		for (int chunk : new int[]{1, 7, 64, 100000}) {
+			JsonFeedParser<Map> parser = json.newArrayFeedParser(Map.class);
+			Assert.assertEquals(expected, feedInChunks(parser, input, chunk));
+			Assert.assertTrue(parser.isDone());
+		}
+	}
+
+	@Test
+	public void valueSequence() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] input = "12 345\n-6\r\n\"7\"\n7.5e1 null 9".getBytes("UTF-8");
+		for (int chunk = 1; chunk < input.length; chunk++) {
+			JsonFeedParser<Double> parser = json.newFeedParser(Double.class);
+			Assert.assertEquals(Arrays.asList(12.0, 345.0, -6.0, 7.0, 75.0, null, 9.0), feedInChunks(parser, input, chunk));
+		}
+	}
+
+	@Test
+	public void feedFromByteBuffer() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonFeedParser<String> parser = json.newArrayFeedParser(String.class);
+		ByteBuffer direct = ByteBuffer.allocateDirect(64);
+		direct.put("[\"a\",\"b".getBytes("UTF-8"));
+		direct.flip();
+		parser.feed(direct);
+		Assert.assertEquals(0, direct.remaining());
+		Assert.assertEquals("a", parser.next());
+		Assert.assertFalse(parser.hasNext());
+		parser.feed(ByteBuffer.wrap("c\"]".getBytes("UTF-8")));
+		Assert.assertEquals("bc", parser.next());
+		Assert.assertTrue(parser.isDone());
+		parser.endOfInput();
+	}
+
+	@Test
+	public void emptyArray() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonFeedParser<String> parser = json.newArrayFeedParser(String.class);
+		Assert.assertEquals(0, feedInChunks(parser, "[ ]".getBytes("UTF-8"), 1).size());
+		Assert.assertTrue(parser.isDone());
+	}
+
+	@Test
+	public void invalidInput() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		try {
+			json.newArrayFeedParser(String.class).feed("{\"a\":1}".getBytes("UTF-8"), 0, 7);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Expecting '['"));
+		}
+		try {
+			json.newArrayFeedParser(Long.class).feed("[1 2]".getBytes("UTF-8"), 0, 5);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Expecting ',' or ']' at position 3"));
+		}
+		JsonFeedParser<Map> unfinished = json.newArrayFeedParser(Map.class);
+		unfinished.feed("[{\"a\":".getBytes("UTF-8"), 0, 6);
+		try {
+			unfinished.endOfInput();
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unexpected end of JSON input"));
+		}
+	}
+
+	@Test
+	public void trailingContentAfterScalarIsRejected() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		String[] inputs = {"nullx ", "[nullx]", "[1x]", "[\"a\"x]", "[truex]"};
+		Class<?>[] types = {Long.class, Long.class, Long.class, String.class, Boolean.class};
+		for (int i = 0; i < inputs.length; i++) {
+			String input = inputs[i];
+			JsonFeedParser<?> parser = input.charAt(0) == '['
+					? json.newArrayFeedParser(types[i])
+					: json.newFeedParser(types[i]);
+			byte[] bytes = input.getBytes("UTF-8");
+			try {
+				parser.feed(bytes, 0, bytes.length);
+				parser.endOfInput();
+				Assert.fail("Expecting exception for " + input);
+			} catch (IOException ignore) {
+			}
+		}
+		JsonFeedParser<Long> atEnd = json.newFeedParser(Long.class);
+		atEnd.feed("1 nullx".getBytes("UTF-8"), 0, 7);
+		try {
+			atEnd.endOfInput();
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("Expecting end of value at position 6"));
+		}
+		Assert.assertEquals(Long.valueOf(1), atEnd.next());
+		Assert.assertFalse(atEnd.hasNext());
+	}
+
+	@Test
+	public void parserFailsAfterInvalidInput() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonFeedParser<Long> parser = json.newArrayFeedParser(Long.class);
+		parser.feed("[1,".getBytes("UTF-8"), 0, 3);
+		try {
+			parser.feed("2 3,4]".getBytes("UTF-8"), 0, 6);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Expecting ',' or ']'"));
+		}
+		Assert.assertEquals(Long.valueOf(1), parser.next());
+		Assert.assertEquals(Long.valueOf(2), parser.next());
+		Assert.assertFalse(parser.hasNext());
+		try {
+			parser.feed("5]".getBytes("UTF-8"), 0, 2);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unable to continue"));
+		}
+		try {
+			parser.endOfInput();
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unable to continue"));
+		}
+		Assert.assertFalse(parser.hasNext());
+	}
+}
@@ -0,0 +1,150 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+
+public class JsonPointerTest {
+
+	private final DslJson<Object> json = new DslJson<Object>();
+
+	private static final byte[] DOCUMENT;
+
+	static {
+		try {
+			DOCUMENT = ("{\"ignored\":{\"deep\":[1,{\"x\":\"}]\\\"x\"}],\"s\":\"\\\"\"},"
+					+ "\"meta\":{\"tenantId\":\"acme\",\"version\":3,\"a/b\":true,\"m~n\":null,\"\\u0065sc\":\"e\"},"
+					+ "\"items\":[{\"price\":1.5},{\"price\":2.25,\"tags\":[\"a\",\"b\"]}],"
+					+ "\"0\":\"zero\"}").getBytes("UTF-8");
+		} catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private <T> T extract(Class<T> manifest, String pointer) throws IOException {
+		return json.extract(manifest, JsonPointer.compile(pointer), DOCUMENT, DOCUMENT.length);
+	}
+
+	@Test
+	public void singleValues() throws IOException {
+		Assert.assertEquals("acme", extract(String.class, "/meta/tenantId"));
+		Assert.assertEquals(Integer.valueOf(3), extract(Integer.class, "/meta/version"));
+		Assert.assertEquals(new BigDecimal("2.25"), extract(BigDecimal.class, "/items/1/price"));
+		Assert.assertEquals("b", extract(String.class, "/items/1/tags/1"));
+		Assert.assertEquals(Boolean.TRUE, extract(Boolean.class, "/meta/a~1b"));
+		Assert.assertNull(extract(String.class, "/meta/m~0n"));
+		Assert.assertEquals("e", extract(String.class, "/meta/esc"));
+		Assert.assertEquals("zero", extract(String.class, "/0"));
+		Map<?, ?> meta = extract(Map.class, "/meta");
+		Assert.assertEquals(5, meta.size());
+		Map<?, ?> all = extract(Map.class, "");
+		Assert.assertEquals(json.deserialize(Map.class, DOCUMENT, DOCUMENT.length), all);
+	}
+
+	@Test
+	public void missingValues() throws IOException {
+		Assert.assertNull(extract(String.class, "/meta/missing"));
+		Assert.assertNull(extract(String.class, "/items/2/price"));
+		Assert.assertNull(extract(String.class, "/items/price"));
+		Assert.assertNull(extract(String.class, "/meta/tenantId/x"));
+		Assert.assertNull(extract(String.class, "/items/01"));
+	}
+
+	@Test
+	public void invalidPointers() {
+		String[] invalid = {"meta", "/a~2", "/a~"};
+		for (String pointer : invalid) {
+			try {
+				JsonPointer.compile(pointer);
+				Assert.fail("Expecting exception for " + pointer);
+			} catch (IllegalArgumentException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void navigateReader() throws IOException {
+		JsonReader<Object> reader = json.newReader(DOCUMENT, DOCUMENT.length);
+		reader.getNextToken();
+		Assert.assertTrue(JsonPointer.compile("/items/0").navigate(reader));
+		Assert.assertEquals('{', reader.last());
+		Assert.assertEquals(Collections.singletonMap("price", 1.5), DslJson.deserializeMap(reader));
+	}
+
+	@Test
+	public void multipleValuesInSinglePass() throws IOException {
+		JsonExtractor extractor = json.newExtractor(
+				new JsonPointer[]{
+						JsonPointer.compile("/items/1/price"),
+						JsonPointer.compile("/meta/tenantId"),
+						JsonPointer.compile("/meta/missing"),
+						JsonPointer.compile("/items/1"),
+						JsonPointer.compile("/items/1/tags/0"),
+						JsonPointer.compile("/0")
+				},
+				new Class<?>[]{Double.class, String.class, String.class, Map.class, String.class, String.class});
+		Object[] values = extractor.extract(DOCUMENT, DOCUMENT.length);
+		Assert.assertEquals(2.25, values[0]);
+		Assert.assertEquals("acme", values[1]);
+		Assert.assertNull(values[2]);
+		Assert.assertEquals(2, ((Map<?, ?>) values[3]).size());
+		Assert.assertEquals("a", values[4]);
+		Assert.assertEquals("zero", values[5]);
+	}
+
+	@Test
+	public void extractionProcessesWholeInput() throws IOException {
+		byte[] input = "{\"meta\":{\"id\":7},\"payload\":[1,2,".getBytes("UTF-8");
+		try {
+			json.newExtractor(new JsonPointer[]{JsonPointer.compile("/meta/id")}, new Class<?>[]{Long.class})
+					.extract(input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+	}
+
+	@Test
+	public void topLevelScalar() throws IOException {
+		byte[] input = "\"abc\"".getBytes("UTF-8");
+		JsonExtractor extractor = json.newExtractor(
+				new JsonPointer[]{JsonPointer.compile("/a"), JsonPointer.compile("")},
+				new Class<?>[]{String.class, String.class});
+		Object[] values = extractor.extract(input, input.length);
+		Assert.assertNull(values[0]);
+		Assert.assertEquals("abc", values[1]);
+	}
+
+	@Test
+	public void duplicateKeysUseLastValue() throws IOException {
+		byte[] input = "{\"a\":1,\"a\":2,\"b\":3,\"c\":{\"x\":4,\"y\":5},\"d\":[1],\"c\":{\"x\":6},\"d\":[7,8]}".getBytes("UTF-8");
+		JsonPointer[] pointers = new JsonPointer[]{
+				JsonPointer.compile("/a"),
+				JsonPointer.compile("/b"),
+				JsonPointer.compile("/c/x"),
+				JsonPointer.compile("/c/y"),
+				JsonPointer.compile("/c"),
+				JsonPointer.compile("/d/1")
+		};
+		Object[] values = json.newExtractor(pointers, new Class<?>[]{Long.class, Long.class, Long.class, Long.class, Map.class, Long.class})
+				.extract(input, input.length);
+		Map<?, ?> eager = json.deserialize(Map.class, input, input.length);
+		Map<?, ?> lazy = (Map<?, ?>) json.deserializeLazy(input, input.length);
+		Object[] expected = {
+				eager.get("a"),
+				eager.get("b"),
+				((Map<?, ?>) eager.get("c")).get("x"),
+				((Map<?, ?>) eager.get("c")).get("y"),
+				eager.get("c"),
+				((List<?>) eager.get("d")).get(1)
+		};
+		Assert.assertArrayEquals(new Object[]{2L, 3L, 6L, null, Collections.singletonMap("x", 6L), 8L}, expected);
+		Assert.assertArrayEquals(expected, values);
+		Assert.assertEquals(eager, lazy);
+		for (int i = 0; i < pointers.length; i++) {
+			Assert.assertEquals(expected[i], json.extract(i == 4 ? Map.class : Long.class, pointers[i], input, input.length));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public class JsonReaderTest {
+
+	private static JsonReader<Object> reader(final String json) throws IOException {
+		final byte[] input = json.getBytes("UTF-8");
+		final JsonReader<Object> reader = new JsonReader<Object>(input, null);
+		reader.getNextToken();
+		reader.getNextToken();
+		return reader;
+	}
+
+	@Test
+	public void orderedNames() throws IOException {
+		final JsonReader<Object> reader = reader("{\"id\":1,\"name\" : \"x\",\"other\":2}");
+		Assert.assertFalse(reader.tryReadName("name".getBytes("UTF-8")));
+		Assert.assertFalse(reader.tryReadName("i".getBytes("UTF-8")));
+		Assert.assertTrue(reader.tryReadName("id".getBytes("UTF-8")));
+		reader.getNextToken();
+		Assert.assertEquals(1, NumberConverter.deserializeInt(reader));
+		Assert.assertEquals(',', reader.getNextToken());
+		reader.getNextToken();
+		Assert.assertTrue(reader.tryReadName("name".getBytes("UTF-8")));
+		reader.getNextToken();
+		Assert.assertEquals("x", reader.readString());
+		Assert.assertEquals(',', reader.getNextToken());
+		reader.getNextToken();
+		Assert.assertFalse(reader.tryReadName("othe".getBytes("UTF-8")));
+		Assert.assertFalse(reader.tryReadName("others".getBytes("UTF-8")));
+		final int hash = reader.fillName();
+		Assert.assertEquals(hash, new StringSlice().set("other".getBytes("UTF-8"), 0, 5, true).hashCode());
+		Assert.assertTrue(reader.wasLastName("other".getBytes("UTF-8")));
+		Assert.assertFalse(reader.wasLastName("othe".getBytes("UTF-8")));
+	}
+
+	@Test
+	public void nameKeys() throws IOException {
+		final JsonReader<Object> reader = reader("{\"width\" :1}");
+		final int key = reader.fillNameKey();
+		Assert.assertEquals(':', reader.last());
+		Assert.assertEquals(JsonReader.nameKey("width".getBytes("UTF-8")), key);
+		Assert.assertTrue(reader.wasLastName("width".getBytes("UTF-8")));
+		Assert.assertFalse(reader.wasLastName("wi_th".getBytes("UTF-8")));
+		reader.getNextToken();
+		Assert.assertEquals(1, NumberConverter.deserializeInt(reader));
+		final JsonReader<Object> empty = reader("{\"\":1}");
+		Assert.assertEquals(JsonReader.nameKey(new byte[0]), empty.fillNameKey());
+		Assert.assertTrue(empty.wasLastName(new byte[0]));
+	}
+
+	@Test(expected = IOException.class)
+	public void missingColon() throws IOException {
+		reader("{\"id\" 1}").tryReadName("id".getBytes("UTF-8"));
+	}
+
+	@Test
+	public void skipEscapedBackslashes() throws IOException {
+		final String[] values = {
+				"\"\\\\\"",
+				"\"a\\\\\\\"b\\\\\"",
+				"\"long string without escapes \\\\\"",
+				"{\"a\\\\\":\"}\\\\\",\"b\":[\"]\\\\\\\"\",{}]}",
+				"[\"\\u0022\",\"\u017e\u0161\u0107\u010d\\\\\",1,true,null,{\"x\":[[[]]]}]"
+		};
+		for (String value : values) {
+			final JsonReader<Object> reader = reader("[" + value + ",2]");
+			Assert.assertEquals(',', reader.skip());
+			reader.getNextToken();
+			Assert.assertEquals(2, NumberConverter.deserializeInt(reader));
+		}
+	}
+
+	@Test
+	public void skipDeeplyNested() throws IOException {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			sb.append("{\"a\":[");
+		}
+		for (int i = 0; i < 100; i++) {
+			sb.append("]}");
+		}
+		sb.append(",3]");
+		final JsonReader<Object> reader = reader(sb.toString());
+		Assert.assertEquals(',', reader.skip());
+		reader.getNextToken();
+		Assert.assertEquals(3, NumberConverter.deserializeInt(reader));
+	}
+
+	@Test
+	public void skipInvalidStructure() throws IOException {
+		final String[] values = {"[{\"a\":[1}],2]", "[{\"a\":\"b\\\"}]", "[[1,2"};
+		for (String value : values) {
+			try {
+				reader(value).skip();
+				Assert.fail("Expecting exception for " + value);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void skipAcrossStreamWindow() throws IOException {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 200; i++) {
+			sb.append("{\"name\":\"value \\\\ \\\"").append(i).append("\\\"\",\"list\":[1,2,{}]},");
+		}
+		sb.append("42]");
+		final byte[] input = sb.toString().getBytes("UTF-8");
+		final JsonReader<Object> reader = new JsonStreamReader<Object>(new ByteArrayInputStream(input), new byte[64], null);
+		reader.getNextToken();
+		reader.getNextToken();
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals(',', reader.skip());
+			reader.getNextToken();
+		}
+		Assert.assertEquals(42, NumberConverter.deserializeInt(reader));
+	}
+}
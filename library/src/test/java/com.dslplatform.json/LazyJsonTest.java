@@ -0,0 +1,153 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+public class LazyJsonTest {
+
+	private final DslJson<Object> json = new DslJson<Object>();
+
+	private static byte[] bytes(String value) throws IOException {
+		return value.getBytes("UTF-8");
+	}
+
+	@Test
+	public void sameAsEagerDeserialization() throws IOException {
+		byte[] input = bytes("{\"a\":1,\"b\":[true,false,null,\"x\\\"y\\\\\"],\"c\":{\"d\":-1.5e2,\"e\":{}},\"f\":[],\"\\u0067\":\"\\u0041\"}");
+		Object lazy = json.deserializeLazy(input, input.length);
+		Object eager = json.deserialize(Map.class, input, input.length);
+		Assert.assertTrue(lazy instanceof Map);
+		Assert.assertEquals(eager, lazy);
+		Assert.assertEquals(lazy, eager);
+		Assert.assertEquals(eager.hashCode(), lazy.hashCode());
+		Assert.assertEquals(new ArrayList<Object>(((Map<?, ?>) eager).keySet()), new ArrayList<Object>(((Map<?, ?>) lazy).keySet()));
+	}
+
+	@Test
+	public void onlyAccessedValuesAreMaterialized() throws IOException {
+		byte[] input = bytes("{\"id\":5,\"broken\":\"\\uZZZZ\",\"nested\":{\"name\":\"abc\",\"other\":\"\\q\"},\"items\":[1,2,\"\\x\"]}");
+		Map<?, ?> map = (Map<?, ?>) json.deserializeLazy(input, input.length);
+		Assert.assertEquals(4, map.size());
+		Assert.assertEquals(5L, map.get("id"));
+		Assert.assertEquals("abc", ((Map<?, ?>) map.get("nested")).get("name"));
+		List<?> items = (List<?>) map.get("items");
+		Assert.assertEquals(3, items.size());
+		Assert.assertEquals(2L, items.get(1));
+		Assert.assertNull(map.get("missing"));
+		Assert.assertTrue(map.containsKey("broken"));
+		try {
+			map.get("broken");
+			Assert.fail("Expecting exception");
+		} catch (RuntimeException ex) {
+			Assert.assertTrue(ex.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void topLevelValues() throws IOException {
+		byte[] array = bytes(" [ {\"a\":[[]]} , 2 ] ");
+		List<?> list = (List<?>) json.deserializeLazy(array, array.length);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(Collections.singletonList(Collections.emptyList()), ((Map<?, ?>) list.get(0)).get("a"));
+		byte[] number = bytes("123");
+		Assert.assertEquals(123L, json.deserializeLazy(number, number.length));
+		byte[] string = bytes("\"abc\"");
+		Assert.assertEquals("abc", json.deserializeLazy(string, string.length));
+		byte[] nul = bytes("null");
+		Assert.assertNull(json.deserializeLazy(nul, nul.length));
+	}
+
+	@Test
+	public void duplicateKeysUseLastValue() throws IOException {
+		byte[] input = bytes("{\"a\":1,\"b\":2,\"a\":3}");
+		Map<?, ?> map = (Map<?, ?>) json.deserializeLazy(input, input.length);
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals(3L, map.get("a"));
+		Assert.assertEquals(Arrays.asList("a", "b"), new ArrayList<Object>(map.keySet()));
+	}
+
+	@Test
+	public void invalidStructure() throws IOException {
+		String[] invalid = {"", "{", "[1,]", "{\"a\" 1}", "{\"a\":1,}", "[1}", "{1:2}", "[1] 2", "\"abc", "[1 2]", "{\"a\":1]"};
+		for (String value : invalid) {
+			byte[] input = bytes(value);
+			try {
+				json.deserializeLazy(input, input.length);
+				Assert.fail("Expecting exception for " + value);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void invalidScalarsAreRejectedWhileIndexing() throws IOException {
+		String[] invalid = {"{\"a\":nulx}", "[tru]", "[truex]", "nullx", "fals", "[1x2]", "-", "[-]", "[1.]", "[1.e5]",
+				"1e", "[1e+]", "[.5]", "[+1]", "[1.5.3]", "{\"a\":1-2}", "[NaN]"};
+		for (String value : invalid) {
+			byte[] input = bytes(value);
+			try {
+				json.deserializeLazy(input, input.length);
+				Assert.fail("Expecting exception for " + value);
+			} catch (IOException ignore) {
+			}
+		}
+		byte[] input = bytes("{\"a\":nulx}");
+		try {
+			json.deserializeLazy(input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertEquals("Expecting 'null' at position 8. Found x", ex.getMessage());
+		}
+		byte[] valid = bytes("{\"v\":[0,-0,1.5,-2e3,4E+5,6e-7,-8.25E-1,true,false,null]}");
+		Assert.assertEquals(
+				json.deserialize(Map.class, valid, valid.length),
+				json.deserializeLazy(valid, valid.length));
+	}
+
+	@Test
+	public void largeDocumentGrowsTape() throws IOException {
+		StringBuilder sb = new StringBuilder("{\"items\":[");
+		for (int i = 0; i < 5000; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("{\"id\":").append(i).append(",\"tags\":[\"a\",null,").append(i * 0.5).append("]}");
+		}
+		sb.append("]}");
+		byte[] input = bytes(sb.toString());
+		Map<?, ?> lazy = (Map<?, ?>) json.deserializeLazy(input, input.length);
+		Assert.assertEquals(5000, ((List<?>) lazy.get("items")).size());
+		Assert.assertEquals(json.deserialize(Map.class, input, input.length), lazy);
+	}
+
+	@Test
+	public void viewsAreReadOnly() throws IOException {
+		byte[] input = bytes("{\"a\":[1]}");
+		Map<String, Object> map = (Map<String, Object>) json.deserializeLazy(input, input.length);
+		try {
+			map.put("b", 2);
+			Assert.fail("Expecting exception");
+		} catch (UnsupportedOperationException ignore) {
+		}
+		try {
+			((List<Object>) map.get("a")).add(2);
+			Assert.fail("Expecting exception");
+		} catch (UnsupportedOperationException ignore) {
+		}
+	}
+
+	@Test
+	public void serializationCopiesOriginalJson() throws IOException {
+		byte[] input = bytes("{ \"a\" : [ 1.50, \"\\u0041\" ], \"b\" : { } }");
+		Map<?, ?> map = (Map<?, ?>) json.deserializeLazy(input, input.length);
+		JsonWriter writer = new JsonWriter();
+		json.serialize(writer, map.get("a"));
+		Assert.assertEquals("[ 1.50, \"\\u0041\" ]", writer.toString());
+		writer.reset();
+		Map<String, Object> envelope = new LinkedHashMap<String, Object>();
+		envelope.put("payload", map);
+		json.serialize(writer, envelope);
+		Assert.assertEquals("{\"payload\":" + new String(input, "UTF-8") + "}", writer.toString());
+	}
+}
@@ -0,0 +1,100 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+public class NdJsonTest {
+
+	@Test
+	public void roundtripManyLines() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		List<Object> values = new ArrayList<Object>();
+		for (int i = 0; i < 10000; i++) {
+			if (i % 1000 == 5) {
+				values.add(null);
+			} else {
+				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				map.put("id", (long) i);
+				map.put("message", "event \"" + i + "\"\n");
+				values.add(map);
+			}
+		}
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serializeLines(values.iterator(), os);
+		String output = os.toString("UTF-8");
+		Assert.assertTrue(output.startsWith("{\"id\":0,\"message\":\"event \\\"0\\\"\\n\"}\n{\"id\":1,"));
+		Assert.assertTrue(output.endsWith("}\n"));
+		Iterator<Map> iter = json.iterateOverLines(Map.class, new ByteArrayInputStream(os.toByteArray()), new byte[256]);
+		List<Object> result = new ArrayList<Object>();
+		while (iter.hasNext()) {
+			result.add(iter.next());
+		}
+		Assert.assertEquals(values, result);
+	}
+
+	@Test
+	public void whitespaceBetweenValues() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] input = "\r\n 1\r\n2\n\n\n   3 4\n\n".getBytes("UTF-8");
+		Iterator<Long> iter = json.iterateOverLines(Long.class, new ByteArrayInputStream(input), new byte[4]);
+		List<Long> result = new ArrayList<Long>();
+		while (iter.hasNext()) {
+			result.add(iter.next());
+		}
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), result);
+	}
+
+	@Test
+	public void emptyInput() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Iterator<String> iter = json.iterateOverLines(String.class, new ByteArrayInputStream(new byte[0]), new byte[64]);
+		Assert.assertFalse(iter.hasNext());
+		iter = json.iterateOverLines(String.class, new ByteArrayInputStream("\n\n".getBytes("UTF-8")), new byte[64]);
+		Assert.assertFalse(iter.hasNext());
+	}
+
+	private static <T> List<T> readLines(DslJson<Object> json, Class<T> manifest, String input, int size) throws IOException {
+		Iterator<T> iter = json.iterateOverLines(manifest, new ByteArrayInputStream(input.getBytes("UTF-8")), new byte[size]);
+		List<T> result = new ArrayList<T>();
+		while (iter.hasNext()) {
+			result.add(iter.next());
+		}
+		return result;
+	}
+
+	@Test
+	public void valuesAcrossWindowEnd() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Assert.assertEquals(Arrays.asList(1L, 123456789012345678L), readLines(json, Long.class, "1\n123456789012345678\n", 16));
+		Assert.assertEquals(Arrays.asList(1L, 123456789012345678L), readLines(json, Long.class, "1\n123456789012345678", 16));
+		Assert.assertEquals(Arrays.asList("a", "0123456789abcd", null), readLines(json, String.class, "\"a\"\n\"0123456789abcd\"\nnull", 16));
+		Assert.assertEquals(Arrays.asList("a", "0123456789abcdefghij\\\"", "b"), readLines(json, String.class, "\"a\" \"0123456789abcdefghij\\\\\\\"\" \"b\"", 8));
+		for (int size = 4; size < 40; size++) {
+			List<Map> maps = readLines(json, Map.class, "{\"a\":1}\n{\"b\":[1,2,\"x y\"]}\n\n{}", size);
+			Assert.assertEquals(3, maps.size());
+			Assert.assertEquals(Arrays.asList(1L, 2L, "x y"), maps.get(1).get("b"));
+		}
+	}
+
+	@Test
+	public void valuesMustBeSeparatedByWhitespace() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		String[] invalid = {"1x", "1\n2x\n3", "\"a\"\"b\"", "{}{}"};
+		Class<?>[] types = {Long.class, Long.class, String.class, Map.class};
+		for (int i = 0; i < invalid.length; i++) {
+			for (int size = 2; size < 16; size++) {
+				try {
+					readLines(json, types[i], invalid[i], size);
+					Assert.fail("Expecting exception for " + invalid[i]);
+				} catch (RuntimeException ex) {
+					Assert.assertTrue(ex.getCause() instanceof IOException);
+				}
+			}
+		}
+	}
+}
@@ -3,9 +3,12 @@ package com.dslplatform.json;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -120,4 +123,272 @@ public class NumberConverterTest {
 		Map result = (Map) json.deserialize(Map.class, input.getBytes(), input.length());
 		Assert.assertNotNull(result);
 	}
+
+	@Test
+	public void testDoubleRoundtrip() {
+		final Random rnd = new Random(1337);
+		final JsonWriter sw = new JsonWriter(40);
+		for (int i = 0; i < 1000000; i++) {
+			final double value = i % 2 == 0
+					? Double.longBitsToDouble(rnd.nextLong())
+					: rnd.nextDouble() * Math.pow(10, rnd.nextInt(40) - 20);
+			if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+			sw.reset();
+			NumberConverter.serialize(value, sw);
+			final String result = sw.toString();
+			Assert.assertEquals(value, Double.parseDouble(result), 0);
+			Assert.assertTrue(result.length() <= Double.toString(value).length());
+		}
+	}
+
+	@Test
+	public void testShortestDoubleFormat() {
+		final double[] values = {0, -0.0, 1, -1, 0.1, 0.001, 1e-4, 1234567, 1e7, 2e-323, 1e23, Double.MIN_VALUE, Double.MAX_VALUE};
+		final String expected = "[0.0,-0.0,1.0,-1.0,0.1,0.001,1.0E-4,1234567.0,1.0E7,2.0E-323,1.0E23,4.9E-324,1.7976931348623157E308]";
+		final JsonWriter sw = new JsonWriter();
+		NumberConverter.serialize(values, sw);
+		Assert.assertEquals(expected, sw.toString());
+		sw.reset();
+		NumberConverter.serialize(new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 2.5}, sw);
+		Assert.assertEquals("[\"NaN\",\"Infinity\",\"-Infinity\",2.5]", sw.toString());
+	}
+
+	@Test
+	public void testFloatRoundtrip() {
+		final Random rnd = new Random(1337);
+		final JsonWriter sw = new JsonWriter(40);
+		for (int i = 0; i < 1000000; i++) {
+			final float value = Float.intBitsToFloat(rnd.nextInt());
+			if (Float.isNaN(value) || Float.isInfinite(value)) continue;
+			sw.reset();
+			NumberConverter.serialize(value, sw);
+			final String result = sw.toString();
+			Assert.assertEquals(value, Float.parseFloat(result), 0);
+			Assert.assertTrue(result.length() <= Float.toString(value).length());
+		}
+		sw.reset();
+		NumberConverter.serialize(new float[]{0.3f, 1e10f, Float.MIN_VALUE, Float.NaN, -Float.MAX_VALUE}, sw);
+		Assert.assertEquals("[0.3,1.0E10,1.4E-45,\"NaN\",-3.4028235E38]", sw.toString());
+	}
+
+	private static double parseDouble(final String input) throws IOException {
+		final byte[] body = (input + ",").getBytes("ISO-8859-1");
+		final JsonReader<Object> jr = new JsonReader<Object>(body, null);
+		jr.getNextToken();
+		final double result = NumberConverter.deserializeDouble(jr);
+		Assert.assertEquals(',', jr.getNextToken());
+		return result;
+	}
+
+	@Test
+	public void testDoubleParsingEdgeCases() throws IOException {
+		final String[] inputs = {
+				"0", "-0", "1e-7", "1E+7", "-1.5e300", "9007199254740993", "123456789012345678901234567890",
+				"2.2250738585072011e-308", "2.2250738585072012e-308", "4.9e-324", "2.4703282292062327e-324",
+				"2.4703282292062328e-324", "1.7976931348623157e308", "1.7976931348623159e308", "1e400", "1e-400",
+				"1.00000000000000011102230246251565404236316680908203124",
+				"1.00000000000000011102230246251565404236316680908203125",
+				"1.00000000000000011102230246251565404236316680908203126",
+				"0.000000000000000000000000000001234567890123456789012", "7.3177701707893310e+15"
+		};
+		for (final String input : inputs) {
+			Assert.assertEquals(input, Double.doubleToLongBits(Double.parseDouble(input)), Double.doubleToLongBits(parseDouble(input)));
+		}
+	}
+
+	@Test
+	public void testDoubleParsingRoundtrip() throws IOException {
+		final Random rnd = new Random(1337);
+		final JsonWriter sw = new JsonWriter(40);
+		for (int i = 0; i < 100000; i++) {
+			final double value = Double.longBitsToDouble(rnd.nextLong());
+			if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+			sw.reset();
+			NumberConverter.serialize(value, sw);
+			Assert.assertEquals(value, parseDouble(sw.toString()), 0);
+			final String plain = new java.math.BigDecimal(value).toString();
+			Assert.assertEquals(plain, value, parseDouble(plain), 0);
+		}
+	}
+
+	private static Number parseNumber(final String input) throws IOException {
+		final JsonReader<Object> jr = new JsonReader<Object>((input + "]").getBytes("ISO-8859-1"), null);
+		jr.getNextToken();
+		final Number result = NumberConverter.deserializeNumber(jr);
+		Assert.assertEquals(']', jr.getNextToken());
+		return result;
+	}
+
+	@Test
+	public void testNumberParsingMatchesDouble() throws IOException {
+		final String[] inputs = {"0.1", "-0.3", "9007199254740993.5", "-8.123456789012345", "0.3000000000000004", "1.7976931348623157"};
+		for (final String input : inputs) {
+			Assert.assertEquals(input, Double.valueOf(parseDouble(input)), parseNumber(input));
+		}
+		final Random rnd = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			final String digits = Long.toString(Math.abs(rnd.nextLong() % 100000000000000000L) + 1);
+			final int dot = 1 + rnd.nextInt(digits.length());
+			final String input = (rnd.nextBoolean() ? "-" : "") + digits.substring(0, dot) + "." + (dot == digits.length() ? "0" : digits.substring(dot));
+			if (input.length() > 18) continue;
+			Assert.assertEquals(input, Double.valueOf(Double.parseDouble(input)), parseNumber(input));
+		}
+	}
+
+	@Test
+	public void testLongDecimals() throws IOException {
+		final StringBuilder sb = new StringBuilder("-");
+		for (int i = 0; i < 150; i++) {
+			sb.append((char) ('1' + i % 9));
+			if (i == 100) sb.append('.');
+		}
+		final String[] inputs = {sb.toString(), sb.toString() + "e-20", "12345678901234567890", "0.0000000000000000001", "1.5e-10"};
+		final DslJson<Object> json = new DslJson<Object>();
+		for (final String input : inputs) {
+			final java.math.BigDecimal expected = new java.math.BigDecimal(input);
+			final JsonReader<Object> jr = new JsonReader<Object>((input + "]").getBytes("ISO-8859-1"), null);
+			jr.getNextToken();
+			Assert.assertEquals(expected, NumberConverter.deserializeDecimal(jr));
+			Assert.assertEquals(']', jr.getNextToken());
+			if (input.length() > 18) {
+				Assert.assertEquals(expected, parseNumber(input));
+			}
+			final byte[] bytes = ("[" + input + "," + input + "]").getBytes("ISO-8859-1");
+			final Iterator<java.math.BigDecimal> fromStream = json.iterateOver(java.math.BigDecimal.class, new ByteArrayInputStream(bytes), new byte[256]);
+			Assert.assertEquals(expected, fromStream.next());
+			Assert.assertEquals(expected, fromStream.next());
+			Assert.assertFalse(fromStream.hasNext());
+		}
+	}
+
+	@Test
+	public void testFloatParsing() throws IOException {
+		final String[] inputs = {
+				"0", "-0.0", "1e-7", "3.4028235e38", "3.4028236e38", "1.4e-45", "7e-46", "1.17549435E-38",
+				"16777217", "16777219", "0.1", "1.00000017881393432617187499", "1.000000178813934326171875", "123456789012345678901234567890"
+		};
+		for (final String input : inputs) {
+			final JsonReader<Object> jr = new JsonReader<Object>((input + "]").getBytes("ISO-8859-1"), null);
+			jr.getNextToken();
+			final float result = NumberConverter.deserializeFloat(jr);
+			Assert.assertEquals(input, Float.floatToIntBits(Float.parseFloat(input)), Float.floatToIntBits(result));
+			Assert.assertEquals(']', jr.getNextToken());
+		}
+	}
+
+	@Test
+	public void testPrimitiveArrays() throws IOException {
+		final DslJson<Object> json = new DslJson<Object>();
+		final Random rnd = new Random(42);
+		final double[] doubles = new double[10000];
+		final float[] floats = new float[10000];
+		final int[] ints = new int[10000];
+		final long[] longs = new long[10000];
+		final boolean[] bools = new boolean[10000];
+		for (int i = 0; i < doubles.length; i++) {
+			doubles[i] = rnd.nextGaussian() * 1e6;
+			floats[i] = (float) rnd.nextGaussian();
+			ints[i] = rnd.nextInt();
+			longs[i] = rnd.nextLong();
+			bools[i] = rnd.nextBoolean();
+		}
+		final Object[] arrays = {doubles, floats, ints, longs, bools, new double[0], new int[]{1}};
+		for (Object array : arrays) {
+			final JsonWriter sw = new JsonWriter();
+			json.serialize(sw, array);
+			final byte[] bytes = sw.toByteArray();
+			final Object fromBytes = json.deserialize(array.getClass(), bytes, bytes.length);
+			final Object fromStream = json.deserialize(array.getClass(), new ByteArrayInputStream(bytes), new byte[64]);
+			Assert.assertEquals(array.getClass(), fromBytes.getClass());
+			Assert.assertTrue(Arrays.deepEquals(new Object[]{array}, new Object[]{fromBytes}));
+			Assert.assertTrue(Arrays.deepEquals(new Object[]{array}, new Object[]{fromStream}));
+		}
+	}
+
+	@Test
+	public void testPrimitiveArrayErrors() throws IOException {
+		final DslJson<Object> json = new DslJson<Object>();
+		final byte[] nulls = "[1,null,3]".getBytes("UTF-8");
+		try {
+			json.deserialize(int[].class, nulls, nulls.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+		final byte[] notArray = "{\"a\":1}".getBytes("UTF-8");
+		try {
+			json.deserialize(long[].class, notArray, notArray.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Expecting '['"));
+		}
+		final byte[] unclosed = "[1.5,2.5".getBytes("UTF-8");
+		try {
+			json.deserialize(double[].class, unclosed, unclosed.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+		final byte[] empty = " [ ] ".getBytes("UTF-8");
+		Assert.assertEquals(0, json.deserialize(boolean[].class, empty, empty.length).length);
+		final byte[] nullArray = "null".getBytes("UTF-8");
+		Assert.assertNull(json.deserialize(float[].class, nullArray, nullArray.length));
+	}
+
+	@Test
+	public void testPrimitiveLists() throws IOException {
+		final DslJson<Object> json = new DslJson<Object>();
+		final Random rnd = new Random(42);
+		final IntList ints = new IntList();
+		final LongList longs = new LongList(0);
+		final DoubleList doubles = new DoubleList();
+		for (int i = 0; i < 10000; i++) {
+			ints.addInt(rnd.nextInt());
+			longs.addLong(rnd.nextLong());
+			doubles.addDouble(rnd.nextGaussian() * 1e6);
+		}
+		final List<?>[] lists = {ints, longs, doubles, new IntList(new int[]{1, 2, 3}), new DoubleList(0)};
+		for (List<?> list : lists) {
+			final JsonWriter sw = new JsonWriter();
+			json.serialize(sw, list);
+			final byte[] bytes = sw.toByteArray();
+			final List<?> fromBytes = json.deserialize(list.getClass(), bytes, bytes.length);
+			final List<?> fromStream = json.deserialize(list.getClass(), new ByteArrayInputStream(bytes), new byte[64]);
+			Assert.assertEquals(list.getClass(), fromBytes.getClass());
+			Assert.assertEquals(list, fromBytes);
+			Assert.assertEquals(list, fromStream);
+			Assert.assertEquals(new ArrayList<Object>(list), fromBytes);
+		}
+		final byte[] nulls = "[1,null,3]".getBytes("UTF-8");
+		try {
+			json.deserialize(IntList.class, nulls, nulls.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+		final byte[] nullList = "null".getBytes("UTF-8");
+		Assert.assertNull(json.deserialize(LongList.class, nullList, nullList.length));
+	}
+
+	@Test
+	public void testPrimitiveListOperations() throws IOException {
+		final IntList list = new IntList(1);
+		list.add(1);
+		list.add(3);
+		list.add(1, 2);
+		Assert.assertEquals(Arrays.asList(1, 2, 3), list);
+		Assert.assertEquals(3, list.setInt(2, 4));
+		Assert.assertEquals(Integer.valueOf(1), list.remove(0));
+		Assert.assertArrayEquals(new int[]{2, 4}, list.toIntArray());
+		try {
+			list.getInt(2);
+			Assert.fail("Expecting exception");
+		} catch (IndexOutOfBoundsException ignore) {
+		}
+		final byte[] input = "[5,6]".getBytes("UTF-8");
+		final JsonReader<Object> reader = new DslJson<Object>().newReader(input, input.length);
+		reader.getNextToken();
+		reader.getNextToken();
+		NumberConverter.deserializeIntCollection(reader, list);
+		Assert.assertArrayEquals(new int[]{2, 4, 5, 6}, list.toIntArray());
+		list.clear();
+		Assert.assertTrue(list.isEmpty());
+	}
 }
@@ -0,0 +1,190 @@
+package com.dslplatform.json;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelTest {
+
+	private static final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@AfterClass
+	public static void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void deserializeLargeArrayInParallel() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		StringBuilder sb = new StringBuilder("[ ");
+		for (int i = 0; i < 10000; i++) {
+			if (i > 0) sb.append(" , ");
+			if (i % 100 == 7) {
+				sb.append("null");
+			} else {
+				sb.append("{\"id\":").append(i).append(",\"tags\":[\"a\",{\"b\":\"x\\\"]\"}],\"name\":\"item ").append(i).append("\"}");
+			}
+		}
+		sb.append(" ]");
+		byte[] bytes = sb.toString().getBytes("UTF-8");
+		List<Map> sequential = json.deserializeList(Map.class, bytes, bytes.length);
+		List<Map> parallel = json.deserializeList(Map.class, bytes, bytes.length, executor);
+		Assert.assertEquals(10000, parallel.size());
+		Assert.assertEquals(sequential, parallel);
+		Assert.assertNull(parallel.get(7));
+		Assert.assertEquals(9999L, parallel.get(9999).get("id"));
+	}
+
+	@Test
+	public void smallAndEmptyArrays() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] empty = "[ ]".getBytes("UTF-8");
+		Assert.assertEquals(0, json.deserializeList(String.class, empty, empty.length, executor).size());
+		byte[] nullArray = "null".getBytes("UTF-8");
+		Assert.assertNull(json.deserializeList(String.class, nullArray, nullArray.length, executor));
+		byte[] small = "[\"a\",null,\"c\"]".getBytes("UTF-8");
+		Assert.assertEquals(Arrays.asList("a", null, "c"), json.deserializeList(String.class, small, small.length, executor));
+	}
+
+	@Test
+	public void errorsArePropagated() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 5000; i++) {
+			if (i > 0) sb.append(',');
+			sb.append(i == 4321 ? "\"abc\"" : String.valueOf(i));
+		}
+		sb.append(']');
+		byte[] bytes = sb.toString().getBytes("UTF-8");
+		try {
+			json.deserializeList(Long.class, bytes, bytes.length, executor);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+		byte[] unclosed = "[1,2,3".getBytes("UTF-8");
+		try {
+			json.deserializeList(Long.class, unclosed, unclosed.length, executor);
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+	}
+
+	@Test
+	public void serializeLargeListInParallel() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		List<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 10000; i++) {
+			if (i % 100 == 3) {
+				items.add(null);
+			} else {
+				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				map.put("id", i);
+				map.put("name", "item " + i);
+				items.add(map);
+			}
+		}
+		JsonWriter sequential = new JsonWriter();
+		json.serialize(sequential, items);
+		JsonWriter parallel = new JsonWriter();
+		json.serialize(parallel, items, executor);
+		Assert.assertEquals(sequential.toString(), parallel.toString());
+		JsonWriter empty = new JsonWriter();
+		json.serialize(empty, new ArrayList<Object>(), executor);
+		Assert.assertEquals("[]", empty.toString());
+	}
+
+	@Test
+	public void serializeWithElementWriterToStream() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		List<String> items = new ArrayList<String>();
+		StringBuilder expected = new StringBuilder("[");
+		for (int i = 0; i < 5000; i++) {
+			if (i > 0) expected.append(',');
+			items.add("value " + i);
+			expected.append("\"value ").append(i).append('"');
+		}
+		expected.append(']');
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = new JsonWriter(256, os);
+		json.serialize(writer, items, new JsonWriter.WriteObject<String>() {
+			@Override
+			public void write(JsonWriter writer, String value) {
+				writer.writeString(value);
+			}
+		}, executor);
+		writer.flush();
+		Assert.assertEquals(expected.toString(), os.toString("UTF-8"));
+		Assert.assertEquals(256, writer.getByteBuffer().length);
+	}
+
+	@Test
+	public void unsupportedElementsFailParallelSerialization() {
+		DslJson<Object> json = new DslJson<Object>();
+		List<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 5000; i++) {
+			items.add(i == 4000 ? new Object() : (Object) i);
+		}
+		try {
+			json.serialize(new JsonWriter(), items, executor);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Failed to find serializer"));
+		}
+	}
+
+	@Test
+	public void failingElementWriterReleasesChunkWriters() {
+		final AtomicInteger borrowed = new AtomicInteger();
+		final AtomicInteger released = new AtomicInteger();
+		DslJson<Object> json = new DslJson<Object>() {
+			@Override
+			public JsonWriter borrowWriter() {
+				borrowed.incrementAndGet();
+				return super.borrowWriter();
+			}
+
+			@Override
+			public void releaseWriter(JsonWriter writer) {
+				released.incrementAndGet();
+				super.releaseWriter(writer);
+			}
+		};
+		List<Integer> items = new ArrayList<Integer>();
+		for (int i = 0; i < 20000; i++) {
+			items.add(i);
+		}
+		final AtomicInteger written = new AtomicInteger();
+		try {
+			json.serialize(new JsonWriter(), items, new JsonWriter.WriteObject<Integer>() {
+				@Override
+				public void write(JsonWriter writer, Integer value) {
+					written.incrementAndGet();
+					if (value == 1500) {
+						throw new IllegalStateException("broken element");
+					}
+					NumberConverter.serialize(value, writer);
+				}
+			}, executor);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.fail("Expecting runtime exception");
+		} catch (IllegalStateException ex) {
+			Assert.assertEquals("broken element", ex.getMessage());
+		}
+		final int total = written.get();
+		Assert.assertTrue(borrowed.get() > 0);
+		Assert.assertEquals(borrowed.get(), released.get());
+		Assert.assertEquals(total, written.get());
+	}
+}
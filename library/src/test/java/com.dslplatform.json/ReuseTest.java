@@ -0,0 +1,85 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class ReuseTest {
+
+	@Test
+	public void writerIsReused() {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonWriter writer = json.borrowWriter();
+		writer.writeAscii("abc");
+		json.releaseWriter(writer);
+		JsonWriter other = json.borrowWriter();
+		Assert.assertSame(writer, other);
+		Assert.assertEquals(0, other.size());
+		Assert.assertNotSame(other, json.borrowWriter());
+	}
+
+	@Test
+	public void largeWriterIsDropped() {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonWriter writer = json.borrowWriter();
+		writer.writeAscii(new byte[100000]);
+		json.releaseWriter(writer);
+		Assert.assertNotSame(writer, json.borrowWriter());
+	}
+
+	@Test
+	public void readerIsReusedOnNewInput() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] first = "\"first value\"".getBytes("UTF-8");
+		JsonReader<Object> reader = json.borrowReader(first, first.length);
+		reader.getNextToken();
+		Assert.assertEquals("first value", reader.readString());
+		json.releaseReader(reader);
+		byte[] second = "[\"second\"]  ".getBytes("UTF-8");
+		JsonReader<Object> other = json.borrowReader(second, second.length - 2);
+		Assert.assertSame(reader, other);
+		Assert.assertEquals('[', other.getNextToken());
+		other.getNextToken();
+		Assert.assertEquals("second", other.readString());
+		Assert.assertEquals(']', other.getNextToken());
+		Assert.assertEquals(second.length - 2, other.positionInStream());
+		json.releaseReader(other);
+	}
+
+	@Test
+	public void convenienceMethodsReuseInstances() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append('x');
+		}
+		String large = sb.toString();
+		JsonWriter writer = json.borrowWriter();
+		json.releaseWriter(writer);
+		byte[] empty = new byte[0];
+		JsonReader<Object> reader = json.borrowReader(empty, 0);
+		json.releaseReader(reader);
+		for (String value : Arrays.asList("a", large, "b\"c", large + "é")) {
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			json.serialize(Collections.singletonMap("key", value), os);
+			Assert.assertSame(writer, json.borrowWriter());
+			json.releaseWriter(writer);
+			byte[] bytes = os.toByteArray();
+			Map<?, ?> map = json.deserialize(Map.class, bytes, bytes.length);
+			Assert.assertEquals(value, map.get("key"));
+			Assert.assertSame(reader, json.borrowReader(empty, 0));
+			json.releaseReader(reader);
+			byte[] array = ("[\"" + value.replace("\"", "\\\"") + "\"]").getBytes("UTF-8");
+			List<String> list = json.deserializeList(String.class, array, array.length);
+			Assert.assertEquals(Collections.singletonList(value), list);
+			Assert.assertSame(reader, json.borrowReader(empty, 0));
+			json.releaseReader(reader);
+		}
+	}
+}
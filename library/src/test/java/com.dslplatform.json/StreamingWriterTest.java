@@ -0,0 +1,223 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.util.*;
+
+public class StreamingWriterTest {
+
+	private static void writeDocument(JsonWriter writer, int count) {
+		writer.writeByte(JsonWriter.ARRAY_START);
+		for (int i = 0; i < count; i++) {
+			if (i > 0) writer.writeByte(JsonWriter.COMMA);
+			writer.writeByte(JsonWriter.OBJECT_START);
+			writer.writeAscii("\"id\":");
+			NumberConverter.serialize(i, writer);
+			writer.writeAscii(",\"value\":");
+			NumberConverter.serialize(i / 3.0, writer);
+			writer.writeAscii(",\"name\":");
+			writer.writeString("name \"" + i + "\" €");
+			writer.writeAscii(",\"uuid\":");
+			UUIDConverter.serialize(new UUID(i, i), writer);
+			writer.writeAscii(",\"bytes\":");
+			writer.writeBinary(new byte[]{1, 2, (byte) i});
+			writer.writeAscii(",\"missing\":");
+			writer.writeNull();
+			writer.writeByte(JsonWriter.OBJECT_END);
+		}
+		writer.writeByte(JsonWriter.ARRAY_END);
+	}
+
+	@Test
+	public void streamingMatchesInMemoryOutput() throws IOException {
+		JsonWriter memory = new JsonWriter();
+		writeDocument(memory, 1000);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter streaming = new JsonWriter(128, os);
+		writeDocument(streaming, 1000);
+		Assert.assertTrue(os.size() > 0);
+		streaming.flush();
+		Assert.assertArrayEquals(memory.toByteArray(), os.toByteArray());
+		Assert.assertEquals(os.size(), streaming.flushedSize());
+		Assert.assertEquals(128, streaming.getByteBuffer().length);
+	}
+
+	@Test
+	public void bufferGrowsOnlyForLargeValues() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = new JsonWriter(32, os);
+		char[] chars = new char[100];
+		Arrays.fill(chars, 'x');
+		String large = new String(chars);
+		writer.writeString(large);
+		writer.close();
+		Assert.assertEquals("\"" + large + "\"", os.toString("UTF-8"));
+		Assert.assertTrue(writer.getByteBuffer().length > 32);
+	}
+
+	@Test
+	public void writingToChannel() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = new JsonWriter(16, Channels.newChannel(os));
+		writer.writeAscii("{\"abc\":");
+		writer.writeString("some longer value");
+		writer.writeByte(JsonWriter.OBJECT_END);
+		writer.flush();
+		Assert.assertEquals("{\"abc\":\"some longer value\"}", os.toString("UTF-8"));
+	}
+
+	@Test
+	public void resetRebindsOutput() throws IOException {
+		ByteArrayOutputStream first = new ByteArrayOutputStream();
+		ByteArrayOutputStream second = new ByteArrayOutputStream();
+		JsonWriter writer = new JsonWriter(16, first);
+		writer.writeString("first value is long");
+		writer.flush();
+		writer.reset(second);
+		writer.writeString("second");
+		writer.flush();
+		Assert.assertEquals("\"first value is long\"", first.toString("UTF-8"));
+		Assert.assertEquals("\"second\"", second.toString("UTF-8"));
+		writer.reset(null);
+		writer.writeString("memory");
+		Assert.assertEquals("\"memory\"", writer.toString());
+	}
+
+	@Test
+	public void serializeLargeCollectionToStream() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ArrayList<Object> items = new ArrayList<Object>();
+		StringBuilder expected = new StringBuilder("[");
+		for (int i = 0; i < 20000; i++) {
+			if (i > 0) expected.append(',');
+			items.add("item " + i);
+			expected.append("\"item ").append(i).append('"');
+		}
+		expected.append(']');
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(items, os);
+		Assert.assertEquals(expected.toString(), os.toString("UTF-8"));
+		JsonWriter pooled = json.borrowWriter();
+		Assert.assertTrue(pooled.getByteBuffer().length < expected.length());
+		pooled.writeAscii("abc");
+		Assert.assertEquals("abc", pooled.toString());
+	}
+
+	private static class CountingStream extends ByteArrayOutputStream {
+		final List<Integer> writes = new ArrayList<Integer>();
+		int flushes;
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			writes.add(len);
+			super.write(b, off, len);
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+	}
+
+	private static class Unknown {
+	}
+
+	@Test
+	public void serializeToStreamIsSingleWrite() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ArrayList<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 20000; i++) {
+			items.add("item " + i);
+		}
+		CountingStream os = new CountingStream();
+		json.serialize(items, os);
+		Assert.assertEquals(1, os.writes.size());
+		Assert.assertEquals(0, os.flushes);
+		JsonWriter memory = new JsonWriter();
+		json.serialize(memory, items);
+		Assert.assertArrayEquals(memory.toByteArray(), os.toByteArray());
+	}
+
+	@Test
+	public void streamBoundWriterWritesLargeChunks() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ArrayList<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 20000; i++) {
+			items.add("item " + i);
+		}
+		CountingStream os = new CountingStream();
+		JsonWriter writer = json.newWriter(os);
+		json.serialize(writer, items);
+		writer.flush();
+		Assert.assertTrue(os.writes.size() > 1);
+		for (int i = 0; i < os.writes.size() - 1; i++) {
+			Assert.assertTrue(os.writes.get(i) >= 8 * 1024);
+		}
+		JsonWriter memory = new JsonWriter();
+		json.serialize(memory, items);
+		Assert.assertArrayEquals(memory.toByteArray(), os.toByteArray());
+	}
+
+	@Test
+	public void fallbackDoesNotLeavePartialOutput() throws IOException {
+		DslJson.Fallback<Object> fallback = new DslJson.Fallback<Object>() {
+			@Override
+			public void serialize(Object instance, OutputStream stream) throws IOException {
+				stream.write("\"fallback\"".getBytes("UTF-8"));
+			}
+
+			@Override
+			public Object deserialize(Object context, Type manifest, byte[] body, int size) {
+				return null;
+			}
+		};
+		DslJson<Object> json = new DslJson<Object>(null, false, false, false, fallback, null);
+		ArrayList<Object> items = new ArrayList<Object>();
+		for (int i = 0; i < 20000; i++) {
+			items.add("item " + i);
+		}
+		items.add(new Unknown());
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(items, os);
+		Assert.assertEquals("\"fallback\"", os.toString("UTF-8"));
+		JsonWriter writer = json.newWriter(new ByteArrayOutputStream());
+		try {
+			json.serialize(writer, items);
+			Assert.fail("Expecting exception");
+		} catch (RuntimeException ex) {
+			Assert.assertTrue(ex.getCause().getMessage().contains("Part of the collection was already written"));
+		}
+	}
+
+	@Test
+	public void primitiveArraysKeepBoundedBuffer() throws IOException {
+		long[] longs = new long[10000];
+		int[] ints = new int[10000];
+		double[] doubles = new double[10000];
+		float[] floats = new float[10000];
+		for (int i = 0; i < longs.length; i++) {
+			longs[i] = Long.MIN_VALUE + i;
+			ints[i] = Integer.MIN_VALUE + i;
+			doubles[i] = -i / 7.0;
+			floats[i] = -i / 7.0f;
+		}
+		JsonWriter memory = new JsonWriter();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter streaming = new JsonWriter(4096, os);
+		for (JsonWriter writer : new JsonWriter[]{memory, streaming}) {
+			NumberConverter.serialize(longs, writer);
+			NumberConverter.serialize(ints, writer);
+			NumberConverter.serialize(doubles, writer);
+			NumberConverter.serialize(floats, writer);
+		}
+		streaming.flush();
+		Assert.assertArrayEquals(memory.toByteArray(), os.toByteArray());
+		Assert.assertEquals(4096, streaming.getByteBuffer().length);
+	}
+}
@@ -5,7 +5,12 @@ import com.dslplatform.json.JsonWriter;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
 
 public class StringConverterTest {
 	@Test
@@ -126,4 +131,151 @@ public class StringConverterTest {
 			Assert.assertEquals(expected, read);
 		}
 	}
+
+	@Test
+	public void testFindSpecial() {
+		final byte[] buf = new byte[100];
+		final ByteBuffer words = ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+		final byte[] specials = {'"', '\\', (byte) 0x80, (byte) 0xC3, (byte) 0xFF};
+		for (int start = 0; start < 10; start++) {
+			final int tail = start + (buf.length - start) / 8 * 8;
+			for (int pos = start; pos < buf.length; pos++) {
+				for (byte special : specials) {
+					Arrays.fill(buf, (byte) '!');
+					buf[pos] = special;
+					Assert.assertEquals(Math.min(pos, tail), JsonReader.findSpecial(words, start, buf.length));
+				}
+			}
+			Arrays.fill(buf, (byte) '~');
+			Assert.assertEquals(tail, JsonReader.findSpecial(words, start, buf.length));
+		}
+	}
+
+	@Test
+	public void testLongStrings() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		final String ascii = sb.toString();
+		final String[] inserts = {"\\\"", "\\\\", "\\n", "\u00e9", "\u20ac"};
+		final String[] decoded = {"\"", "\\", "\n", "\u00e9", "\u20ac"};
+		for (int len = 60; len < 200; len++) {
+			for (int at = 0; at <= len; at += 7) {
+				for (int j = 0; j < inserts.length; j++) {
+					final String json = "\"" + ascii.substring(0, at) + inserts[j] + ascii.substring(at, len) + "\" ";
+					final byte[] buf = json.getBytes("UTF-8");
+					final JsonReader jr = new JsonReader(buf, null);
+					Assert.assertEquals('"', jr.read());
+					Assert.assertEquals(ascii.substring(0, at) + decoded[j] + ascii.substring(at, len), jr.readString());
+					Assert.assertEquals(buf.length - 1, jr.getCurrentIndex());
+				}
+			}
+			final byte[] plain = ("\"" + ascii.substring(0, len) + "\"").getBytes("UTF-8");
+			final JsonReader jr = new JsonReader(plain, null);
+			jr.read();
+			Assert.assertEquals(ascii.substring(0, len), jr.readString());
+		}
+	}
+
+	@Test
+	public void testSlices() throws IOException {
+		final String[] values = {"", "abc", "\u00e9t\u00e9", "\u20ac 100", "tab\tquote\"slash\\end", "\ud83d\ude00 smile"};
+		final JsonWriter jw = new JsonWriter();
+		for (String value : values) {
+			jw.reset();
+			jw.writeString(value);
+			final byte[] input = jw.toByteArray();
+			final JsonReader jr = new JsonReader(input, null);
+			Assert.assertEquals('"', jr.getNextToken());
+			final StringSlice slice = jr.readSlice();
+			Assert.assertEquals(input.length, jr.getCurrentIndex());
+			Assert.assertEquals(value, slice.toString());
+			Assert.assertEquals(value.length(), slice.length());
+			Assert.assertTrue(slice.contentEquals(value));
+			Assert.assertTrue(slice.contentEquals(value.getBytes("UTF-8")));
+			Assert.assertFalse(slice.contentEquals(value + "x"));
+			if (value.indexOf('"') >= 0 || value.indexOf('\\') >= 0) continue;
+			final byte[] plain = ("\"" + value + "\"").getBytes("UTF-8");
+			final JsonReader other = new JsonReader(plain, null);
+			other.getNextToken();
+			final StringSlice otherSlice = other.readSlice();
+			Assert.assertEquals(slice, otherSlice);
+			Assert.assertEquals(slice.hashCode(), otherSlice.hashCode());
+		}
+	}
+
+	@Test
+	public void testUnicodeEscapedSlices() throws IOException {
+		final byte[] input = "\"\\u0041\\u00e9\\u20AC\\ud83d\\ude00\\/\"".getBytes("UTF-8");
+		final JsonReader jr = new JsonReader(input, null);
+		jr.getNextToken();
+		final StringSlice slice = jr.readSlice();
+		Assert.assertEquals("A\u00e9\u20ac\ud83d\ude00/", slice.toString());
+		Assert.assertEquals(jr.length(), jr.getCurrentIndex());
+	}
+
+	@Test
+	public void testSlicesAcrossBufferBoundary() throws IOException {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("\"value ").append(i).append(i % 3 == 0 ? " \\\"esc\\\"" : " plain").append('"');
+		}
+		sb.append(']');
+		final JsonReader jr = new JsonStreamReader<Object>(new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), new byte[64], null);
+		Assert.assertEquals('[', jr.getNextToken());
+		for (int i = 0; i < 100; i++) {
+			if (i > 0) Assert.assertEquals(',', jr.getNextToken());
+			jr.getNextToken();
+			Assert.assertEquals("value " + i + (i % 3 == 0 ? " \"esc\"" : " plain"), jr.readSlice().toString());
+		}
+		Assert.assertEquals(']', jr.getNextToken());
+	}
+
+	@Test
+	public void testCachedValues() throws IOException {
+		final StringCache cache = new StringCache(4, 8);
+		final byte[] input = "[\"EUR\",\"USD\",\"EUR\",\"longer than max\",\"longer than max\",\"\u00e9\",\"\u00e9\"]".getBytes("UTF-8");
+		final JsonReader<Object> jr = new JsonReader<Object>(input, input.length, null, new char[64], null, cache);
+		jr.getNextToken();
+		final String[] values = new String[7];
+		for (int i = 0; i < values.length; i++) {
+			jr.getNextToken();
+			values[i] = jr.readString();
+			jr.getNextToken();
+		}
+		Assert.assertEquals("EUR", values[0]);
+		Assert.assertEquals("USD", values[1]);
+		Assert.assertSame(values[0], values[2]);
+		Assert.assertEquals(values[3], values[4]);
+		Assert.assertNotSame(values[3], values[4]);
+		Assert.assertEquals("\u00e9", values[5]);
+		Assert.assertEquals(values[5], values[6]);
+	}
+
+	@Test
+	public void testCacheCollisions() {
+		final StringCache cache = new StringCache(1, 16);
+		final String[] values = {"a", "b", "c", "d", "ab", "ba"};
+		for (int i = 0; i < 3; i++) {
+			for (String v : values) {
+				final byte[] bytes = v.getBytes();
+				Assert.assertEquals(v, cache.get(bytes, 0, bytes.length));
+			}
+		}
+	}
+
+	@Test
+	public void testCachedMapKeys() throws IOException {
+		final DslJson<Object> json = new DslJson<Object>(null, false, false, false, null, null, new StringCache(), null);
+		final byte[] first = "{\"status\":\"ok\",\"code\":1}".getBytes("UTF-8");
+		final byte[] second = "{\"status\":\"error\",\"esc\\\"aped\":2}".getBytes("UTF-8");
+		final Map<?, ?> a = json.deserialize(Map.class, first, first.length);
+		final Map<?, ?> b = json.deserialize(Map.class, second, second.length);
+		Assert.assertEquals("ok", a.get("status"));
+		Assert.assertEquals("error", b.get("status"));
+		Assert.assertEquals(2L, b.get("esc\"aped"));
+		Assert.assertSame(a.keySet().iterator().next(), b.keySet().iterator().next());
+	}
 }
@@ -12,20 +12,24 @@ import javax.lang.model.util.ElementFilter;
 import javax.tools.*;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.*;
 
 @SupportedAnnotationTypes({"com.dslplatform.json.CompiledJson"})
 @SupportedSourceVersion(SourceVersion.RELEASE_6)
-@SupportedOptions({"dsljson.namespace"})
+@SupportedOptions({"dsljson.namespace", "dsljson.compiler"})
 public class CompiledJsonProcessor extends AbstractProcessor {
 
 	private static final Map<String, String> SupportedTypes;
+	private static final Map<String, String> JavaOnlyTypes;
 	private static final Map<String, String> SupportedCollections;
 	private static final Set<String> JsonIgnore;
 	private static final Set<String> NonNullable;
 	private static final Set<String> PropertyAlias;
 	private static final List<IncompatibleTypes> CheckTypes;
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
 	private static final String CONFIG = "META-INF/services/com.dslplatform.json.Configuration";
 
 	private static class IncompatibleTypes {
@@ -74,6 +78,10 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		SupportedTypes.put("android.graphics.Point", "point?");
 		SupportedTypes.put("android.graphics.Bitmap", "image?");
 		SupportedTypes.put("org.w3c.dom.Element", "xml?");
+		JavaOnlyTypes = new HashMap<String, String>();
+		JavaOnlyTypes.put("com.dslplatform.json.IntList", "List<int>?");
+		JavaOnlyTypes.put("com.dslplatform.json.LongList", "List<long>?");
+		JavaOnlyTypes.put("com.dslplatform.json.DoubleList", "List<double>?");
 		SupportedCollections = new HashMap<String, String>();
 		SupportedCollections.put("java.util.List<", "List");
 		SupportedCollections.put("java.util.Set<", "Set");
@@ -111,6 +119,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 	private TypeElement jsonTypeElement;
 	private DeclaredType jsonDeclaredType;
 	private String namespace;
+	private boolean useDslCompiler;
 
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -124,12 +133,14 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		} else {
 			namespace = "dsl_json";
 		}
+		useDslCompiler = "dsl".equals(options.get("dsljson.compiler"));
 	}
 
 	private static class CompileOptions {
 		public boolean useJodaTime;
 		public boolean useAndroid;
 		public boolean hasError;
+		public String javaOnlyType;
 
 		public AnnotationCompiler.CompileOptions toOptions(String namespace) {
 			AnnotationCompiler.CompileOptions options = new AnnotationCompiler.CompileOptions();
@@ -140,12 +151,30 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 	}
 
-	private static class StructInfo {
+	static class AttributeInfo {
+		public final String name;
+		public final String jsonName;
+		public final Element element;
+		public final TypeMirror type;
+		public final boolean fieldAccess;
+
+		public AttributeInfo(String name, String jsonName, Element element, TypeMirror type, boolean fieldAccess) {
+			this.name = name;
+			this.jsonName = jsonName;
+			this.element = element;
+			this.type = type;
+			this.fieldAccess = fieldAccess;
+		}
+	}
+
+	static class StructInfo {
 		public final TypeElement element;
 		public final String name;
 		public final boolean isEnum;
 		public final Set<String> properties = new HashSet<String>();
 		public final Map<String, String> minifiedNames = new HashMap<String, String>();
+		public final Map<Integer, String> nameHashes = new HashMap<Integer, String>();
+		public final List<AttributeInfo> attributes = new ArrayList<AttributeInfo>();
 
 		public StructInfo(TypeElement element, String name, boolean isEnum) {
 			this.element = element;
@@ -173,14 +202,34 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				return false;
 			}
 
+			String fileContent = null;
+			if (!useDslCompiler) {
+				SerializationGenerator generator = new SerializationGenerator(structs);
+				String unsupported = generator.findUnsupported();
+				if (unsupported == null) {
+					fileContent = generator.generate(namespace);
+				} else if (options.javaOnlyType != null) {
+					processingEnv.getMessager().printMessage(
+							Diagnostic.Kind.ERROR,
+							"Type " + unsupported + " is not supported by Java generator, while "
+									+ options.javaOnlyType + " is not supported by DSL Platform compiler");
+					return false;
+				} else {
+					processingEnv.getMessager().printMessage(
+							Diagnostic.Kind.WARNING,
+							"Type " + unsupported + " is not supported by Java generator. Falling back to DSL Platform compiler");
+				}
+			}
+
 			processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, dsl);
 
-			String fileContent;
-			try {
-				fileContent = AnnotationCompiler.buildExternalJson(dsl, options.toOptions(namespace));
-			} catch (Exception e) {
-				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "DSL compilation error\n" + e.getMessage());
-				return false;
+			if (fileContent == null) {
+				try {
+					fileContent = AnnotationCompiler.buildExternalJson(dsl, options.toOptions(namespace));
+				} catch (Exception e) {
+					processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "DSL compilation error\n" + e.getMessage());
+					return false;
+				}
 			}
 			try {
 				String className = namespace + ".json.ExternalSerialization";
@@ -232,8 +281,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 						continue;
 					}
 					String dslType = getPropertyType(p.getValue(), p.getValue().getReturnType(), structs);
-					String javaType = p.getValue().getReturnType().toString();
-					processProperty(dsl, options, checks, info, p, dslType, javaType, false);
+					processProperty(dsl, options, checks, info, p, dslType, p.getValue().getReturnType(), false);
 				}
 				Map<String, VariableElement> fields = getPublicFields(info.element);
 				for (Map.Entry<String, VariableElement> p : fields.entrySet()) {
@@ -241,9 +289,15 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 						continue;
 					}
 					String dslType = getPropertyType(p.getValue(), p.getValue().asType(), structs);
-					String javaType = p.getValue().asType().toString();
-					processProperty(dsl, options, checks, info, p, dslType, javaType, true);
+					processProperty(dsl, options, checks, info, p, dslType, p.getValue().asType(), true);
 				}
+				final List<? extends Element> declared = info.element.getEnclosedElements();
+				Collections.sort(info.attributes, new Comparator<AttributeInfo>() {
+					@Override
+					public int compare(AttributeInfo left, AttributeInfo right) {
+						return declared.indexOf(left.element) - declared.indexOf(right.element);
+					}
+				});
 			}
 			dsl.append("    external name Java '");
 			dsl.append(info.element.getQualifiedName());
@@ -260,8 +314,9 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 			StructInfo info,
 			Map.Entry<String, T> property,
 			String dslType,
-			String javaType,
+			TypeMirror type,
 			boolean fieldAccess) {
+		String javaType = type.toString();
 		for (int i = 0; i < CheckTypes.size(); i++) {
 			IncompatibleTypes it = CheckTypes.get(i);
 			if (javaType.startsWith(it.first) || javaType.startsWith(it.second)) {
@@ -280,6 +335,18 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				tc.hasSecond = hasSecond;
 			}
 		}
+		if (dslType != null && JavaOnlyTypes.containsKey(javaType)) {
+			if (useDslCompiler) {
+				options.hasError = true;
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.ERROR,
+						javaType + " is supported only by Java generator. Remove dsljson.compiler=dsl option to use it",
+						property.getValue(),
+						getAnnotation(info.element, jsonDeclaredType));
+				return;
+			}
+			options.javaOnlyType = javaType;
+		}
 		if (dslType != null) {
 			options.useJodaTime = options.useJodaTime || javaType.startsWith("org.joda.time");
 			options.useAndroid = options.useAndroid || javaType.startsWith("android.graphics");
@@ -301,6 +368,16 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 						getAnnotation(info.element, jsonDeclaredType));
 				return;
 			}
+			String collision = info.nameHashes.put(nameHash(name), name);
+			if (collision != null) {
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.WARNING,
+						"Property names '" + collision + "' and '" + name + "' have the same hash. "
+								+ "Hash based property lookup will be slower. Consider using an alias for one of them",
+						property.getValue(),
+						getAnnotation(info.element, jsonDeclaredType));
+			}
+			info.attributes.add(new AttributeInfo(property.getKey(), name, property.getValue(), type, fieldAccess));
 			if (fieldAccess || alias != null) {
 				dsl.append(" {");
 				if (fieldAccess) {
@@ -327,6 +404,16 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 	}
 
+	//same FNV-1a hash as calculated by JsonReader.fillName
+	static int nameHash(String name) {
+		long hash = 0x811c9dc5;
+		for (byte b : name.getBytes(UTF_8)) {
+			hash ^= b;
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+
 	private void findRelatedReferences(Map<String, StructInfo> structs, CompileOptions options) {
 		int total;
 		do {
@@ -618,6 +705,9 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 
 	private static String getPropertyType(Element element, TypeMirror type, Map<String, StructInfo> structs) {
 		String simpleType = SupportedTypes.get(type.toString());
+		if (simpleType == null) {
+			simpleType = JavaOnlyTypes.get(type.toString());
+		}
 		boolean hasNonNullable = hasNonNullable(element);
 		if (simpleType != null) {
 			return simpleType.endsWith("?") && hasNonNullable
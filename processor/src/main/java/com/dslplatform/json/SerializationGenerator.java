@@ -0,0 +1,538 @@
+package com.dslplatform.json;
+
+import javax.lang.model.element.ExecutableElement;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Generates ExternalSerialization configuration with readers and writers for processed structs.
+ * Alternative to DSL Platform compiler which doesn't require Mono/.NET and an external process.
+ * Generated code targets Java 6 and uses only converters from the runtime library.
+ */
+final class SerializationGenerator {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static class SimpleType {
+		final String read;
+		final String write;
+		final boolean primitive;
+
+		SimpleType(String read, String write, boolean primitive) {
+			this.read = read;
+			this.write = write;
+			this.primitive = primitive;
+		}
+	}
+
+	private static final Map<String, SimpleType> SimpleTypes;
+	private static final Map<String, String> Collections;
+	private static final Map<String, String> Boxed;
+	private static final Map<String, String> PrimitiveArrays;
+
+	private static void simple(String javaType, String converter, String read, String write, boolean primitive) {
+		SimpleTypes.put(
+				javaType,
+				new SimpleType(
+						"com.dslplatform.json." + converter + "." + read + "(reader)",
+						"com.dslplatform.json." + converter + "." + write + "(%1$s, writer);",
+						primitive));
+	}
+
+	static {
+		SimpleTypes = new HashMap<String, SimpleType>();
+		simple("int", "NumberConverter", "deserializeInt", "serialize", true);
+		simple("long", "NumberConverter", "deserializeLong", "serialize", true);
+		simple("float", "NumberConverter", "deserializeFloat", "serialize", true);
+		simple("double", "NumberConverter", "deserializeDouble", "serialize", true);
+		simple("boolean", "BoolConverter", "deserialize", "serialize", true);
+		simple("java.lang.Integer", "NumberConverter", "deserializeInt", "serialize", false);
+		simple("java.lang.Long", "NumberConverter", "deserializeLong", "serialize", false);
+		simple("java.lang.Float", "NumberConverter", "deserializeFloat", "serialize", false);
+		simple("java.lang.Double", "NumberConverter", "deserializeDouble", "serialize", false);
+		simple("java.lang.Boolean", "BoolConverter", "deserialize", "serialize", false);
+		simple("java.lang.String", "StringConverter", "deserialize", "serialize", false);
+		simple("java.math.BigDecimal", "NumberConverter", "deserializeDecimal", "serialize", false);
+		simple("java.time.LocalDate", "JavaTimeConverter", "deserializeLocalDate", "serialize", false);
+		simple("java.time.OffsetDateTime", "JavaTimeConverter", "deserializeDateTime", "serialize", false);
+		simple("org.joda.time.LocalDate", "JodaTimeConverter", "deserializeLocalDate", "serialize", false);
+		simple("org.joda.time.DateTime", "JodaTimeConverter", "deserializeDateTime", "serialize", false);
+		simple("byte[]", "BinaryConverter", "deserialize", "serialize", false);
+		simple("com.dslplatform.json.IntList", "NumberConverter", "deserializeIntList", "serialize", false);
+		simple("com.dslplatform.json.LongList", "NumberConverter", "deserializeLongList", "serialize", false);
+		simple("com.dslplatform.json.DoubleList", "NumberConverter", "deserializeDoubleList", "serialize", false);
+		simple("java.util.UUID", "UUIDConverter", "deserialize", "serialize", false);
+		simple("java.util.Map<java.lang.String,java.lang.String>", "MapConverter", "deserialize", "serialize", false);
+		simple("java.net.InetAddress", "NetConverter", "deserializeIp", "serialize", false);
+		simple("java.net.URI", "NetConverter", "deserializeUri", "serialize", false);
+		simple("java.awt.geom.Rectangle2D", "JavaGeomConverter", "deserializeRectangle", "serializeRectangle", false);
+		simple("java.awt.geom.Point2D", "JavaGeomConverter", "deserializeLocation", "serializeLocation", false);
+		simple("java.awt.Point", "JavaGeomConverter", "deserializePoint", "serializePoint", false);
+		simple("java.awt.image.BufferedImage", "JavaGeomConverter", "deserializeImage", "serialize", false);
+		simple("android.graphics.Rect", "AndroidGeomConverter", "deserializeRectangle", "serializeRectangle", false);
+		simple("android.graphics.PointF", "AndroidGeomConverter", "deserializeLocation", "serializeLocation", false);
+		simple("android.graphics.Point", "AndroidGeomConverter", "deserializePoint", "serializePoint", false);
+		simple("android.graphics.Bitmap", "AndroidGeomConverter", "deserializeImage", "serialize", false);
+		simple("org.w3c.dom.Element", "XmlConverter", "deserialize", "serialize", false);
+		SimpleTypes.put(
+				"java.util.Map<java.lang.String,java.lang.Object>",
+				new SimpleType(
+						"com.dslplatform.json.DslJson.deserializeMap(reader)",
+						"try {\n\t\t\t\tjson.serializeMap(%1$s, writer);\n\t\t\t} catch (IOException e) {\n\t\t\t\tthrow new RuntimeException(e);\n\t\t\t}",
+						false));
+		Collections = new LinkedHashMap<String, String>();
+		Collections.put("java.util.List<", "java.util.ArrayList");
+		Collections.put("java.util.Set<", "java.util.LinkedHashSet");
+		Collections.put("java.util.LinkedList<", "java.util.LinkedList");
+		Collections.put("java.util.Queue<", "java.util.LinkedList");
+		Collections.put("java.util.Stack<", "java.util.Stack");
+		Collections.put("java.util.Vector<", "java.util.Vector");
+		Collections.put("java.util.Collection<", "java.util.ArrayList");
+		Boxed = new HashMap<String, String>();
+		Boxed.put("int", "java.lang.Integer");
+		Boxed.put("long", "java.lang.Long");
+		Boxed.put("float", "java.lang.Float");
+		Boxed.put("double", "java.lang.Double");
+		Boxed.put("boolean", "java.lang.Boolean");
+		PrimitiveArrays = new HashMap<String, String>();
+		PrimitiveArrays.put("int", "NumberConverter.deserializeIntArray");
+		PrimitiveArrays.put("long", "NumberConverter.deserializeLongArray");
+		PrimitiveArrays.put("float", "NumberConverter.deserializeFloatArray");
+		PrimitiveArrays.put("double", "NumberConverter.deserializeDoubleArray");
+		PrimitiveArrays.put("boolean", "BoolConverter.deserializeArray");
+	}
+
+	private final Map<String, CompiledJsonProcessor.StructInfo> structs;
+	private final List<CompiledJsonProcessor.StructInfo> ordered;
+	private final StringBuilder code = new StringBuilder();
+
+	SerializationGenerator(Map<String, CompiledJsonProcessor.StructInfo> structs) {
+		this.structs = structs;
+		this.ordered = new ArrayList<CompiledJsonProcessor.StructInfo>(structs.values());
+		java.util.Collections.sort(this.ordered, new Comparator<CompiledJsonProcessor.StructInfo>() {
+			@Override
+			public int compare(CompiledJsonProcessor.StructInfo left, CompiledJsonProcessor.StructInfo right) {
+				return converterName(left).compareTo(converterName(right));
+			}
+		});
+	}
+
+	/**
+	 * Find property type which can't be processed by the generator.
+	 *
+	 * @return description of unsupported property or null if all properties are supported
+	 */
+	String findUnsupported() {
+		for (CompiledJsonProcessor.StructInfo info : ordered) {
+			for (CompiledJsonProcessor.AttributeInfo attr : info.attributes) {
+				final String type = attr.type.toString();
+				if (SimpleTypes.containsKey(type) || structs.containsKey(type)) {
+					continue;
+				}
+				final String element = elementType(type);
+				if (element == null || !SimpleTypes.containsKey(element) && !structs.containsKey(element)) {
+					return type + " on " + info.element.getQualifiedName() + "." + attr.name;
+				}
+			}
+		}
+		return null;
+	}
+
+	String generate(String namespace) {
+		code.setLength(0);
+		code.append("package ").append(namespace).append(".json;\n\n");
+		code.append("import com.dslplatform.json.Configuration;\n");
+		code.append("import com.dslplatform.json.DslJson;\n");
+		code.append("import com.dslplatform.json.JsonReader;\n");
+		code.append("import com.dslplatform.json.JsonWriter;\n\n");
+		code.append("import java.io.IOException;\n\n");
+		code.append("public class ExternalSerialization implements Configuration {\n\n");
+		code.append("\tpublic void configure(final DslJson json) {\n");
+		code.append("\t\tsetup(json);\n");
+		code.append("\t}\n\n");
+		code.append("\tpublic static void setup(final DslJson json) {\n");
+		for (CompiledJsonProcessor.StructInfo info : ordered) {
+			final String name = converterName(info);
+			code.append("\t\tfinal ").append(name).append(" ").append(info.name);
+			code.append(" = new ").append(name).append("(json);\n");
+		}
+		for (CompiledJsonProcessor.StructInfo info : ordered) {
+			for (CompiledJsonProcessor.StructInfo ref : references(info)) {
+				code.append("\t\t").append(info.name).append(".").append(ref.name);
+				code.append(" = ").append(ref.name).append(";\n");
+			}
+		}
+		for (CompiledJsonProcessor.StructInfo info : ordered) {
+			final String type = info.element.getQualifiedName().toString();
+			code.append("\t\tjson.registerReader(").append(type).append(".class, ").append(info.name).append(");\n");
+			code.append("\t\tjson.registerWriter(").append(type).append(".class, ").append(info.name).append(");\n");
+		}
+		code.append("\t}\n");
+		for (CompiledJsonProcessor.StructInfo info : ordered) {
+			code.append("\n");
+			if (info.isEnum) {
+				generateEnum(info);
+			} else {
+				generateStruct(info);
+			}
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+
+	private static String converterName(CompiledJsonProcessor.StructInfo info) {
+		return info.element.getSimpleName() + "Converter_" + info.name;
+	}
+
+	private static String elementType(String type) {
+		if (type.endsWith("[]") && !"byte[]".equals(type)) {
+			return type.substring(0, type.length() - 2);
+		}
+		for (String prefix : Collections.keySet()) {
+			if (type.startsWith(prefix) && type.endsWith(">")) {
+				return type.substring(prefix.length(), type.length() - 1);
+			}
+		}
+		return null;
+	}
+
+	private Set<CompiledJsonProcessor.StructInfo> references(CompiledJsonProcessor.StructInfo info) {
+		final Set<CompiledJsonProcessor.StructInfo> result = new LinkedHashSet<CompiledJsonProcessor.StructInfo>();
+		for (CompiledJsonProcessor.AttributeInfo attr : info.attributes) {
+			final String type = attr.type.toString();
+			final String element = elementType(type);
+			CompiledJsonProcessor.StructInfo ref = structs.get(element != null ? element : type);
+			if (ref != null) {
+				result.add(ref);
+			}
+		}
+		return result;
+	}
+
+	private void generateEnum(CompiledJsonProcessor.StructInfo info) {
+		final String type = info.element.getQualifiedName().toString();
+		final String name = converterName(info);
+		code.append("\tstatic final class ").append(name).append(" implements JsonReader.ReadObject<").append(type);
+		code.append(">, JsonWriter.WriteObject<").append(type).append("> {\n\n");
+		code.append("\t\t").append(name).append("(final DslJson json) {\n\t\t}\n\n");
+		code.append("\t\tpublic ").append(type).append(" read(final JsonReader reader) throws IOException {\n");
+		code.append("\t\t\tif (reader.wasNull()) {\n\t\t\t\treturn null;\n\t\t\t}\n");
+		code.append("\t\t\tfinal String name = reader.readString();\n");
+		code.append("\t\t\ttry {\n");
+		code.append("\t\t\t\treturn ").append(type).append(".valueOf(name);\n");
+		code.append("\t\t\t} catch (IllegalArgumentException ignore) {\n");
+		code.append("\t\t\t\tthrow new IOException(\"Unknown enum value: '\" + name + \"' for ").append(type);
+		code.append(" at position \" + reader.positionInStream());\n");
+		code.append("\t\t\t}\n\t\t}\n\n");
+		code.append("\t\tpublic void write(final JsonWriter writer, final ").append(type).append(" value) {\n");
+		code.append("\t\t\tif (value == null) {\n\t\t\t\twriter.writeNull();\n\t\t\t} else {\n");
+		code.append("\t\t\t\twriter.writeString(value.name());\n\t\t\t}\n\t\t}\n\t}\n");
+	}
+
+	private void generateStruct(CompiledJsonProcessor.StructInfo info) {
+		final String type = info.element.getQualifiedName().toString();
+		final String name = converterName(info);
+		final List<CompiledJsonProcessor.AttributeInfo> attributes = info.attributes;
+		final List<byte[]> names = new ArrayList<byte[]>(attributes.size());
+		for (CompiledJsonProcessor.AttributeInfo attr : attributes) {
+			names.add(escapeName(attr.jsonName));
+		}
+		code.append("\tstatic final class ").append(name).append(" implements JsonReader.ReadObject<").append(type);
+		code.append(">, JsonWriter.WriteObject<").append(type).append("> {\n\n");
+		for (int i = 0; i < names.size(); i++) {
+			code.append("\t\tprivate static final byte[] NAME_").append(i).append(" = ");
+			appendBytes("", names.get(i), "");
+			code.append(";\n");
+		}
+		for (int i = 0; i < names.size(); i++) {
+			code.append("\t\tprivate static final byte[] PREFIX_").append(i).append(" = ");
+			appendBytes(i == 0 ? "{\"" : ",\"", names.get(i), "\":");
+			code.append(";\n");
+		}
+		if (!names.isEmpty()) {
+			code.append("\t\tprivate static final byte[][] NAMES = {");
+			for (int i = 0; i < names.size(); i++) {
+				if (i > 0) code.append(", ");
+				code.append("NAME_").append(i);
+			}
+			code.append("};\n");
+		}
+		code.append("\n\t\tprivate final DslJson json;\n");
+		for (CompiledJsonProcessor.StructInfo ref : references(info)) {
+			code.append("\t\t").append(converterName(ref)).append(" ").append(ref.name).append(";\n");
+		}
+		for (int i = 0; i < attributes.size(); i++) {
+			appendItemConverters(attributes.get(i), i);
+		}
+		code.append("\n\t\t").append(name).append("(final DslJson json) {\n");
+		code.append("\t\t\tthis.json = json;\n\t\t}\n\n");
+
+		code.append("\t\tpublic ").append(type).append(" read(final JsonReader reader) throws IOException {\n");
+		code.append("\t\t\tif (reader.last() != '{') {\n");
+		code.append("\t\t\t\tthrow new IOException(\"Expecting '{' at position \" + reader.positionInStream() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\t\t}\n");
+		code.append("\t\t\tfinal ").append(type).append(" instance = new ").append(type).append("();\n");
+		code.append("\t\t\tif (reader.getNextToken() == '}') {\n\t\t\t\treturn instance;\n\t\t\t}\n");
+		code.append("\t\t\tint expected = 0;\n");
+		code.append("\t\t\twhile (true) {\n");
+		code.append("\t\t\t\tif (reader.last() != '\"') {\n");
+		code.append("\t\t\t\t\tthrow new IOException(\"Expecting '\\\"' at position \" + reader.positionInStream() + \". Found \" + (char) reader.last());\n");
+		code.append("\t\t\t\t}\n");
+		if (names.isEmpty()) {
+			code.append("\t\t\t\tfinal int index = findProperty(reader);\n");
+		} else {
+			code.append("\t\t\t\tfinal int index = expected < ").append(names.size());
+			code.append(" && reader.tryReadName(NAMES[expected]) ? expected : findProperty(reader);\n");
+		}
+		code.append("\t\t\t\treader.getNextToken();\n");
+		code.append("\t\t\t\tswitch (index) {\n");
+		for (int i = 0; i < attributes.size(); i++) {
+			code.append("\t\t\t\t\tcase ").append(i).append(":\n");
+			appendRead(attributes.get(i), i);
+			code.append("\t\t\t\t\t\tbreak;\n");
+		}
+		code.append("\t\t\t\t\tdefault:\n");
+		code.append("\t\t\t\t\t\treader.skip();\n");
+		code.append("\t\t\t\t}\n");
+		code.append("\t\t\t\tfinal byte nextToken;\n");
+		code.append("\t\t\t\tif (index < 0) {\n");
+		code.append("\t\t\t\t\tnextToken = reader.last();\n");
+		code.append("\t\t\t\t} else {\n");
+		code.append("\t\t\t\t\texpected = index + 1;\n");
+		code.append("\t\t\t\t\tnextToken = reader.getNextToken();\n");
+		code.append("\t\t\t\t}\n");
+		code.append("\t\t\t\tif (nextToken == '}') {\n\t\t\t\t\treturn instance;\n\t\t\t\t}\n");
+		code.append("\t\t\t\tif (nextToken != ',') {\n");
+		code.append("\t\t\t\t\tthrow new IOException(\"Expecting ',' or '}' at position \" + reader.positionInStream() + \". Found \" + (char) nextToken);\n");
+		code.append("\t\t\t\t}\n");
+		code.append("\t\t\t\treader.getNextToken();\n");
+		code.append("\t\t\t}\n");
+		code.append("\t\t}\n\n");
+
+		appendFindProperty(names);
+
+		code.append("\t\tpublic void write(final JsonWriter writer, final ").append(type).append(" value) {\n");
+		code.append("\t\t\tif (value == null) {\n\t\t\t\twriter.writeNull();\n\t\t\t\treturn;\n\t\t\t}\n");
+		if (attributes.isEmpty()) {
+			code.append("\t\t\twriter.writeByte(JsonWriter.OBJECT_START);\n");
+		}
+		for (int i = 0; i < attributes.size(); i++) {
+			code.append("\t\t\twriter.writeAscii(PREFIX_").append(i).append(");\n");
+			appendWrite(attributes.get(i), i);
+		}
+		code.append("\t\t\twriter.writeByte(JsonWriter.OBJECT_END);\n");
+		code.append("\t\t}\n\t}\n");
+	}
+
+	private void appendFindProperty(List<byte[]> names) {
+		code.append("\t\tprivate static int findProperty(final JsonReader reader) throws IOException {\n");
+		if (names.isEmpty()) {
+			code.append("\t\t\treader.fillName();\n\t\t\treturn -1;\n\t\t}\n\n");
+			return;
+		}
+		final Map<Integer, List<Integer>> byKey = new LinkedHashMap<Integer, List<Integer>>();
+		for (int i = 0; i < names.size(); i++) {
+			final int key = nameKey(names.get(i));
+			if (!byKey.containsKey(key)) {
+				byKey.put(key, new ArrayList<Integer>());
+			}
+			byKey.get(key).add(i);
+		}
+		final boolean useKey = byKey.size() == names.size();
+		final Map<Integer, List<Integer>> cases;
+		if (useKey) {
+			cases = byKey;
+			code.append("\t\t\tswitch (reader.fillNameKey()) {\n");
+		} else {
+			cases = new LinkedHashMap<Integer, List<Integer>>();
+			for (int i = 0; i < names.size(); i++) {
+				final int hash = nameHash(names.get(i));
+				if (!cases.containsKey(hash)) {
+					cases.put(hash, new ArrayList<Integer>());
+				}
+				cases.get(hash).add(i);
+			}
+			code.append("\t\t\tswitch (reader.fillName()) {\n");
+		}
+		for (Map.Entry<Integer, List<Integer>> kv : cases.entrySet()) {
+			code.append("\t\t\t\tcase ").append(kv.getKey()).append(":\n");
+			for (Integer index : kv.getValue()) {
+				code.append("\t\t\t\t\tif (reader.wasLastName(NAME_").append(index).append(")) return ").append(index).append(";\n");
+			}
+			code.append("\t\t\t\t\treturn -1;\n");
+		}
+		code.append("\t\t\t\tdefault:\n\t\t\t\t\treturn -1;\n");
+		code.append("\t\t\t}\n\t\t}\n\n");
+	}
+
+	private void appendItemConverters(CompiledJsonProcessor.AttributeInfo attr, int index) {
+		final String element = elementType(attr.type.toString());
+		if (element == null || structs.containsKey(element)) {
+			return;
+		}
+		final SimpleType simple = SimpleTypes.get(element);
+		final String boxed = Boxed.containsKey(element) ? Boxed.get(element) : element;
+		code.append("\t\tprivate final JsonReader.ReadObject<").append(boxed).append("> itemReader").append(index);
+		code.append(" = new JsonReader.ReadObject<").append(boxed).append(">() {\n");
+		code.append("\t\t\tpublic ").append(boxed).append(" read(final JsonReader reader) throws IOException {\n");
+		code.append("\t\t\t\treturn ").append(simple.read).append(";\n");
+		code.append("\t\t\t}\n\t\t};\n");
+		if (!simple.primitive) {
+			code.append("\t\tprivate final JsonWriter.WriteObject<").append(boxed).append("> itemWriter").append(index);
+			code.append(" = new JsonWriter.WriteObject<").append(boxed).append(">() {\n");
+			code.append("\t\t\tpublic void write(final JsonWriter writer, final ").append(boxed).append(" value) {\n");
+			code.append("\t\t\t\t").append(String.format(simple.write, "value").replace("\n", "\n\t")).append("\n");
+			code.append("\t\t\t}\n\t\t};\n");
+		}
+	}
+
+	private String assign(CompiledJsonProcessor.AttributeInfo attr, String value) {
+		if (attr.fieldAccess) {
+			return "instance." + attr.name + " = " + value + ";";
+		}
+		return "instance.set" + ((ExecutableElement) attr.element).getSimpleName().toString().substring(3) + "(" + value + ");";
+	}
+
+	private void appendRead(CompiledJsonProcessor.AttributeInfo attr, int index) {
+		final String type = attr.type.toString();
+		final String indent = "\t\t\t\t\t\t";
+		final SimpleType simple = SimpleTypes.get(type);
+		if (simple != null) {
+			final String value = simple.primitive ? simple.read : "reader.wasNull() ? null : " + simple.read;
+			code.append(indent).append(assign(attr, value)).append("\n");
+			return;
+		}
+		final CompiledJsonProcessor.StructInfo struct = structs.get(type);
+		if (struct != null) {
+			code.append(indent).append(assign(attr, "reader.wasNull() ? null : " + struct.name + ".read(reader)")).append("\n");
+			return;
+		}
+		final String element = elementType(type);
+		final CompiledJsonProcessor.StructInfo elementStruct = structs.get(element);
+		final String itemReader = elementStruct != null ? elementStruct.name : "itemReader" + index;
+		final String boxed = Boxed.containsKey(element) ? Boxed.get(element) : element;
+		final boolean isArray = type.endsWith("[]");
+		if (isArray && PrimitiveArrays.containsKey(element)) {
+			code.append(indent).append(assign(attr, "reader.wasNull() ? null : com.dslplatform.json." + PrimitiveArrays.get(element) + "(reader)")).append("\n");
+			return;
+		}
+		String collection = "java.util.ArrayList";
+		if (!isArray) {
+			for (Map.Entry<String, String> kv : Collections.entrySet()) {
+				if (type.startsWith(kv.getKey())) {
+					collection = kv.getValue();
+					break;
+				}
+			}
+		}
+		code.append(indent).append("if (reader.wasNull()) {\n");
+		code.append(indent).append("\t").append(assign(attr, "null")).append("\n");
+		code.append(indent).append("} else {\n");
+		code.append(indent).append("\tif (reader.last() != '[') {\n");
+		code.append(indent).append("\t\tthrow new IOException(\"Expecting '[' at position \" + reader.positionInStream() + \". Found \" + (char) reader.last());\n");
+		code.append(indent).append("\t}\n");
+		code.append(indent).append("\tfinal ").append(collection).append("<").append(boxed).append("> items = new ");
+		code.append(collection).append("<").append(boxed).append(">();\n");
+		code.append(indent).append("\tif (reader.getNextToken() != ']') {\n");
+		code.append(indent).append("\t\treader.deserializeNullableCollection(").append(itemReader).append(", items);\n");
+		code.append(indent).append("\t}\n");
+		if (!isArray) {
+			code.append(indent).append("\t").append(assign(attr, "items")).append("\n");
+		} else if (Boxed.containsKey(element)) {
+			code.append(indent).append("\tfinal ").append(element).append("[] array = new ").append(element).append("[items.size()];\n");
+			code.append(indent).append("\tfor (int i = 0; i < array.length; i++) {\n");
+			code.append(indent).append("\t\tarray[i] = items.get(i);\n");
+			code.append(indent).append("\t}\n");
+			code.append(indent).append("\t").append(assign(attr, "array")).append("\n");
+		} else {
+			code.append(indent).append("\t").append(assign(attr, "items.toArray(new " + element + "[items.size()])")).append("\n");
+		}
+		code.append(indent).append("}\n");
+	}
+
+	private void appendWrite(CompiledJsonProcessor.AttributeInfo attr, int index) {
+		final String type = attr.type.toString();
+		final String value = "v" + index;
+		final String indent = "\t\t\t";
+		final String getter = attr.fieldAccess
+				? "value." + attr.name
+				: "value." + attr.element.getSimpleName() + "()";
+		code.append(indent).append("final ").append(type).append(" ").append(value).append(" = ").append(getter).append(";\n");
+		final SimpleType simple = SimpleTypes.get(type);
+		if (simple != null) {
+			if (simple.primitive) {
+				code.append(indent).append(String.format(simple.write, value)).append("\n");
+			} else {
+				code.append(indent).append("if (").append(value).append(" == null) {\n");
+				code.append(indent).append("\twriter.writeNull();\n");
+				code.append(indent).append("} else {\n");
+				code.append(indent).append("\t").append(String.format(simple.write, value).replace("\n", "\n\t")).append("\n");
+				code.append(indent).append("}\n");
+			}
+			return;
+		}
+		final CompiledJsonProcessor.StructInfo struct = structs.get(type);
+		if (struct != null) {
+			code.append(indent).append(struct.name).append(".write(writer, ").append(value).append(");\n");
+			return;
+		}
+		final String element = elementType(type);
+		final CompiledJsonProcessor.StructInfo elementStruct = structs.get(element);
+		if (elementStruct == null && SimpleTypes.get(element).primitive && type.endsWith("[]")) {
+			final String converter = "boolean".equals(element) ? "BoolConverter" : "NumberConverter";
+			code.append(indent).append("if (").append(value).append(" == null) {\n");
+			code.append(indent).append("\twriter.writeNull();\n");
+			code.append(indent).append("} else {\n");
+			code.append(indent).append("\tcom.dslplatform.json.").append(converter).append(".serialize(").append(value).append(", writer);\n");
+			code.append(indent).append("}\n");
+			return;
+		}
+		final String itemWriter = elementStruct != null ? elementStruct.name : "itemWriter" + index;
+		code.append(indent).append("writer.serialize(").append(value).append(", ").append(itemWriter).append(");\n");
+	}
+
+	private void appendBytes(String before, byte[] name, String after) {
+		final byte[] prefix = before.getBytes(UTF_8);
+		final byte[] suffix = after.getBytes(UTF_8);
+		final byte[] all = new byte[prefix.length + name.length + suffix.length];
+		System.arraycopy(prefix, 0, all, 0, prefix.length);
+		System.arraycopy(name, 0, all, prefix.length, name.length);
+		System.arraycopy(suffix, 0, all, prefix.length + name.length, suffix.length);
+		code.append("{");
+		for (int i = 0; i < all.length; i++) {
+			if (i > 0) code.append(", ");
+			code.append(all[i]);
+		}
+		code.append("}");
+	}
+
+	private static byte[] escapeName(String name) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 32) {
+				sb.append(String.format("\\u%04X", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString().getBytes(UTF_8);
+	}
+
+	//same as JsonReader.nameKey
+	private static int nameKey(byte[] name) {
+		return name.length == 0 ? 0 : name.length << 16 | (name[0] & 0xFF) << 8 | name[name.length - 1] & 0xFF;
+	}
+
+	//same as JsonReader.fillName
+	private static int nameHash(byte[] name) {
+		long hash = 0x811c9dc5;
+		for (byte b : name) {
+			hash ^= b;
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+}
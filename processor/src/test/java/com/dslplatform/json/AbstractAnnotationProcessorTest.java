@@ -49,6 +49,13 @@ public abstract class AbstractAnnotationProcessorTest {
 	 */
 	protected abstract Collection<Processor> getProcessors();
 
+	/**
+	 * @return additional compiler options, such as processor options
+	 */
+	protected List<String> getOptions() {
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Attempts to compile the given compilation units using the Java Compiler
 	 * API.
@@ -118,9 +125,13 @@ public abstract class AbstractAnnotationProcessorTest {
          * with) is *not* available via the RoundEnvironment. However, if these classes
          * are annotations, they certainly need to be validated.
          */
+		File output = new File("target/processor-output");
+		output.mkdirs();
+		List<String> options = new ArrayList<String>(
+				Arrays.asList("-proc:only", "-d", output.getPath(), "-s", output.getPath()));
+		options.addAll(getOptions());
 		CompilationTask task = COMPILER.getTask(null, fileManager, diagnosticCollector,
-				Collections.singletonList("-proc:only"), null,
-				fileManager.getJavaFileObjectsFromFiles(compilationUnits));
+				options, null, fileManager.getJavaFileObjectsFromFiles(compilationUnits));
 		task.setProcessors(getProcessors());
 		task.call();
 
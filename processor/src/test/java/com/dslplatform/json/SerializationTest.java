@@ -0,0 +1,219 @@
+package com.dslplatform.json;
+
+import com.dslplatform.json.models.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.processing.Processor;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+
+public class SerializationTest extends AbstractAnnotationProcessorTest {
+
+	private static final File OUTPUT = new File("target/processor-output");
+	private static final File CLASSES = new File("target/processor-classes");
+
+	protected Collection<Processor> getProcessors() {
+		return Collections.<Processor>singletonList(new CompiledJsonProcessor());
+	}
+
+	private static String location(Class<?> manifest) throws Exception {
+		return new File(manifest.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+	}
+
+	private static String readSource() throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(new File(OUTPUT, "dsl_json/json/ExternalSerialization.java")), "UTF-8");
+		try {
+			StringBuilder sb = new StringBuilder();
+			char[] buffer = new char[4096];
+			int len;
+			while ((len = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, len);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String converterSource(String source, Class<?> manifest) {
+		int start = source.indexOf("class " + manifest.getSimpleName() + "Converter");
+		Assert.assertTrue(start != -1);
+		int end = source.indexOf("\tstatic final class ", start + 1);
+		return end == -1 ? source.substring(start) : source.substring(start, end);
+	}
+
+	private DslJson<Object> compileSerialization(Class<?>... models) throws Exception {
+		assertCompilationSuccessful(compileTestCase(models));
+		CLASSES.mkdirs();
+		int result = ToolProvider.getSystemJavaCompiler().run(null, null, null,
+				"-proc:none",
+				"-encoding", "UTF-8",
+				"-cp", location(DslJson.class) + File.pathSeparator + location(RoundTripType.class),
+				"-d", CLASSES.getPath(),
+				new File(OUTPUT, "dsl_json/json/ExternalSerialization.java").getPath());
+		Assert.assertEquals(0, result);
+		ClassLoader loader = new URLClassLoader(
+				new URL[]{CLASSES.toURI().toURL(), OUTPUT.toURI().toURL()},
+				getClass().getClassLoader());
+		return new DslJson<Object>(null, false, false, false, null, ServiceLoader.load(Configuration.class, loader));
+	}
+
+	private static String serialize(DslJson<Object> json, Object value) throws IOException {
+		JsonWriter writer = new JsonWriter();
+		json.serialize(writer, value);
+		return writer.toString();
+	}
+
+	private static <T> T deserialize(DslJson<Object> json, Class<T> manifest, String input) throws IOException {
+		byte[] bytes = input.getBytes("UTF-8");
+		return json.deserialize(manifest, bytes, bytes.length);
+	}
+
+	private static ValidType validType(int prop, String simpleField) {
+		ValidType value = new ValidType();
+		value.setProp(prop);
+		value.setU(2);
+		value.setURI(3);
+		value.simpleField = simpleField;
+		value.listField = Arrays.asList("a", null, "\"b\"");
+		return value;
+	}
+
+	@Test
+	public void roundTripAllPropertyKinds() throws Exception {
+		DslJson<Object> json = compileSerialization(
+				RoundTripType.class, ReferenceType.class, ValidType.class, SimpleEnum.class, NameKeyCollision.class);
+		RoundTripType value = new RoundTripType();
+		value.propInt = -42;
+		value.propLong = Long.MIN_VALUE;
+		value.propDouble = 1.25;
+		value.propFloat = -0.5f;
+		value.propBoolean = true;
+		value.propOptInt = 7;
+		value.propOptLong = null;
+		value.propOptDouble = 1e20;
+		value.propOptBoolean = false;
+		value.propString = "abc \"quoted\" č";
+		value.propDecimal = new BigDecimal("12.340");
+		value.propUuid = UUID.randomUUID();
+		value.propEnum = SimpleEnum.SECOND;
+		value.propRef = new ReferenceType();
+		value.propRef.setProp(validType(1, "nested"));
+		value.propRefList = Arrays.asList(validType(2, null), null, validType(3, "x"));
+		value.propIntArr = new int[]{1, -2, Integer.MAX_VALUE};
+		value.propStringArr = new String[]{"x", null};
+		value.propRefArray = new ValidType[]{null, validType(4, "y")};
+		value.propMap = new LinkedHashMap<String, String>();
+		value.propMap.put("k", "v");
+		value.propMap.put("n", null);
+		value.setProperty("getter");
+
+		String first = serialize(json, value);
+		RoundTripType result = deserialize(json, RoundTripType.class, first);
+		Assert.assertEquals(first, serialize(json, result));
+		Assert.assertEquals(-42, result.propInt);
+		Assert.assertEquals(Long.MIN_VALUE, result.propLong);
+		Assert.assertEquals(1.25, result.propDouble, 0);
+		Assert.assertEquals(-0.5f, result.propFloat, 0);
+		Assert.assertTrue(result.propBoolean);
+		Assert.assertEquals(Integer.valueOf(7), result.propOptInt);
+		Assert.assertNull(result.propOptLong);
+		Assert.assertEquals(Double.valueOf(1e20), result.propOptDouble);
+		Assert.assertEquals(Boolean.FALSE, result.propOptBoolean);
+		Assert.assertEquals(value.propString, result.propString);
+		Assert.assertEquals(value.propDecimal, result.propDecimal);
+		Assert.assertEquals(value.propUuid, result.propUuid);
+		Assert.assertEquals(SimpleEnum.SECOND, result.propEnum);
+		Assert.assertEquals("nested", result.propRef.getProp().simpleField);
+		Assert.assertEquals(3, result.propRefList.size());
+		Assert.assertNull(result.propRefList.get(1));
+		Assert.assertEquals(3, result.propRefList.get(2).getProp());
+		Assert.assertEquals(Arrays.asList("a", null, "\"b\""), result.propRefList.get(2).listField);
+		Assert.assertArrayEquals(value.propIntArr, result.propIntArr);
+		Assert.assertArrayEquals(value.propStringArr, result.propStringArr);
+		Assert.assertNull(result.propRefArray[0]);
+		Assert.assertEquals(4, result.propRefArray[1].getProp());
+		Assert.assertEquals(value.propMap, result.propMap);
+		Assert.assertEquals("getter", result.getProperty());
+	}
+
+	@Test
+	public void outOfOrderUnknownAndNullProperties() throws Exception {
+		DslJson<Object> json = compileSerialization(
+				RoundTripType.class, ReferenceType.class, ValidType.class, SimpleEnum.class, NameKeyCollision.class);
+		RoundTripType result = deserialize(json, RoundTripType.class,
+				"{ \"unknown\" : {\"a\":[1,{\"b\":null}],\"c\":\"}\"}, \"property\":\"p\", \"propString\":null,"
+						+ "\"propEnum\":\"FIRST\",\"propInt\":5,\"propRef\":null,\"propOptInt\":null,\"other\":[],"
+						+ "\"propRefList\":[{\"simpleField\":\"s\",\"missing\":true,\"test\":3},null],"
+						+ "\"propIntArr\":null,\"propMap\":{\"k\":\"v\"},\"propLong\":-1}");
+		Assert.assertEquals("p", result.getProperty());
+		Assert.assertNull(result.propString);
+		Assert.assertEquals(SimpleEnum.FIRST, result.propEnum);
+		Assert.assertEquals(5, result.propInt);
+		Assert.assertEquals(-1, result.propLong);
+		Assert.assertNull(result.propRef);
+		Assert.assertNull(result.propOptInt);
+		Assert.assertEquals(2, result.propRefList.size());
+		Assert.assertEquals(3, result.propRefList.get(0).getProp());
+		Assert.assertEquals("s", result.propRefList.get(0).simpleField);
+		Assert.assertNull(result.propRefList.get(1));
+		Assert.assertNull(result.propIntArr);
+		Assert.assertEquals(Collections.singletonMap("k", "v"), result.propMap);
+		RoundTripType empty = deserialize(json, RoundTripType.class, "{}");
+		Assert.assertEquals(0, empty.propInt);
+		Assert.assertNull(empty.propString);
+		Assert.assertNull(deserialize(json, RoundTripType.class, "null"));
+	}
+
+	@Test
+	public void nameKeyCollisionFallsBackToHash() throws Exception {
+		DslJson<Object> json = compileSerialization(
+				RoundTripType.class, ReferenceType.class, ValidType.class, SimpleEnum.class, NameKeyCollision.class);
+		String source = readSource();
+		Assert.assertTrue(converterSource(source, RoundTripType.class).contains("reader.fillNameKey()"));
+		Assert.assertFalse(converterSource(source, RoundTripType.class).contains("reader.fillName()"));
+		Assert.assertTrue(converterSource(source, NameKeyCollision.class).contains("reader.fillName()"));
+		Assert.assertFalse(converterSource(source, NameKeyCollision.class).contains("reader.fillNameKey()"));
+		NameKeyCollision value = new NameKeyCollision();
+		value.abc = 1;
+		value.axc = 2;
+		value.other = "o";
+		NameKeyCollision result = deserialize(json, NameKeyCollision.class, serialize(json, value));
+		Assert.assertEquals(1, result.abc);
+		Assert.assertEquals(2, result.axc);
+		Assert.assertEquals("o", result.other);
+		result = deserialize(json, NameKeyCollision.class, "{\"other\":null,\"axb\":3,\"axc\":4,\"abc\":5}");
+		Assert.assertEquals(5, result.abc);
+		Assert.assertEquals(4, result.axc);
+		Assert.assertNull(result.other);
+	}
+
+	@Test
+	public void primitiveListsRoundTrip() throws Exception {
+		DslJson<Object> json = compileSerialization(PrimitiveListType.class);
+		Assert.assertTrue(readSource().contains("NumberConverter.deserializeIntList"));
+		PrimitiveListType value = new PrimitiveListType();
+		value.ints = new IntList(new int[]{1, -2, Integer.MIN_VALUE});
+		value.longs = new LongList(new long[]{Long.MAX_VALUE, 0});
+		value.doubles = new DoubleList(new double[]{-1.5, 1e-7});
+		String first = serialize(json, value);
+		Assert.assertEquals("{\"ints\":[1,-2,-2147483648],\"longs\":[9223372036854775807,0],\"doubles\":[-1.5,1.0E-7]}", first);
+		PrimitiveListType result = deserialize(json, PrimitiveListType.class, first);
+		Assert.assertEquals(value.ints, result.ints);
+		Assert.assertEquals(value.longs, result.longs);
+		Assert.assertEquals(value.doubles, result.doubles);
+		result = deserialize(json, PrimitiveListType.class, "{\"ints\":null,\"doubles\":[]}");
+		Assert.assertNull(result.ints);
+		Assert.assertNull(result.longs);
+		Assert.assertEquals(0, result.doubles.size());
+	}
+}
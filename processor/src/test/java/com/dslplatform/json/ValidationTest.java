@@ -7,6 +7,7 @@ import org.junit.Test;
 import javax.annotation.processing.Processor;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -14,10 +15,17 @@ import java.util.Locale;
 
 public class ValidationTest extends AbstractAnnotationProcessorTest {
 
+	private final List<String> options = new ArrayList<String>();
+
 	protected Collection<Processor> getProcessors() {
 		return Collections.<Processor>singletonList(new CompiledJsonProcessor());
 	}
 
+	@Override
+	protected List<String> getOptions() {
+		return options;
+	}
+
 	@Test
 	public void testEmptyValidClass() {
 		assertCompilationSuccessful(compileTestCase(ValidCtor.class));
@@ -137,6 +145,19 @@ public class ValidationTest extends AbstractAnnotationProcessorTest {
 		assertCompilationReturned(Diagnostic.Kind.ERROR, 10, compileTestCase(DuplicatePropertyAlias.class));
 	}
 
+	@Test
+	public void propertyHashCollision() {
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = compileTestCase(PropertyHashCollision.class);
+		boolean found = false;
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if (diagnostic.getKind() == Diagnostic.Kind.WARNING
+					&& diagnostic.getMessage(Locale.ENGLISH).contains("have the same hash")) {
+				found = true;
+			}
+		}
+		Assert.assertTrue(found);
+	}
+
 	@Test
 	public void checkMinifiedNames() {
 		List<Diagnostic<? extends JavaFileObject>> diagnostics = compileTestCase(MinifiedProperties.class);
@@ -148,4 +169,41 @@ public class ValidationTest extends AbstractAnnotationProcessorTest {
 		Assert.assertTrue(dsl.contains("string? name {  simple Java access;  serialization name 'n0';  }"));
 		Assert.assertTrue(dsl.contains("int customNumber {  simple Java access;  serialization name 'n';  }"));
 	}
+
+	@Test
+	public void fallbackToDslForUnsupportedTypes() {
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = compileTestCase(ColorType.class);
+		boolean found = false;
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if (diagnostic.getKind() == Diagnostic.Kind.WARNING
+					&& diagnostic.getMessage(Locale.ENGLISH).contains("java.awt.Color on com.dslplatform.json.models.ColorType.color")) {
+				found = true;
+			}
+		}
+		Assert.assertTrue(found);
+	}
+
+	@Test
+	public void primitiveListsWithJavaGenerator() {
+		assertCompilationSuccessful(compileTestCase(PrimitiveListType.class));
+	}
+
+	@Test
+	public void primitiveListsAreNotSupportedByDsl() {
+		options.add("-Adsljson.compiler=dsl");
+		assertCompilationReturned(Diagnostic.Kind.ERROR, 10, compileTestCase(PrimitiveListType.class));
+	}
+
+	@Test
+	public void primitiveListsCantFallbackToDsl() {
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = compileTestCase(PrimitiveListWithColor.class);
+		boolean found = false;
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+					&& diagnostic.getMessage(Locale.ENGLISH).contains("com.dslplatform.json.IntList is not supported by DSL Platform compiler")) {
+				found = true;
+			}
+		}
+		Assert.assertTrue(found);
+	}
 }
@@ -0,0 +1,10 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+import java.awt.Color;
+
+@CompiledJson
+public class ColorType {
+	public Color color;
+}
@@ -0,0 +1,10 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class NameKeyCollision {
+	public int abc;
+	public int axc;
+	public String other;
+}
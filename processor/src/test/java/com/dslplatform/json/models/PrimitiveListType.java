@@ -0,0 +1,13 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+import com.dslplatform.json.DoubleList;
+import com.dslplatform.json.IntList;
+import com.dslplatform.json.LongList;
+
+@CompiledJson
+public class PrimitiveListType {
+	public IntList ints;
+	public LongList longs;
+	public DoubleList doubles;
+}
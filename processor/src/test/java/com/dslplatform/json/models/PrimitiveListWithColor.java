@@ -0,0 +1,12 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+import com.dslplatform.json.IntList;
+
+import java.awt.Color;
+
+@CompiledJson
+public class PrimitiveListWithColor {
+	public IntList ints;
+	public Color color;
+}
@@ -0,0 +1,9 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class PropertyHashCollision {
+	public int glbvs;
+	public int yacxa;
+}
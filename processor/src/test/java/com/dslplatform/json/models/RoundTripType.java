@@ -0,0 +1,40 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@CompiledJson
+public class RoundTripType {
+	public int propInt;
+	public long propLong;
+	public double propDouble;
+	public float propFloat;
+	public boolean propBoolean;
+	public Integer propOptInt;
+	public Long propOptLong;
+	public Double propOptDouble;
+	public Boolean propOptBoolean;
+	public String propString;
+	public BigDecimal propDecimal;
+	public UUID propUuid;
+	public SimpleEnum propEnum;
+	public ReferenceType propRef;
+	public List<ValidType> propRefList;
+	public int[] propIntArr;
+	public String[] propStringArr;
+	public ValidType[] propRefArray;
+	public Map<String, String> propMap;
+	private String property;
+
+	public String getProperty() {
+		return property;
+	}
+
+	public void setProperty(String value) {
+		property = value;
+	}
+}